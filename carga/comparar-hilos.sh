@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Compara throughput y latencia p99 entre el pool de hilos de plataforma de Tomcat (modo por defecto)
+# y el perfil "virtual" (hilos virtuales, Java 21), a 1k/5k/10k conexiones concurrentes.
+#
+# Requisitos: Java 21, Maven y wrk (https://github.com/wg/wrk) en el PATH.
+# Uso: ./carga/comparar-hilos.sh [duracion] [ruta]
+#   duracion: duración de cada corrida de wrk (por defecto 30s)
+#   ruta:     endpoint a medir (por defecto /api/productos?tamanio=50, que consulta la base en cada petición)
+#
+# Los resultados se escriben en carga/resultados/hilos-<fecha>.csv
+set -euo pipefail
+
+DURACION="${1:-30s}"
+RUTA="${2:-/api/productos?tamanio=50}"
+PUERTO=8080
+CONEXIONES=(1000 5000 10000)
+HILOS_WRK="${HILOS_WRK:-8}"
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+RESULTADOS="$RAIZ/carga/resultados"
+SALIDA="$RESULTADOS/hilos-$(date +%Y%m%d-%H%M%S).csv"
+mkdir -p "$RESULTADOS"
+
+# wrk abre una conexión por socket: se necesitan más descriptores que el límite por defecto
+ulimit -n 65535 || echo "Aviso: no se pudo subir ulimit -n, las corridas de 5k/10k pueden fallar" >&2
+
+cd "$RAIZ"
+./mvnw -q -DskipTests package
+JAR="$(ls target/productos-api-*.jar | grep -v original | head -n 1)"
+
+esperar_arranque() {
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PUERTO/api/productos?tamanio=1" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "La aplicación no respondió a tiempo" >&2
+    return 1
+}
+
+echo "modo,conexiones,peticiones_por_segundo,latencia_p99,errores" > "$SALIDA"
+
+for MODO in plataforma virtual; do
+    PERFIL=""
+    if [ "$MODO" = "virtual" ]; then
+        PERFIL="--spring.profiles.active=virtual"
+    fi
+
+    # Sin los limitadores de carga: con un único cliente (wrk) casi todo terminaría en 429
+    java -jar "$JAR" --server.port=$PUERTO --spring.jpa.show-sql=false --productos.limites.habilitado=false $PERFIL \
+        > "$RESULTADOS/app-$MODO.log" 2>&1 &
+    PID=$!
+    trap 'kill $PID 2>/dev/null || true' EXIT
+    esperar_arranque
+
+    # Calentamiento para que el JIT compile el camino caliente antes de medir
+    wrk -t"$HILOS_WRK" -c100 -d10s "http://localhost:$PUERTO$RUTA" > /dev/null
+
+    for C in "${CONEXIONES[@]}"; do
+        echo "Midiendo modo=$MODO conexiones=$C ..."
+        REPORTE="$(wrk -t"$HILOS_WRK" -c"$C" -d"$DURACION" --timeout 10s --latency "http://localhost:$PUERTO$RUTA")"
+        RPS="$(echo "$REPORTE" | awk '/Requests\/sec/ {print $2}')"
+        P99="$(echo "$REPORTE" | awk '$1 == "99%" {print $2}')"
+        ERRORES="$(echo "$REPORTE" | awk '/Socket errors|Non-2xx/ {gsub(",", ""); printf "%s ", $0}')"
+        echo "$MODO,$C,$RPS,$P99,\"$ERRORES\"" >> "$SALIDA"
+    done
+
+    kill $PID
+    wait $PID 2>/dev/null || true
+    trap - EXIT
+done
+
+echo "Resultados en $SALIDA"
+column -s, -t < "$SALIDA"
@@ -0,0 +1,150 @@
+package com.utn.productos_api.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Opciones de PruebaCarga en formato --clave=valor. Sin --url se levanta la aplicación en el mismo proceso con un
+// catálogo sintético de --productos productos.
+final class ConfiguracionCarga {
+
+    static final String AYUDA = """
+            Opciones (--clave=valor):
+              url           Instancia a probar; sin url se levanta una embebida (H2 en memoria)
+              productos     Tamaño del catálogo de la instancia embebida (100000)
+              concurrencia  Hilos que envían peticiones (32)
+              duracion      Tiempo medido, por ejemplo 60s o 5m (60s)
+              calentamiento Tiempo previo que no se mide (10s)
+              tasa          Peticiones/s totales; 0 = cada hilo envía apenas recibe la respuesta (0)
+              mezcla        Pesos de las operaciones (id:70,categoria:20,stock:9,alta:1)
+              zipf          Exponente de Zipf para elegir IDs; 0 = uniforme (1.1)
+              max-ids       IDs del catálogo que se usan en las operaciones por ID (100000)
+              semilla       Semilla de la mezcla y de los IDs (42)
+              idempotencia  Enviar Idempotency-Key en las escrituras (false)
+              salida        Archivo JSON con los resultados (target/carga-resultados.json)
+            """;
+
+    private String url;
+    private long productos = 100_000;
+    private int concurrencia = 32;
+    private Duration duracion = Duration.ofSeconds(60);
+    private Duration calentamiento = Duration.ofSeconds(10);
+    private double tasa;
+    private Map<Operacion, Integer> mezcla = mezcla("id:70,categoria:20,stock:9,alta:1");
+    private double zipf = 1.1;
+    private int maxIds = 100_000;
+    private long semilla = 42;
+    private boolean idempotencia;
+    private Path salida = Path.of("target", "carga-resultados.json");
+
+    static ConfiguracionCarga desde(String[] args) {
+        ConfiguracionCarga configuracion = new ConfiguracionCarga();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + "\n" + AYUDA);
+            }
+            String valor = arg.substring(igual + 1).trim();
+            switch (arg.substring(2, igual)) {
+                case "url" -> configuracion.url = valor.endsWith("/") ? valor.substring(0, valor.length() - 1) : valor;
+                case "productos" -> configuracion.productos = Long.parseLong(valor);
+                case "concurrencia" -> configuracion.concurrencia = Math.max(1, Integer.parseInt(valor));
+                case "duracion" -> configuracion.duracion = duracion(valor);
+                case "calentamiento" -> configuracion.calentamiento = duracion(valor);
+                case "tasa" -> configuracion.tasa = Math.max(0, Double.parseDouble(valor));
+                case "mezcla" -> configuracion.mezcla = mezcla(valor);
+                case "zipf" -> configuracion.zipf = Double.parseDouble(valor);
+                case "max-ids" -> configuracion.maxIds = Math.max(1, Integer.parseInt(valor));
+                case "semilla" -> configuracion.semilla = Long.parseLong(valor);
+                case "idempotencia" -> configuracion.idempotencia = Boolean.parseBoolean(valor);
+                case "salida" -> configuracion.salida = Path.of(valor);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + arg + "\n" + AYUDA);
+            }
+        }
+        return configuracion;
+    }
+
+    // "90s", "5m", "1h" o un número de segundos
+    private static Duration duracion(String valor) {
+        String texto = valor.toLowerCase();
+        char unidad = texto.charAt(texto.length() - 1);
+        if (Character.isDigit(unidad)) {
+            return Duration.ofSeconds(Long.parseLong(texto));
+        }
+        long cantidad = Long.parseLong(texto.substring(0, texto.length() - 1));
+        return switch (unidad) {
+            case 's' -> Duration.ofSeconds(cantidad);
+            case 'm' -> Duration.ofMinutes(cantidad);
+            case 'h' -> Duration.ofHours(cantidad);
+            default -> throw new IllegalArgumentException("Duración inválida: " + valor);
+        };
+    }
+
+    // "id:70,categoria:20" -> pesos por operación; las que no aparecen no se ejecutan
+    private static Map<Operacion, Integer> mezcla(String valor) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (String parte : valor.split(",")) {
+            String[] claveValor = parte.split(":");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida: " + valor);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso > 0) {
+                pesos.put(Operacion.desde(claveValor[0]), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso positivo: " + valor);
+        }
+        return pesos;
+    }
+
+    String url() {
+        return url;
+    }
+
+    long productos() {
+        return productos;
+    }
+
+    int concurrencia() {
+        return concurrencia;
+    }
+
+    Duration duracion() {
+        return duracion;
+    }
+
+    Duration calentamiento() {
+        return calentamiento;
+    }
+
+    double tasa() {
+        return tasa;
+    }
+
+    Map<Operacion, Integer> mezcla() {
+        return mezcla;
+    }
+
+    double zipf() {
+        return zipf;
+    }
+
+    int maxIds() {
+        return maxIds;
+    }
+
+    long semilla() {
+        return semilla;
+    }
+
+    boolean idempotencia() {
+        return idempotencia;
+    }
+
+    Path salida() {
+        return salida;
+    }
+}
@@ -0,0 +1,29 @@
+package com.utn.productos_api.carga;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Elige posiciones 0..n-1 con probabilidad proporcional a 1 / (posición + 1)^exponente: unos pocos productos reciben
+// la mayor parte de las lecturas, como en un catálogo real. Exponente 0 = uniforme.
+final class DistribucionZipf {
+
+    private final double[] acumuladas;
+
+    DistribucionZipf(int cantidad, double exponente) {
+        if (cantidad < 1) {
+            throw new IllegalArgumentException("La distribución necesita al menos un elemento");
+        }
+        acumuladas = new double[cantidad];
+        double total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            total += 1.0 / Math.pow(i + 1, exponente);
+            acumuladas[i] = total;
+        }
+    }
+
+    int elegir(SplittableRandom azar) {
+        double u = azar.nextDouble() * acumuladas[acumuladas.length - 1];
+        int posicion = Arrays.binarySearch(acumuladas, u);
+        return Math.min(posicion >= 0 ? posicion : -posicion - 1, acumuladas.length - 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.utn.productos_api.carga;
+
+// Histograma de latencias en nanosegundos con cubetas log-lineales (como HdrHistogram): 64 cubetas por cada potencia
+// de 2, así cualquier percentil tiene un error relativo menor a 1,6% y el tamaño es fijo sin importar la duración de
+// la prueba. No es seguro para hilos: cada trabajador tiene los suyos y se suman al final.
+final class Histograma {
+
+    private static final int BITS = 7;
+    private static final int MITAD = 1 << (BITS - 1);
+
+    private final long[] cuentas = new long[64 * MITAD];
+    private long total;
+    private long maximo;
+
+    void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cuentas[indice(valor)]++;
+        total++;
+        maximo = Math.max(maximo, valor);
+    }
+
+    void sumar(Histograma otro) {
+        for (int i = 0; i < cuentas.length; i++) {
+            cuentas[i] += otro.cuentas[i];
+        }
+        total += otro.total;
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    long total() {
+        return total;
+    }
+
+    long maximo() {
+        return maximo;
+    }
+
+    // Valor por debajo del cual queda la fracción p (0..1) de las muestras
+    long percentil(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(p * total));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(valorMedio(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    // Los valores menores a 128 tienen una cubeta cada uno; a partir de ahí, 64 por potencia de 2
+    private static int indice(long valor) {
+        if (valor < (1L << BITS)) {
+            return (int) valor;
+        }
+        int desplazamiento = 63 - Long.numberOfLeadingZeros(valor) - (BITS - 1);
+        return (desplazamiento << (BITS - 1)) + (int) (valor >>> desplazamiento);
+    }
+
+    private static long valorMedio(int indice) {
+        if (indice < (1 << BITS)) {
+            return indice;
+        }
+        int desplazamiento = indice / MITAD - 1;
+        long inferior = (long) (indice - desplazamiento * MITAD) << desplazamiento;
+        return inferior + ((1L << desplazamiento) >> 1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.utn.productos_api.carga;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Solo se compila con el perfil carga: ./mvnw -Pcarga test -Dtest=HistogramaTest
+class HistogramaTest {
+
+    private static final double ERROR_MAXIMO = 0.016;
+    private static final double[] PERCENTILES = {0.001, 0.01, 0.1, 0.5, 0.9, 0.99, 0.999, 0.9999, 1.0};
+
+    @Test
+    void percentilesDentroDelErrorRelativo() {
+        Random random = new Random(3);
+        long[] muestras = new long[200_000];
+        // Latencias log-normales entre microsegundos y segundos, con cola larga
+        for (int i = 0; i < muestras.length; i++) {
+            muestras[i] = (long) Math.exp(13 + 2 * random.nextGaussian());
+        }
+        Histograma histograma = new Histograma();
+        for (long muestra : muestras) {
+            histograma.registrar(muestra);
+        }
+        Arrays.sort(muestras);
+
+        for (double p : PERCENTILES) {
+            long exacto = muestras[(int) Math.max(0, Math.ceil(p * muestras.length) - 1)];
+            long estimado = histograma.percentil(p);
+            double error = Math.abs(estimado - exacto) / (double) exacto;
+            assertTrue(error < ERROR_MAXIMO, "p" + p * 100 + ": exacto " + exacto + ", estimado " + estimado);
+        }
+        assertEquals(muestras[muestras.length - 1], histograma.maximo());
+        assertEquals(muestras[muestras.length - 1], histograma.percentil(1.0));
+    }
+
+    @Test
+    void valoresChicosSonExactos() {
+        Histograma histograma = new Histograma();
+        for (long valor = 0; valor < 128; valor++) {
+            histograma.registrar(valor);
+        }
+
+        assertEquals(0, histograma.percentil(0));
+        assertEquals(63, histograma.percentil(0.5));
+        assertEquals(127, histograma.percentil(1.0));
+    }
+
+    @Test
+    void sumarEquivaleARegistrarTodoEnUno() {
+        Random random = new Random(5);
+        Histograma uno = new Histograma();
+        Histograma otro = new Histograma();
+        Histograma todo = new Histograma();
+        for (int i = 0; i < 10_000; i++) {
+            long valor = random.nextLong(1, 5_000_000_000L);
+            (i % 2 == 0 ? uno : otro).registrar(valor);
+            todo.registrar(valor);
+        }
+
+        uno.sumar(otro);
+
+        assertEquals(todo.total(), uno.total());
+        assertEquals(todo.maximo(), uno.maximo());
+        for (double p : PERCENTILES) {
+            assertEquals(todo.percentil(p), uno.percentil(p), "p" + p * 100);
+        }
+    }
+
+    @Test
+    void vacioYNegativos() {
+        Histograma histograma = new Histograma();
+        assertEquals(0, histograma.percentil(0.99));
+
+        histograma.registrar(-5);
+        assertEquals(1, histograma.total());
+        assertEquals(0, histograma.maximo());
+    }
+}
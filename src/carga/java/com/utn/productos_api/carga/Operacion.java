@@ -0,0 +1,34 @@
+package com.utn.productos_api.carga;
+
+// Operaciones de la mezcla; el nombre es el que se usa en --mezcla
+enum Operacion {
+
+    // GET /api/productos/{id}, con IDs elegidos según la distribución de Zipf
+    ID("id"),
+    // GET /api/productos/categoria/{categoria}?limit=50 con orden y tope de precio variables
+    CATEGORIA("categoria"),
+    // PATCH /api/productos/{id}/stock sobre los mismos IDs calientes que las lecturas
+    STOCK("stock"),
+    // POST /api/productos con un producto de CatalogoSintetico
+    ALTA("alta");
+
+    private final String nombre;
+
+    Operacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    static Operacion desde(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equalsIgnoreCase(nombre.trim())) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida en --mezcla: " + nombre
+                + " (válidas: id, categoria, stock, alta)");
+    }
+}
@@ -0,0 +1,409 @@
+package com.utn.productos_api.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.utn.productos_api.ApiRestSpringApplication;
+import com.utn.productos_api.generador.CatalogoSintetico;
+import com.utn.productos_api.model.Categoria;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Prueba de carga de la API: varios hilos repiten una mezcla de operaciones (lecturas por ID con distribución de
+// Zipf, consultas por categoría, PATCH de stock y altas) contra una instancia en marcha o contra una levantada en el
+// mismo proceso con el perfil "generador". Informa throughput, latencias p50/p99/p999 por operación y la tasa de
+// asignación de memoria del servidor, en consola y en JSON.
+// Con --tasa la carga es de lazo abierto: cada petición tiene una hora de envío programada y la latencia se mide
+// desde esa hora, así un servidor que se traba no baja la carga ni esconde la espera (omisión coordinada).
+// Uso: ./mvnw -Pcarga test-compile exec:exec -Dcarga.args="--duracion=60s --mezcla=id:80,stock:20"
+public final class PruebaCarga {
+
+    private static final String[] ORDENES = {"precio", "stock", "nombre"};
+    // Las altas usan índices del catálogo sintético lejos de los que carga el generador
+    private static final long PRIMER_INDICE_ALTAS = 1_000_000_000L;
+
+    private final ConfiguracionCarga configuracion;
+    private final String url;
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Operacion[] operaciones;
+    private final int[] pesosAcumulados;
+    private final CatalogoSintetico catalogo;
+    private final AtomicLong siguienteAlta = new AtomicLong(PRIMER_INDICE_ALTAS);
+    private long[] ids;
+    private DistribucionZipf distribucionIds;
+
+    private PruebaCarga(ConfiguracionCarga configuracion, String url) {
+        this.configuracion = configuracion;
+        this.url = url;
+        this.catalogo = new CatalogoSintetico(configuracion.semilla(), 1.0, 200);
+        Map<Operacion, Integer> mezcla = configuracion.mezcla();
+        this.operaciones = mezcla.keySet().toArray(new Operacion[0]);
+        this.pesosAcumulados = new int[operaciones.length];
+        int total = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            total += mezcla.get(operaciones[i]);
+            pesosAcumulados[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desde(args);
+        ConfigurableApplicationContext contexto = null;
+        String url = configuracion.url();
+        if (url == null) {
+            contexto = levantarEmbebida(configuracion);
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            new PruebaCarga(configuracion, url).ejecutar();
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    // Instancia en este mismo proceso, con H2 en memoria y el catálogo sintético. Los limitadores se apagan: todos
+    // los hilos salen de la misma IP y la prueba mide la aplicación, no el rechazo de peticiones. Las opciones van
+    // como argumentos para que tengan prioridad sobre application.properties.
+    private static ConfigurableApplicationContext levantarEmbebida(ConfiguracionCarga configuracion) {
+        // devtools está en el classpath de test: su reinicio volvería a llamar a main con los argumentos de Spring
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(ApiRestSpringApplication.class)
+                .profiles("generador")
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.jpa.show-sql=false",
+                        "--productos.limites.habilitado=false",
+                        "--productos.generador.productos=" + configuracion.productos(),
+                        "--productos.generador.semilla=" + configuracion.semilla());
+    }
+
+    private void ejecutar() throws IOException, InterruptedException {
+        ids = muestrearIds();
+        distribucionIds = ids.length > 0 ? new DistribucionZipf(ids.length, configuracion.zipf()) : null;
+        System.out.printf("Probando %s con %d IDs, %d hilos, calentamiento %s y medición %s%n", url, ids.length,
+                configuracion.concurrencia(), configuracion.calentamiento(), configuracion.duracion());
+
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + configuracion.calentamiento().toNanos();
+        long fin = inicioMedicion + configuracion.duracion().toNanos();
+        SplittableRandom semillas = new SplittableRandom(configuracion.semilla());
+        List<Trabajador> trabajadores = new ArrayList<>();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < configuracion.concurrencia(); i++) {
+            Trabajador trabajador = new Trabajador(i, semillas.split(), inicio, inicioMedicion, fin);
+            Thread hilo = new Thread(trabajador, "carga-" + i);
+            trabajadores.add(trabajador);
+            hilos.add(hilo);
+            hilo.start();
+        }
+
+        dormirHasta(inicioMedicion);
+        double asignadoAntes = memoriaAsignadaServidor();
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        double asignadoDespues = memoriaAsignadaServidor();
+
+        Map<Operacion, Histograma> porOperacion = new EnumMap<>(Operacion.class);
+        Histograma total = new Histograma();
+        Map<Integer, Long> estados = new TreeMap<>();
+        long asignadoCliente = 0;
+        for (Trabajador trabajador : trabajadores) {
+            trabajador.histogramas.forEach((operacion, histograma) -> {
+                porOperacion.computeIfAbsent(operacion, o -> new Histograma()).sumar(histograma);
+                total.sumar(histograma);
+            });
+            trabajador.estados.forEach((estado, cantidad) -> estados.merge(estado, cantidad, Long::sum));
+            asignadoCliente += trabajador.asignado;
+        }
+        informar(porOperacion, total, estados, asignadoDespues - asignadoAntes, asignadoCliente);
+    }
+
+    // IDs existentes recorriendo el listado por cursor, mezclados con la semilla: los IDs "calientes" de la
+    // distribución de Zipf quedan repartidos por todo el catálogo y no son siempre los primeros
+    private long[] muestrearIds() throws IOException, InterruptedException {
+        List<Long> encontrados = new ArrayList<>();
+        String cursor = null;
+        do {
+            String uri = url + "/api/productos?tamanio=1000"
+                    + (cursor != null ? "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8) : "");
+            HttpResponse<String> respuesta = cliente.send(pedido(uri, "carga-muestreo").GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 200) {
+                throw new IllegalStateException("No se pudo listar el catálogo en " + uri + ": HTTP "
+                        + respuesta.statusCode());
+            }
+            JsonNode pagina = mapper.readTree(respuesta.body());
+            for (JsonNode producto : pagina.path("contenido")) {
+                if (encontrados.size() < configuracion.maxIds()) {
+                    encontrados.add(producto.path("id").asLong());
+                }
+            }
+            JsonNode siguiente = pagina.path("siguienteCursor");
+            cursor = siguiente.isTextual() ? siguiente.asText() : null;
+        } while (cursor != null && encontrados.size() < configuracion.maxIds());
+
+        boolean usaIds = configuracion.mezcla().containsKey(Operacion.ID)
+                || configuracion.mezcla().containsKey(Operacion.STOCK);
+        if (encontrados.isEmpty() && usaIds) {
+            throw new IllegalStateException("El catálogo está vacío: las operaciones por ID no tienen productos");
+        }
+        Collections.shuffle(encontrados, new Random(configuracion.semilla()));
+        return encontrados.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Bytes asignados por la JVM del servidor según Actuator (se actualiza en cada GC); NaN si no está expuesto
+    private double memoriaAsignadaServidor() {
+        try {
+            HttpResponse<String> respuesta = cliente.send(
+                    pedido(url + "/actuator/metrics/jvm.gc.memory.allocated", "carga-metricas").GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 200) {
+                return Double.NaN;
+            }
+            return mapper.readTree(respuesta.body()).path("measurements").path(0).path("value").asDouble(Double.NaN);
+        } catch (IOException e) {
+            return Double.NaN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.NaN;
+        }
+    }
+
+    private void informar(Map<Operacion, Histograma> porOperacion, Histograma total, Map<Integer, Long> estados,
+                          double asignadoServidor, long asignadoCliente) throws IOException {
+        double segundos = configuracion.duracion().toNanos() / 1e9;
+        List<Map<String, Object>> filas = new ArrayList<>();
+        System.out.printf("%n%-10s %12s %10s %10s %10s %10s %10s%n",
+                "operación", "peticiones", "por seg", "p50 ms", "p99 ms", "p999 ms", "máx ms");
+        porOperacion.forEach((operacion, histograma) -> filas.add(fila(operacion.nombre(), histograma, segundos)));
+        filas.add(fila("total", total, segundos));
+        for (Map<String, Object> fila : filas) {
+            System.out.printf("%-10s %12d %10.1f %10.3f %10.3f %10.3f %10.3f%n", fila.get("operacion"),
+                    fila.get("peticiones"), fila.get("porSegundo"), fila.get("p50Ms"), fila.get("p99Ms"),
+                    fila.get("p999Ms"), fila.get("maxMs"));
+        }
+        System.out.println("Estados HTTP (0 = error de conexión): " + estados);
+
+        Map<String, Object> asignacion = new LinkedHashMap<>();
+        if (!Double.isNaN(asignadoServidor)) {
+            asignacion.put("servidorMBPorSegundo", asignadoServidor / segundos / 1e6);
+            asignacion.put("servidorKBPorPeticion", total.total() > 0 ? asignadoServidor / total.total() / 1e3 : 0);
+            System.out.printf("Asignación del servidor: %.1f MB/s, %.1f KB por petición%s%n",
+                    asignacion.get("servidorMBPorSegundo"), asignacion.get("servidorKBPorPeticion"),
+                    configuracion.url() == null ? " (incluye al cliente: comparten la JVM)" : "");
+        } else {
+            System.out.println("Asignación del servidor: no disponible (/actuator/metrics no expuesto)");
+        }
+        asignacion.put("clienteMBPorSegundo", asignadoCliente / segundos / 1e6);
+        System.out.printf("Asignación de los hilos de carga: %.1f MB/s%n", asignacion.get("clienteMBPorSegundo"));
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("url", url);
+        parametros.put("embebida", configuracion.url() == null);
+        parametros.put("concurrencia", configuracion.concurrencia());
+        parametros.put("duracionSegundos", segundos);
+        parametros.put("tasa", configuracion.tasa());
+        parametros.put("mezcla", configuracion.mezcla());
+        parametros.put("zipf", configuracion.zipf());
+        parametros.put("ids", ids.length);
+        parametros.put("semilla", configuracion.semilla());
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("parametros", parametros);
+        resultado.put("operaciones", filas);
+        resultado.put("estados", estados);
+        resultado.put("asignacion", asignacion);
+        if (configuracion.salida().getParent() != null) {
+            Files.createDirectories(configuracion.salida().getParent());
+        }
+        mapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(configuracion.salida().toFile(), resultado);
+        System.out.println("Resultados en " + configuracion.salida());
+    }
+
+    private static Map<String, Object> fila(String operacion, Histograma histograma, double segundos) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("operacion", operacion);
+        fila.put("peticiones", histograma.total());
+        fila.put("porSegundo", histograma.total() / segundos);
+        fila.put("p50Ms", histograma.percentil(0.50) / 1e6);
+        fila.put("p99Ms", histograma.percentil(0.99) / 1e6);
+        fila.put("p999Ms", histograma.percentil(0.999) / 1e6);
+        fila.put("maxMs", histograma.maximo() / 1e6);
+        return fila;
+    }
+
+    private HttpRequest.Builder pedido(String uri, String apiKey) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("X-API-Key", apiKey);
+    }
+
+    private static void dormirHasta(long nanos) throws InterruptedException {
+        long espera = nanos - System.nanoTime();
+        if (espera > 0) {
+            Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+        }
+    }
+
+    private static HttpRequest.BodyPublisher cuerpo(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private String json(Object valor) {
+        try {
+            return mapper.writeValueAsString(valor);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo serializar el producto", e);
+        }
+    }
+
+    // Cada hilo tiene su generador, sus histogramas y su API key (si la instancia las tiene en
+    // productos.clientes.api-keys, los limitadores ven a cada hilo como un cliente aparte)
+    private final class Trabajador implements Runnable {
+
+        private final String apiKey;
+        private final SplittableRandom azar;
+        private final long inicio;
+        private final long inicioMedicion;
+        private final long fin;
+        private final Map<Operacion, Histograma> histogramas = new EnumMap<>(Operacion.class);
+        private final Map<Integer, Long> estados = new TreeMap<>();
+        private long asignado;
+
+        Trabajador(int indice, SplittableRandom azar, long inicio, long inicioMedicion, long fin) {
+            this.apiKey = "carga-" + indice;
+            this.azar = azar;
+            this.inicio = inicio;
+            this.inicioMedicion = inicioMedicion;
+            this.fin = fin;
+        }
+
+        @Override
+        public void run() {
+            // Con tasa fija cada hilo envía una petición cada 'intervalo', desfasado al azar respecto de los demás
+            long intervalo = configuracion.tasa() > 0
+                    ? (long) (1e9 * configuracion.concurrencia() / configuracion.tasa()) : 0;
+            long programada = inicio + (intervalo > 0 ? azar.nextLong(intervalo) : 0);
+            long asignadoInicio = -1;
+            try {
+                while (true) {
+                    long envio;
+                    if (intervalo > 0) {
+                        dormirHasta(programada);
+                        envio = programada;
+                        programada += intervalo;
+                    } else {
+                        envio = System.nanoTime();
+                    }
+                    if (envio >= fin) {
+                        break;
+                    }
+                    boolean medir = envio >= inicioMedicion;
+                    if (medir && asignadoInicio < 0) {
+                        asignadoInicio = bytesAsignados();
+                    }
+                    Operacion operacion = elegirOperacion();
+                    int estado = enviar(armar(operacion));
+                    if (medir) {
+                        histogramas.computeIfAbsent(operacion, o -> new Histograma())
+                                .registrar(System.nanoTime() - envio);
+                        estados.merge(estado, 1L, Long::sum);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            asignado = asignadoInicio < 0 ? 0 : bytesAsignados() - asignadoInicio;
+        }
+
+        private Operacion elegirOperacion() {
+            int valor = azar.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            for (int i = 0; i < operaciones.length; i++) {
+                if (valor < pesosAcumulados[i]) {
+                    return operaciones[i];
+                }
+            }
+            return operaciones[operaciones.length - 1];
+        }
+
+        private HttpRequest armar(Operacion operacion) {
+            String productos = url + "/api/productos";
+            return switch (operacion) {
+                case ID -> pedido(productos + "/" + idCaliente(), apiKey).GET().build();
+                case CATEGORIA -> {
+                    Categoria[] categorias = Categoria.values();
+                    String uri = productos + "/categoria/" + categorias[azar.nextInt(categorias.length)]
+                            + "?limit=50&orden=" + ORDENES[azar.nextInt(ORDENES.length)];
+                    // La mitad de las consultas acota el precio, entre 10 y 1000
+                    if (azar.nextBoolean()) {
+                        uri += "&precioMax=" + Math.round(Math.pow(10, 1 + 2 * azar.nextDouble()));
+                    }
+                    yield pedido(uri, apiKey).GET().build();
+                }
+                case STOCK -> escritura(pedido(productos + "/" + idCaliente() + "/stock", apiKey))
+                        .method("PATCH", cuerpo("{\"stock\":" + azar.nextInt(500) + "}"))
+                        .build();
+                case ALTA -> escritura(pedido(productos, apiKey))
+                        .POST(cuerpo(json(catalogo.producto(siguienteAlta.getAndIncrement()))))
+                        .build();
+            };
+        }
+
+        private HttpRequest.Builder escritura(HttpRequest.Builder pedido) {
+            pedido.header("Content-Type", "application/json");
+            if (configuracion.idempotencia()) {
+                pedido.header("Idempotency-Key", UUID.randomUUID().toString());
+            }
+            return pedido;
+        }
+
+        private long idCaliente() {
+            return ids[distribucionIds.elegir(azar)];
+        }
+
+        // Código de estado de la respuesta, o 0 si la conexión falló
+        private int enviar(HttpRequest pedido) throws InterruptedException {
+            try {
+                return cliente.send(pedido, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        private long bytesAsignados() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hilos) {
+                return hilos.getCurrentThreadAllocatedBytes();
+            }
+            return 0;
+        }
+    }
+}
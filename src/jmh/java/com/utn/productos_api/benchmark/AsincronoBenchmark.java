@@ -0,0 +1,74 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.ProductoService;
+import com.utn.productos_api.service.ProductoServiceAsync;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Tráfico mixto: 12 hilos leen categorías (sin caché, cada lectura llega a la base) mientras 4 hilos actualizan
+// stock. En modo "sincrono" los hilos llaman directamente a ProductoService, como los hilos de Tomcat; en modo
+// "asincrono" pasan por los pools separados de ProductoServiceAsync. JMH informa la latencia de cada grupo.
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsincronoBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Categoria[] CATEGORIAS = Categoria.values();
+
+    @Param({"sincrono", "asincrono"})
+    private String modo;
+
+    private ConfigurableApplicationContext contexto;
+    private ProductoService productoService;
+    private ProductoServiceAsync productoServiceAsync;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.NONE, "asincrono" + modo,
+                Map.of("productos.cache.habilitada", "false"));
+        ContextoBenchmark.sembrar(contexto, 10_000);
+        productoService = contexto.getBean(ProductoService.class);
+        productoServiceAsync = contexto.getBean(ProductoServiceAsync.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(12)
+    public List<ProductoResponseDTO> leer() {
+        Categoria categoria = CATEGORIAS[ThreadLocalRandom.current().nextInt(CATEGORIAS.length)];
+        return "asincrono".equals(modo)
+                ? productoServiceAsync.obtenerPorCategoria(categoria, TIMEOUT).join()
+                : productoService.obtenerPorCategoria(categoria);
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(4)
+    public ProductoResponseDTO escribir() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextInt(10_000);
+        ActualizarStockDTO stock = new ActualizarStockDTO(random.nextInt(1000));
+        return "asincrono".equals(modo)
+                ? productoServiceAsync.actualizarStock(id, stock, TIMEOUT).join()
+                : productoService.actualizarStock(id, stock);
+    }
+}
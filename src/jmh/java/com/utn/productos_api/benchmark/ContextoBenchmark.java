@@ -0,0 +1,64 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.ApiRestSpringApplication;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.ProductoBulkService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Arranque de la aplicación para los benchmarks: cada contexto usa su propia base H2 en memoria
+public final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    public static ConfigurableApplicationContext iniciar(WebApplicationType tipo, String nombreBase,
+                                                         Map<String, Object> propiedadesExtra) {
+        Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("spring.datasource.url", "jdbc:h2:mem:" + nombreBase + ";DB_CLOSE_DELAY=-1");
+        propiedades.put("spring.jpa.show-sql", "false");
+        propiedades.put("spring.jpa.properties.hibernate.format_sql", "false");
+        propiedades.put("spring.main.banner-mode", "off");
+        propiedades.put("logging.level.root", "WARN");
+        propiedades.put("server.port", "0");
+        // Los benchmarks miden el código, no el límite de tasa de un único cliente
+        propiedades.put("productos.limites.habilitado", "false");
+        propiedades.putAll(propiedadesExtra);
+        // Como argumentos de línea de comandos, para que tengan prioridad sobre application.properties (las de
+        // SpringApplicationBuilder.properties() son valores por defecto y pierden contra el archivo)
+        String[] argumentos = propiedades.entrySet().stream()
+                .map(propiedad -> "--" + propiedad.getKey() + "=" + propiedad.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ApiRestSpringApplication.class)
+                .web(tipo)
+                .run(argumentos);
+    }
+
+    public static ConfigurableApplicationContext iniciar(WebApplicationType tipo, String nombreBase) {
+        return iniciar(tipo, nombreBase, Map.of());
+    }
+
+    // Carga productos sintéticos repartidos en partes iguales entre las categorías
+    public static void sembrar(ConfigurableApplicationContext contexto, int cantidad) {
+        Iterator<ProductoDTO> productos = IntStream.range(0, cantidad)
+                .mapToObj(ContextoBenchmark::productoSintetico)
+                .iterator();
+        contexto.getBean(ProductoBulkService.class).crear(productos, 1000);
+    }
+
+    public static ProductoDTO productoSintetico(int i) {
+        Categoria[] categorias = Categoria.values();
+        return new ProductoDTO("Producto sintético " + i,
+                "Descripción del producto sintético número " + i + " para benchmarks",
+                1.0 + (i % 10_000) / 10.0,
+                i % 500,
+                categorias[i % categorias.length]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.utn.productos_api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Camino completo de ProductoController (filtros, dispatcher, servicio, JPA y Jackson) a través de MockMvc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControladorBenchmark {
+
+    @Param({"10000"})
+    private int productos;
+
+    // Con la caché deshabilitada cada petición llega a la base de datos
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext contexto;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.SERVLET, "controlador" + productos + cache,
+                Map.of("productos.cache.habilitada", String.valueOf(cache)));
+        ContextoBenchmark.sembrar(contexto, productos);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto).build();
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int obtenerPorId() throws Exception {
+        return mockMvc.perform(get("/api/productos/{id}", 5)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int obtenerPorCategoria() throws Exception {
+        return mockMvc.perform(get("/api/productos/categoria/{categoria}", "ROPA")).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int listarPagina() throws Exception {
+        return mockMvc.perform(get("/api/productos").param("tamanio", "50")).andReturn().getResponse().getStatus();
+    }
+}
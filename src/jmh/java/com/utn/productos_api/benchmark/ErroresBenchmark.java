@@ -0,0 +1,64 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.exception.ProductoNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Camino de error de GET /api/productos/{id} con IDs inexistentes (bots probando IDs), con y sin caché.
+// Con la caché deshabilitada cada 404 llega a la base; con ella, la caché negativa los responde después del primero.
+// Los dos últimos benchmarks aíslan el costo de la excepción: con traza (como antes) y sin traza (ahora).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErroresBenchmark {
+
+    private static final int IDS_INEXISTENTES = 1000;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext contexto;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.SERVLET, "errores" + cache,
+                Map.of("productos.cache.habilitada", String.valueOf(cache)));
+        ContextoBenchmark.sembrar(contexto, 1000);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto).build();
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int obtenerInexistente() throws Exception {
+        long id = 1_000_000 + ThreadLocalRandom.current().nextInt(IDS_INEXISTENTES);
+        return mockMvc.perform(get("/api/productos/{id}", id)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public RuntimeException excepcionConTraza() {
+        return new RuntimeException("Producto no encontrado con ID: " + ThreadLocalRandom.current().nextLong());
+    }
+
+    @Benchmark
+    public RuntimeException excepcionSinTraza() {
+        return new ProductoNotFoundException(ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,89 @@
+package com.utn.productos_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.utn.productos_api.config.ColumnarHttpMessageConverter;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+// Costo de CPU y bytes en la red de cada formato de respuesta de los listados, para 10.000 productos.
+// Los tamaños (sin comprimir y con gzip, como los envía Tomcat) se imprimen al preparar cada formato.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatosBenchmark {
+
+    private static final int CANTIDAD = 10_000;
+
+    @Param({"json", "columnar", "cbor", "smile"})
+    private String formato;
+
+    private Escritor escritor;
+    private List<ProductoResponseDTO> productos;
+
+    @FunctionalInterface
+    private interface Escritor {
+        void escribir(OutputStream salida, Object productos) throws IOException;
+    }
+
+    @Setup
+    public void preparar() throws IOException {
+        productos = IntStream.range(0, CANTIDAD)
+                .mapToObj(i -> {
+                    ProductoDTO dto = ContextoBenchmark.productoSintetico(i);
+                    return new ProductoResponseDTO((long) i, dto.getNombre(), dto.getDescripcion(),
+                            dto.getPrecio(), dto.getStock(), dto.getCategoria(), 0L, Instant.EPOCH);
+                })
+                .collect(Collectors.toList());
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        escritor = switch (formato) {
+            case "json" -> json::writeValue;
+            case "columnar" -> {
+                ColumnarHttpMessageConverter columnar = new ColumnarHttpMessageConverter(json.getFactory());
+                yield (salida, valor) -> columnar.escribir(valor, salida);
+            }
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()::writeValue;
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build()::writeValue;
+            default -> throw new IllegalArgumentException("Formato desconocido: " + formato);
+        };
+
+        ByteArrayOutputStream crudo = new ByteArrayOutputStream();
+        escritor.escribir(crudo, productos);
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+            crudo.writeTo(gzip);
+        }
+        System.out.printf("%n[%s] %d productos: %d bytes, %d bytes con gzip%n",
+                formato, CANTIDAD, crudo.size(), comprimido.size());
+    }
+
+    @Benchmark
+    public void serializar() throws IOException {
+        escritor.escribir(OutputStream.nullOutputStream(), productos);
+    }
+
+    // Lo que paga el servidor cuando la respuesta supera el umbral de server.compression.min-response-size
+    @Benchmark
+    public void serializarConGzip() throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            escritor.escribir(gzip, productos);
+        }
+    }
+}
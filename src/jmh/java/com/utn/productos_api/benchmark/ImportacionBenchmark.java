@@ -0,0 +1,73 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ResultadoExportacionDTO;
+import com.utn.productos_api.dto.ResultadoImportacionDTO;
+import com.utn.productos_api.importacion.ImportacionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Importación de un CSV de 1M de productos y exportación de la tabla a NDJSON, cada una sobre una base nueva.
+// Una sola ejecución por iteración: el objetivo es importar 1M de productos en menos de un minuto.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ImportacionBenchmark {
+
+    private static final int PRODUCTOS = 1_000_000;
+
+    private Path directorio;
+    private ConfigurableApplicationContext contexto;
+    private ImportacionService importacionService;
+
+    @Setup(Level.Trial)
+    public void generarArchivo() throws IOException {
+        directorio = Files.createTempDirectory("importacion");
+        try (BufferedWriter salida = Files.newBufferedWriter(directorio.resolve("catalogo.csv"), StandardCharsets.UTF_8)) {
+            salida.write("nombre,descripcion,precio,stock,categoria");
+            salida.newLine();
+            for (int i = 0; i < PRODUCTOS; i++) {
+                ProductoDTO producto = ContextoBenchmark.productoSintetico(i);
+                salida.write(producto.getNombre() + "," + producto.getDescripcion() + "," + producto.getPrecio()
+                        + "," + producto.getStock() + "," + producto.getCategoria());
+                salida.newLine();
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.NONE, "importacion" + UUID.randomUUID(),
+                Map.of("productos.importacion.directorio", directorio.toString(),
+                        "productos.precalentamiento.habilitado", "false"));
+        importacionService = contexto.getBean(ImportacionService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ResultadoImportacionDTO importarYExportar() {
+        ResultadoImportacionDTO resultado = importacionService.importar("catalogo.csv", false);
+        ResultadoExportacionDTO exportacion = importacionService.exportar("respaldo.ndjson");
+        if (resultado.getImportadas() != PRODUCTOS || exportacion.getProductos() < PRODUCTOS) {
+            throw new IllegalStateException("Importación incompleta: " + resultado.getImportadas());
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,62 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.busqueda.IndiceCategorias;
+import com.utn.productos_api.busqueda.OrdenCategoria;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Top-k de una categoría en un rango de precios ("ELECTRONICA hasta 200, los más baratos primero") con 1M de
+// productos, desde el índice en memoria y desde la base (índice deshabilitado)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceCategoriasBenchmark {
+
+    private static final int PRODUCTOS = 1_000_000;
+    private static final int LIMITE = 20;
+
+    @Param({"true", "false"})
+    private boolean indice;
+
+    private ConfigurableApplicationContext contexto;
+    private IndiceCategorias indiceCategorias;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.NONE, "indice" + indice,
+                Map.of("productos.indice-categorias.habilitado", String.valueOf(indice),
+                        "productos.precalentamiento.habilitado", "false"));
+        ContextoBenchmark.sembrar(contexto, PRODUCTOS);
+        indiceCategorias = contexto.getBean(IndiceCategorias.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> masBaratosHasta200() {
+        return indiceCategorias.consultar(Categoria.ELECTRONICA, null, 200.0, OrdenCategoria.PRECIO, LIMITE);
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> menorStockEntre100y200() {
+        return indiceCategorias.consultar(Categoria.ELECTRONICA, 100.0, 200.0, OrdenCategoria.STOCK, LIMITE);
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> porNombreSinRango() {
+        return indiceCategorias.consultar(Categoria.ELECTRONICA, null, null, OrdenCategoria.NOMBRE, LIMITE);
+    }
+}
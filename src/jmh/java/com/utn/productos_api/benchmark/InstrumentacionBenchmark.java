@@ -0,0 +1,62 @@
+package com.utn.productos_api.benchmark;
+
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Costo de la instrumentación propia (timers por método y conteo de SQL por petición): se compara el
+// throughput con productos.metricas.habilitadas en true y en false; la diferencia debe quedar debajo del 2%.
+// Se registran todos los filtros del contexto para que el filtro de métricas SQL participe igual que en Tomcat.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentacionBenchmark {
+
+    @Param({"10000"})
+    private int productos;
+
+    @Param({"true", "false"})
+    private boolean metricas;
+
+    private ConfigurableApplicationContext contexto;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void preparar() {
+        // Sin caché, para que cada petición ejecute SQL y el listener de Hibernate trabaje
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.SERVLET, "instrumentacion" + productos + metricas,
+                Map.of("productos.metricas.habilitadas", String.valueOf(metricas),
+                        "productos.cache.habilitada", "false"));
+        ContextoBenchmark.sembrar(contexto, productos);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto)
+                .addFilters(contexto.getBeansOfType(Filter.class).values().toArray(new Filter[0]))
+                .build();
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int obtenerPorId() throws Exception {
+        return mockMvc.perform(get("/api/productos/{id}", 5)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int listarPagina() throws Exception {
+        return mockMvc.perform(get("/api/productos").param("tamanio", "50")).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,49 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.Producto;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// findByCategoria contra H2 sembrada con distintos tamaños de tabla
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int productos;
+
+    private ConfigurableApplicationContext contexto;
+    private ProductoRepository productoRepository;
+    private TransactionTemplate transaccionLectura;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.NONE, "repositorio" + productos);
+        ContextoBenchmark.sembrar(contexto, productos);
+        productoRepository = contexto.getBean(ProductoRepository.class);
+        transaccionLectura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transaccionLectura.setReadOnly(true);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Producto> findByCategoria() {
+        return transaccionLectura.execute(status -> productoRepository.findByCategoria(Categoria.ELECTRONICA));
+    }
+}
@@ -0,0 +1,54 @@
+package com.utn.productos_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Serialización con Jackson de listas de ProductoResponseDTO, como en los listados de ProductoController
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    @Param({"1000", "100000"})
+    private int cantidad;
+
+    private ObjectMapper objectMapper;
+    private List<ProductoResponseDTO> productos;
+
+    @Setup
+    public void preparar() {
+        // Misma configuración base que el ObjectMapper que arma Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productos = IntStream.range(0, cantidad)
+                .mapToObj(i -> {
+                    ProductoDTO dto = ContextoBenchmark.productoSintetico(i);
+                    return new ProductoResponseDTO((long) i, dto.getNombre(), dto.getDescripcion(),
+                            dto.getPrecio(), dto.getStock(), dto.getCategoria(), 0L, Instant.EPOCH);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void serializarLista() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), productos);
+    }
+
+    @Benchmark
+    public byte[] serializarListaABytes() throws IOException {
+        return objectMapper.writeValueAsBytes(productos);
+    }
+}
@@ -0,0 +1,61 @@
+package com.utn.productos_api.benchmark;
+
+import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.service.AcumuladorStock;
+import com.utn.productos_api.service.ProductoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Ráfaga de escáneres de depósito: 16 hilos actualizando el stock de pocos SKUs calientes, con escritura directa
+// y con write-behind. JMH informa la latencia de cada PATCH; al terminar se imprime cuántas filas llegaron
+// a la base por cada actualización recibida.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class StockWriteBehindBenchmark {
+
+    private static final int SKUS_CALIENTES = 20;
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    private ConfigurableApplicationContext contexto;
+    private ProductoService productoService;
+    private AcumuladorStock acumuladorStock;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.NONE, "stock" + writeBehind,
+                Map.of("productos.stock.write-behind.habilitado", String.valueOf(writeBehind)));
+        ContextoBenchmark.sembrar(contexto, 1000);
+        productoService = contexto.getBean(ProductoService.class);
+        acumuladorStock = contexto.getBean(AcumuladorStock.class);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+        if (writeBehind) {
+            long recibidas = acumuladorStock.getActualizacionesRecibidas();
+            System.out.printf("write-behind: %d actualizaciones -> %d filas en %d lotes (%.1fx menos escrituras)%n",
+                    recibidas, acumuladorStock.getFilasEscritas(), acumuladorStock.getLotesEscritos(),
+                    (double) recibidas / Math.max(1, acumuladorStock.getFilasEscritas()));
+        }
+    }
+
+    @Benchmark
+    public Integer escanear() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = 1 + random.nextInt(SKUS_CALIENTES);
+        return productoService.actualizarStock(id, new ActualizarStockDTO(random.nextInt(1000))).getStock();
+    }
+}
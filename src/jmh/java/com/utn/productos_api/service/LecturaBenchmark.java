@@ -0,0 +1,85 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.benchmark.ContextoBenchmark;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Camino de lectura anterior (entidades administradas en transacción de escritura + copia al DTO) contra las
+// proyecciones en transacción de solo lectura, para la página de GET /api/productos y la lista por categoría.
+// Los bytes asignados por operación se obtienen con el profiler de GC de JMH:
+//   -Djmh.args="LecturaBenchmark -prof gc"   (métrica gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LecturaBenchmark {
+
+    private static final int TAMANIO_PAGINA = 50;
+
+    @Param({"10000"})
+    private int productos;
+
+    private ConfigurableApplicationContext contexto;
+    private ProductoRepository productoRepository;
+    private ProductoService mapeo;
+    private TransactionTemplate transaccionEscritura;
+    private TransactionTemplate transaccionLectura;
+
+    @Setup
+    public void preparar() {
+        contexto = ContextoBenchmark.iniciar(WebApplicationType.NONE, "lectura" + productos);
+        ContextoBenchmark.sembrar(contexto, productos);
+        productoRepository = contexto.getBean(ProductoRepository.class);
+        // Las conversiones no usan las dependencias del servicio
+        mapeo = new ProductoService(null, null, null, null, null, 50, 1000, 1000);
+        PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+        transaccionEscritura = new TransactionTemplate(transactionManager);
+        transaccionLectura = new TransactionTemplate(transactionManager);
+        transaccionLectura.setReadOnly(true);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> paginaEntidades() {
+        return transaccionEscritura.execute(status -> productoRepository
+                .findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(TAMANIO_PAGINA + 1)).stream()
+                .limit(TAMANIO_PAGINA)
+                .map(mapeo::convertirEntidadaResponseDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> paginaProyeccion() {
+        return transaccionLectura.execute(status ->
+                productoRepository.findResponsePagina(0L, PageRequest.ofSize(TAMANIO_PAGINA + 1)));
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> categoriaEntidades() {
+        return transaccionEscritura.execute(status -> productoRepository.findByCategoria(Categoria.ROPA).stream()
+                .map(mapeo::convertirEntidadaResponseDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ProductoResponseDTO> categoriaProyeccion() {
+        return transaccionLectura.execute(status -> productoRepository.findResponseByCategoria(Categoria.ROPA));
+    }
+}
@@ -0,0 +1,42 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.benchmark.ContextoBenchmark;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Producto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Costo de las conversiones DTO <-> entidad de ProductoService, aisladas de JPA y de la web
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private ProductoService productoService;
+    private ProductoDTO productoDTO;
+    private Producto producto;
+
+    @Setup
+    public void preparar() {
+        // Las conversiones no usan las dependencias del servicio
+        productoService = new ProductoService(null, null, null, null, null, 50, 1000, 1000);
+        productoDTO = ContextoBenchmark.productoSintetico(42);
+        producto = productoService.convertirDTOaEntidad(productoDTO);
+        producto.setId(42L);
+    }
+
+    @Benchmark
+    public Producto convertirDTOaEntidad() {
+        return productoService.convertirDTOaEntidad(productoDTO);
+    }
+
+    @Benchmark
+    public ProductoResponseDTO convertirEntidadaResponseDTO() {
+        return productoService.convertirEntidadaResponseDTO(producto);
+    }
+}
@@ -0,0 +1,253 @@
+package com.utn.productos_api.busqueda;
+
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ResultadoBusquedaDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.replica.RuteoLecturas;
+import com.utn.productos_api.repository.ProductoRepository;
+import com.utn.productos_api.service.ProductoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Índice invertido en memoria sobre nombre y descripción. Se construye al arrancar recorriendo la tabla
+// y se mantiene al día con los ProductoCambiadoEvent publicados por cada escritura (después del commit).
+// Los términos se guardan ordenados, así un término de la consulta también encuentra los que empiezan por él
+// ("cafe" encuentra "cafetera").
+@Component
+public class IndiceBusqueda {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBusqueda.class);
+
+    private static final double PESO_NOMBRE = 3.0;
+    private static final double PESO_DESCRIPCION = 1.0;
+    private static final double FACTOR_PREFIJO = 0.5;
+
+    // Mayor puntaje primero; a igual puntaje, menor ID
+    private static final Comparator<Coincidencia> MEJOR_PRIMERO = Comparator
+            .comparingDouble((Coincidencia c) -> -c.puntaje())
+            .thenComparingLong(c -> c.producto().getId());
+
+    private final ProductoService productoService;
+    private final ProductoRepository productoRepository;
+
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> terminos = new ConcurrentSkipListMap<>();
+
+    public IndiceBusqueda(ProductoService productoService, ProductoRepository productoRepository) {
+        this.productoService = productoService;
+        this.productoRepository = productoRepository;
+    }
+
+    // Se construye antes de que la aplicación empiece a aceptar tráfico
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void construir() {
+        long inicio = System.nanoTime();
+        // Como las cachés, el índice se carga de la primaria (ver RuteoLecturas)
+        RuteoLecturas.desdePrimaria(() -> {
+            productoService.recorrerTodos(this::indexar);
+            return null;
+        });
+        log.info("Índice de búsqueda construido con {} productos en {} ms",
+                documentos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        if (evento.getTipo() == TipoCambio.ELIMINADO) {
+            eliminar(evento.getProductoId());
+            return;
+        }
+        if (evento.getProducto() != null) {
+            indexar(evento.getProducto());
+            return;
+        }
+        // Cambios de stock hechos con UPDATE directo: se relee la fila ya confirmada
+        RuteoLecturas.desdePrimaria(() -> productoRepository.findResponseById(evento.getProductoId()))
+                .ifPresentOrElse(this::indexar, () -> eliminar(evento.getProductoId()));
+    }
+
+    public ResultadoBusquedaDTO buscar(String consulta, Categoria categoria, Double precioMin, Double precioMax,
+                                       Integer stockMin, int pagina, int tamanio) {
+        Set<String> terminosConsulta = Tokenizador.tokenizar(consulta);
+        Collection<Long> candidatos = terminosConsulta.isEmpty()
+                ? documentos.keySet()
+                : candidatos(terminosConsulta);
+
+        // Solo hacen falta los primeros (pagina + 1) * tamanio: se guardan en un heap acotado con el peor arriba,
+        // así el puntaje se calcula una vez por documento y no se ordena todo el catálogo en cada consulta
+        int necesarios = (int) Math.min((long) (pagina + 1) * tamanio, Integer.MAX_VALUE);
+        PriorityQueue<Coincidencia> mejores = new PriorityQueue<>(Math.min(necesarios, 1024), MEJOR_PRIMERO.reversed());
+
+        // Facetas: coincidencias por categoría antes de aplicar el filtro de categoría
+        Map<Categoria, Long> facetas = new EnumMap<>(Categoria.class);
+        int total = 0;
+        for (Long id : candidatos) {
+            Documento documento = documentos.get(id);
+            if (documento == null || !cumpleFiltros(documento.producto(), precioMin, precioMax, stockMin)) {
+                continue;
+            }
+            Categoria categoriaDocumento = documento.producto().getCategoria();
+            if (categoriaDocumento != null) {
+                facetas.merge(categoriaDocumento, 1L, Long::sum);
+            }
+            if (categoria != null && categoria != categoriaDocumento) {
+                continue;
+            }
+            total++;
+            // Sin términos todos puntúan 0 y el orden queda por ID
+            double puntaje = terminosConsulta.isEmpty() ? 0 : puntaje(documento, terminosConsulta);
+            Coincidencia coincidencia = new Coincidencia(documento.producto(), puntaje);
+            if (mejores.size() < necesarios) {
+                mejores.add(coincidencia);
+            } else if (MEJOR_PRIMERO.compare(coincidencia, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.add(coincidencia);
+            }
+        }
+
+        List<Coincidencia> ordenadas = new ArrayList<>(mejores);
+        ordenadas.sort(MEJOR_PRIMERO);
+        List<ProductoResponseDTO> resultados = new ArrayList<>(tamanio);
+        for (int i = necesarios - tamanio; i < ordenadas.size(); i++) {
+            resultados.add(ordenadas.get(i).producto());
+        }
+
+        return new ResultadoBusquedaDTO(total, pagina, tamanio, resultados, facetas);
+    }
+
+    public int cantidadDocumentos() {
+        return documentos.size();
+    }
+
+    // Métodos auxiliares de indexación
+    private void indexar(ProductoResponseDTO producto) {
+        Set<String> nombre = Tokenizador.tokenizar(producto.getNombre());
+        Set<String> descripcion = Tokenizador.tokenizar(producto.getDescripcion());
+        Documento nuevo = new Documento(producto, nombre, descripcion);
+
+        // compute serializa las actualizaciones de un mismo producto
+        documentos.compute(producto.getId(), (id, anterior) -> {
+            // Un evento atrasado o fuera de orden no reemplaza una versión igual o más nueva
+            if (anterior != null && !esMasNueva(producto, anterior.producto())) {
+                return anterior;
+            }
+            Set<String> terminosNuevos = nuevo.terminos();
+            if (anterior != null) {
+                for (String termino : anterior.terminos()) {
+                    if (!terminosNuevos.contains(termino)) {
+                        quitarTermino(termino, id);
+                    }
+                }
+            }
+            for (String termino : terminosNuevos) {
+                terminos.computeIfAbsent(termino, t -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            return nuevo;
+        });
+    }
+
+    private static boolean esMasNueva(ProductoResponseDTO nuevo, ProductoResponseDTO indexado) {
+        return nuevo.getVersion() == null || indexado.getVersion() == null
+                || nuevo.getVersion() > indexado.getVersion();
+    }
+
+    private void eliminar(Long id) {
+        documentos.computeIfPresent(id, (clave, anterior) -> {
+            anterior.terminos().forEach(termino -> quitarTermino(termino, clave));
+            return null;
+        });
+    }
+
+    private void quitarTermino(String termino, Long id) {
+        // Los conjuntos vacíos se dejan en el mapa: quitarlos competiría con altas concurrentes del mismo término
+        Set<Long> ids = terminos.get(termino);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    // Métodos auxiliares de consulta: cada término debe aparecer (exacto o como prefijo) en el documento
+    private Set<Long> candidatos(Set<String> terminosConsulta) {
+        List<Set<Long>> porTermino = new ArrayList<>(terminosConsulta.size());
+        for (String termino : terminosConsulta) {
+            Set<Long> ids = new HashSet<>();
+            terminos.subMap(termino, true, termino + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(ids::addAll);
+            if (ids.isEmpty()) {
+                return Set.of();
+            }
+            porTermino.add(ids);
+        }
+        // Se intersecta empezando por el conjunto más chico
+        porTermino.sort(Comparator.comparingInt(Set::size));
+        Set<Long> resultado = porTermino.get(0);
+        for (int i = 1; i < porTermino.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(porTermino.get(i));
+        }
+        return resultado;
+    }
+
+    private static boolean cumpleFiltros(ProductoResponseDTO producto, Double precioMin, Double precioMax,
+                                         Integer stockMin) {
+        return (precioMin == null || producto.getPrecio() >= precioMin)
+                && (precioMax == null || producto.getPrecio() <= precioMax)
+                && (stockMin == null || producto.getStock() >= stockMin);
+    }
+
+    private static double puntaje(Documento documento, Set<String> terminosConsulta) {
+        double puntaje = 0;
+        for (String termino : terminosConsulta) {
+            puntaje += PESO_NOMBRE * coincidencia(documento.nombre(), termino)
+                    + PESO_DESCRIPCION * coincidencia(documento.descripcion(), termino);
+        }
+        return puntaje;
+    }
+
+    private static double coincidencia(Set<String> tokens, String termino) {
+        if (tokens.contains(termino)) {
+            return 1.0;
+        }
+        for (String token : tokens) {
+            if (token.startsWith(termino)) {
+                return FACTOR_PREFIJO;
+            }
+        }
+        return 0.0;
+    }
+
+    // Resultado candidato de una consulta con su puntaje ya calculado
+    private record Coincidencia(ProductoResponseDTO producto, double puntaje) {
+    }
+
+    // Producto indexado junto con sus términos de nombre y descripción
+    private record Documento(ProductoResponseDTO producto, Set<String> nombre, Set<String> descripcion) {
+
+        Set<String> terminos() {
+            Set<String> todos = new HashSet<>(nombre);
+            todos.addAll(descripcion);
+            return todos;
+        }
+    }
+}
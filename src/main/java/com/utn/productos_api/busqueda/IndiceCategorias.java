@@ -0,0 +1,286 @@
+package com.utn.productos_api.busqueda;
+
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.replica.RuteoLecturas;
+import com.utn.productos_api.repository.ProductoRepository;
+import com.utn.productos_api.service.ProductoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice en memoria por categoría para consultas por rango de precio ordenadas por precio, stock o nombre con
+// límite ("ELECTRONICA hasta 200, los más baratos primero"). Cada categoría guarda tres ListaOrdenada; el rango de
+// precios se ubica con dos búsquedas binarias y el top-k sale recorriendo k posiciones, sin ordenar en cada consulta.
+// Se construye al arrancar y se mantiene con los ProductoCambiadoEvent (después del commit); hasta que está listo,
+// o si está deshabilitado, las consultas van a la base.
+@Component
+public class IndiceCategorias {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceCategorias.class);
+
+    private static final Comparator<ProductoResponseDTO> POR_STOCK = Comparator
+            .comparingInt((ProductoResponseDTO p) -> p.getStock())
+            .thenComparingLong(ProductoResponseDTO::getId);
+    private static final Comparator<ProductoResponseDTO> POR_NOMBRE = Comparator
+            .comparing(ProductoResponseDTO::getNombre, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingLong(ProductoResponseDTO::getId);
+
+    private final ProductoService productoService;
+    private final ProductoRepository productoRepository;
+    private final boolean habilitado;
+
+    private final Map<Categoria, Particion> particiones = new EnumMap<>(Categoria.class);
+    private final Map<Long, ProductoResponseDTO> productos = new ConcurrentHashMap<>();
+    // Cambios recibidos mientras se construye el índice; se aplican al terminar (null = eliminado)
+    private final Map<Long, ProductoResponseDTO> pendientes = new LinkedHashMap<>();
+    private volatile boolean listo;
+
+    public IndiceCategorias(ProductoService productoService,
+                            ProductoRepository productoRepository,
+                            @Value("${productos.indice-categorias.habilitado:true}") boolean habilitado) {
+        this.productoService = productoService;
+        this.productoRepository = productoRepository;
+        this.habilitado = habilitado;
+        for (Categoria categoria : Categoria.values()) {
+            particiones.put(categoria, new Particion());
+        }
+    }
+
+    // Se construye antes de que la aplicación empiece a aceptar tráfico
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void construir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Map<Categoria, List<ProductoResponseDTO>> porCategoria = new EnumMap<>(Categoria.class);
+        Map<Long, ProductoResponseDTO> todos = new HashMap<>();
+        // Como las cachés, el índice se carga de la primaria (ver RuteoLecturas)
+        RuteoLecturas.desdePrimaria(() -> {
+            productoService.recorrerTodos(producto -> {
+                if (producto.getCategoria() != null) {
+                    porCategoria.computeIfAbsent(producto.getCategoria(), c -> new ArrayList<>()).add(producto);
+                    todos.put(producto.getId(), producto);
+                }
+            });
+            return null;
+        });
+        synchronized (this) {
+            porCategoria.forEach((categoria, lista) -> particiones.get(categoria).cargar(lista));
+            productos.putAll(todos);
+            listo = true;
+            pendientes.forEach(this::aplicar);
+            pendientes.clear();
+        }
+        log.info("Índice por categoría construido con {} productos en {} ms",
+                todos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        Long id = evento.getProductoId();
+        if (evento.getTipo() == TipoCambio.ELIMINADO) {
+            registrar(id, null);
+        } else if (evento.getProducto() != null) {
+            registrar(id, evento.getProducto());
+        } else {
+            // Cambios de stock hechos con UPDATE directo y cambios de otros nodos: se relee la fila ya confirmada
+            registrar(id, RuteoLecturas.desdePrimaria(() -> productoRepository.findResponseById(id)).orElse(null));
+        }
+    }
+
+    // Productos de la categoría con precio en [precioMin, precioMax], ordenados y limitados
+    public List<ProductoResponseDTO> consultar(Categoria categoria, Double precioMin, Double precioMax,
+                                               OrdenCategoria orden, int limite) {
+        double minimo = precioMin != null ? precioMin : 0.0;
+        double maximo = precioMax != null ? precioMax : Double.MAX_VALUE;
+        if (!listo) {
+            Sort sort = Sort.by(orden.getCampo()).and(Sort.by("id"));
+            return productoRepository.findResponseByCategoriaYPrecio(categoria, minimo, maximo,
+                    PageRequest.of(0, limite, sort));
+        }
+        return particiones.get(categoria).consultar(minimo, maximo, orden, limite);
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    // Los escritores se serializan entre sí; los lectores solo esperan por las particiones que se modifican
+    private synchronized void registrar(Long id, ProductoResponseDTO producto) {
+        if (!listo) {
+            pendientes.put(id, producto);
+            return;
+        }
+        aplicar(id, producto);
+    }
+
+    private void aplicar(Long id, ProductoResponseDTO nuevo) {
+        ProductoResponseDTO anterior = productos.get(id);
+        // Dos commits del mismo producto pueden notificarse en otro orden: se ignora una versión más vieja
+        if (anterior != null && nuevo != null && anterior.getVersion() != null && nuevo.getVersion() != null
+                && nuevo.getVersion() < anterior.getVersion()) {
+            return;
+        }
+        Particion origen = anterior != null && anterior.getCategoria() != null
+                ? particiones.get(anterior.getCategoria()) : null;
+        Particion destino = nuevo != null && nuevo.getCategoria() != null
+                ? particiones.get(nuevo.getCategoria()) : null;
+        // Si el producto cambia de categoría se bloquean las dos; como hay un solo escritor a la vez, el orden no
+        // importa
+        List<Lock> locks = new ArrayList<>(2);
+        if (origen != null) {
+            locks.add(origen.escritura());
+        }
+        if (destino != null && destino != origen) {
+            locks.add(destino.escritura());
+        }
+        locks.forEach(Lock::lock);
+        try {
+            if (origen != null) {
+                origen.quitar(anterior);
+            }
+            if (destino != null) {
+                destino.insertar(nuevo);
+                productos.put(id, nuevo);
+            } else {
+                productos.remove(id);
+            }
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    // Productos de una categoría, ordenados por precio, por stock y por nombre
+    private final class Particion {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private ListaOrdenada porPrecio = ListaOrdenada.vacia(false);
+        private ListaOrdenada porStock = ListaOrdenada.vacia(false);
+        private ListaOrdenada porNombre = ListaOrdenada.vacia(true);
+
+        Lock escritura() {
+            return lock.writeLock();
+        }
+
+        void cargar(List<ProductoResponseDTO> lista) {
+            int cantidad = lista.size();
+            double[] precios = new double[cantidad];
+            double[] stocks = new double[cantidad];
+            double[] ceros = new double[cantidad];
+            String[] nombres = new String[cantidad];
+            long[] ids = new long[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                ProductoResponseDTO producto = lista.get(i);
+                precios[i] = producto.getPrecio();
+                stocks[i] = producto.getStock();
+                nombres[i] = producto.getNombre();
+                ids[i] = producto.getId();
+            }
+            lock.writeLock().lock();
+            try {
+                porPrecio = ListaOrdenada.construir(false, precios, null, precios, ids, cantidad);
+                porStock = ListaOrdenada.construir(false, stocks, null, precios, ids, cantidad);
+                porNombre = ListaOrdenada.construir(true, ceros, nombres, precios, ids, cantidad);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Se llaman con el lock de escritura tomado
+        void insertar(ProductoResponseDTO producto) {
+            double precio = producto.getPrecio();
+            porPrecio.insertar(precio, null, precio, producto.getId());
+            porStock.insertar(producto.getStock(), null, precio, producto.getId());
+            porNombre.insertar(0, producto.getNombre(), precio, producto.getId());
+        }
+
+        void quitar(ProductoResponseDTO producto) {
+            double precio = producto.getPrecio();
+            porPrecio.quitar(precio, null, producto.getId());
+            porStock.quitar(producto.getStock(), null, producto.getId());
+            porNombre.quitar(0, producto.getNombre(), producto.getId());
+        }
+
+        List<ProductoResponseDTO> consultar(double minimo, double maximo, OrdenCategoria orden, int limite) {
+            lock.readLock().lock();
+            try {
+                int enRango = porPrecio.contarEntre(minimo, maximo);
+                if (enRango == 0) {
+                    return List.of();
+                }
+                List<ProductoResponseDTO> resultado = new ArrayList<>(Math.min(enRango, limite));
+                if (orden == OrdenCategoria.PRECIO) {
+                    porPrecio.recorrerDesde(minimo, (id, precio) -> precio <= maximo
+                            && resultado.add(productos.get(id)) && resultado.size() < limite);
+                    return resultado;
+                }
+                // Recorrer la lista ordenada filtrando por precio visita unas limite * tamaño / enRango entradas;
+                // si el rango es angosto conviene más tomar el rango y quedarse con los k primeros
+                ListaOrdenada lista = orden == OrdenCategoria.STOCK ? porStock : porNombre;
+                if ((long) limite * lista.tamanio() <= (long) enRango * enRango) {
+                    lista.recorrer((id, precio) -> {
+                        if (precio >= minimo && precio <= maximo) {
+                            resultado.add(productos.get(id));
+                        }
+                        return resultado.size() < limite;
+                    });
+                    return resultado;
+                }
+                return primerosDelRango(minimo, maximo, orden == OrdenCategoria.STOCK ? POR_STOCK : POR_NOMBRE,
+                        limite);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Top-k del rango de precios con un heap de tamaño k (el peor de los k elegidos arriba)
+        private List<ProductoResponseDTO> primerosDelRango(double minimo, double maximo,
+                                                           Comparator<ProductoResponseDTO> comparador, int limite) {
+            PriorityQueue<ProductoResponseDTO> elegidos = new PriorityQueue<>(limite, comparador.reversed());
+            porPrecio.recorrerDesde(minimo, (id, precio) -> {
+                if (precio > maximo) {
+                    return false;
+                }
+                ProductoResponseDTO producto = productos.get(id);
+                if (elegidos.size() < limite) {
+                    elegidos.add(producto);
+                } else if (comparador.compare(producto, elegidos.peek()) < 0) {
+                    elegidos.poll();
+                    elegidos.add(producto);
+                }
+                return true;
+            });
+            List<ProductoResponseDTO> resultado = new ArrayList<>(elegidos);
+            resultado.sort(comparador);
+            return resultado;
+        }
+    }
+}
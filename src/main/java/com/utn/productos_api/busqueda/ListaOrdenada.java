@@ -0,0 +1,275 @@
+package com.utn.productos_api.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Productos de una categoría ordenados por (clave, nombre, id) en arreglos paralelos de primitivos: el precio y el
+// stock no se guardan como Double/Integer, y el comienzo de un rango se encuentra con búsquedas binarias.
+// La lista por nombre usa clave 0 para todos y ordena por nombre; las numéricas no guardan nombres.
+// Los arreglos están partidos en bloques de hasta TAMANIO_BLOQUE entradas (como las hojas de un B+-tree): un alta o
+// una baja solo desplaza entradas dentro de su bloque, así el costo no crece con el tamaño de la categoría.
+// No es segura para hilos: la protege el lock de su partición en IndiceCategorias.
+final class ListaOrdenada {
+
+    private static final int TAMANIO_BLOQUE = 512;
+    // Al construir en bloque se deja lugar libre en cada bloque para las altas siguientes
+    private static final int LLENADO_INICIAL = TAMANIO_BLOQUE * 3 / 4;
+
+    // Recibe cada entrada en orden; devuelve false para cortar el recorrido
+    interface Visitante {
+        boolean visitar(long id, double precio);
+    }
+
+    private final boolean porNombre;
+    private final List<Bloque> bloques = new ArrayList<>();
+    private int tamanio;
+
+    private ListaOrdenada(boolean porNombre) {
+        this.porNombre = porNombre;
+    }
+
+    static ListaOrdenada vacia(boolean porNombre) {
+        ListaOrdenada lista = new ListaOrdenada(porNombre);
+        lista.bloques.add(lista.new Bloque());
+        return lista;
+    }
+
+    // Construcción en bloque al arrancar: se ordena una vez en lugar de insertar de a uno
+    static ListaOrdenada construir(boolean porNombre, double[] claves, String[] nombres, double[] precios,
+                                   long[] ids, int cantidad) {
+        Integer[] orden = new Integer[cantidad];
+        Arrays.setAll(orden, i -> i);
+        Comparator<Integer> comparador = Comparator.comparingDouble(i -> claves[i]);
+        if (porNombre) {
+            comparador = comparador.thenComparing(i -> nombres[i], ListaOrdenada::compararNombres);
+        }
+        Arrays.sort(orden, comparador.thenComparingLong(i -> ids[i]));
+
+        ListaOrdenada lista = vacia(porNombre);
+        Bloque bloque = lista.bloques.get(0);
+        for (int origen : orden) {
+            if (bloque.tamanio == LLENADO_INICIAL) {
+                bloque = lista.new Bloque();
+                lista.bloques.add(bloque);
+            }
+            bloque.poner(bloque.tamanio++, claves[origen], porNombre ? nombres[origen] : null,
+                    precios[origen], ids[origen]);
+        }
+        lista.tamanio = cantidad;
+        return lista;
+    }
+
+    void insertar(double clave, String nombre, double precio, long id) {
+        int indice = bloqueDe(clave, nombre, id);
+        Bloque bloque = bloques.get(indice);
+        int posicion = bloque.buscar(clave, nombre, id);
+        if (bloque.tamanio == TAMANIO_BLOQUE) {
+            Bloque siguiente = bloque.partir();
+            bloques.add(indice + 1, siguiente);
+            if (posicion > bloque.tamanio) {
+                posicion -= bloque.tamanio;
+                bloque = siguiente;
+            }
+        }
+        bloque.insertar(posicion, clave, nombre, precio, id);
+        tamanio++;
+    }
+
+    // Quita la entrada con exactamente esa clave, nombre e id; devuelve false si no estaba
+    boolean quitar(double clave, String nombre, long id) {
+        int indice = bloqueDe(clave, nombre, id);
+        Bloque bloque = bloques.get(indice);
+        int posicion = bloque.buscar(clave, nombre, id);
+        if (posicion == bloque.tamanio || bloque.ids[posicion] != id) {
+            return false;
+        }
+        bloque.quitar(posicion);
+        if (bloque.tamanio == 0 && bloques.size() > 1) {
+            bloques.remove(indice);
+        }
+        tamanio--;
+        return true;
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    // Todas las entradas en orden
+    void recorrer(Visitante visitante) {
+        recorrerDesde(0, 0, visitante);
+    }
+
+    // Entradas con clave >= clave, en orden
+    void recorrerDesde(double clave, Visitante visitante) {
+        long inicio = ubicar(clave, false);
+        recorrerDesde((int) (inicio >>> 32), (int) inicio, visitante);
+    }
+
+    // Cantidad de entradas con clave en [minimo, maximo]; recorre solo los tamaños de los bloques intermedios
+    int contarEntre(double minimo, double maximo) {
+        if (maximo < minimo) {
+            return 0;
+        }
+        long desde = ubicar(minimo, false);
+        long hasta = ubicar(maximo, true);
+        int bloqueDesde = (int) (desde >>> 32);
+        int bloqueHasta = (int) (hasta >>> 32);
+        if (bloqueDesde == bloqueHasta) {
+            return (int) hasta - (int) desde;
+        }
+        int cantidad = bloques.get(bloqueDesde).tamanio - (int) desde + (int) hasta;
+        for (int i = bloqueDesde + 1; i < bloqueHasta; i++) {
+            cantidad += bloques.get(i).tamanio;
+        }
+        return cantidad;
+    }
+
+    // Métodos auxiliares
+    private void recorrerDesde(int indice, int posicion, Visitante visitante) {
+        for (int b = indice; b < bloques.size(); b++) {
+            Bloque bloque = bloques.get(b);
+            for (int i = b == indice ? posicion : 0; i < bloque.tamanio; i++) {
+                if (!visitante.visitar(bloque.ids[i], bloque.precios[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Primera entrada con clave >= clave (o > clave si posterior), como (bloque << 32 | posición); si no hay
+    // ninguna, la posición siguiente a la última del último bloque
+    private long ubicar(double clave, boolean posterior) {
+        int bajo = 0;
+        int alto = bloques.size() - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            Bloque bloque = bloques.get(medio);
+            double ultima = bloque.claves[bloque.tamanio - 1];
+            if (posterior ? ultima <= clave : ultima < clave) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        Bloque bloque = bloques.get(bajo);
+        int inicio = 0;
+        int fin = bloque.tamanio;
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (posterior ? bloque.claves[medio] <= clave : bloque.claves[medio] < clave) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return ((long) bajo << 32) | inicio;
+    }
+
+    // Bloque donde va (o está) la entrada: el primero cuya última entrada no es menor; si no hay, el último
+    private int bloqueDe(double clave, String nombre, long id) {
+        int bajo = 0;
+        int alto = bloques.size() - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            Bloque bloque = bloques.get(medio);
+            if (bloque.comparar(bloque.tamanio - 1, clave, nombre, id) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private static int compararNombres(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    // Tramo ordenado de la lista; solo el único bloque de una lista vacía puede quedar sin entradas
+    private final class Bloque {
+
+        private final double[] claves = new double[TAMANIO_BLOQUE];
+        private final String[] nombres = porNombre ? new String[TAMANIO_BLOQUE] : null;
+        private final double[] precios = new double[TAMANIO_BLOQUE];
+        private final long[] ids = new long[TAMANIO_BLOQUE];
+        private int tamanio;
+
+        void poner(int posicion, double clave, String nombre, double precio, long id) {
+            claves[posicion] = clave;
+            if (nombres != null) {
+                nombres[posicion] = nombre;
+            }
+            precios[posicion] = precio;
+            ids[posicion] = id;
+        }
+
+        void insertar(int posicion, double clave, String nombre, double precio, long id) {
+            desplazar(posicion, posicion + 1, tamanio - posicion);
+            poner(posicion, clave, nombre, precio, id);
+            tamanio++;
+        }
+
+        void quitar(int posicion) {
+            desplazar(posicion + 1, posicion, tamanio - posicion - 1);
+            tamanio--;
+            if (nombres != null) {
+                nombres[tamanio] = null;
+            }
+        }
+
+        // Pasa la segunda mitad a un bloque nuevo y lo devuelve
+        Bloque partir() {
+            Bloque siguiente = new Bloque();
+            int mitad = tamanio / 2;
+            int cantidad = tamanio - mitad;
+            System.arraycopy(claves, mitad, siguiente.claves, 0, cantidad);
+            System.arraycopy(precios, mitad, siguiente.precios, 0, cantidad);
+            System.arraycopy(ids, mitad, siguiente.ids, 0, cantidad);
+            if (nombres != null) {
+                System.arraycopy(nombres, mitad, siguiente.nombres, 0, cantidad);
+                Arrays.fill(nombres, mitad, tamanio, null);
+            }
+            siguiente.tamanio = cantidad;
+            tamanio = mitad;
+            return siguiente;
+        }
+
+        // Primera posición cuya entrada no es menor que (clave, nombre, id)
+        int buscar(double clave, String nombre, long id) {
+            int bajo = 0;
+            int alto = tamanio;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (comparar(medio, clave, nombre, id) < 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        int comparar(int posicion, double clave, String nombre, long id) {
+            int resultado = Double.compare(claves[posicion], clave);
+            if (resultado == 0 && nombres != null) {
+                resultado = compararNombres(nombres[posicion], nombre);
+            }
+            return resultado != 0 ? resultado : Long.compare(ids[posicion], id);
+        }
+
+        private void desplazar(int desde, int hacia, int cantidad) {
+            System.arraycopy(claves, desde, claves, hacia, cantidad);
+            System.arraycopy(precios, desde, precios, hacia, cantidad);
+            System.arraycopy(ids, desde, ids, hacia, cantidad);
+            if (nombres != null) {
+                System.arraycopy(nombres, desde, nombres, hacia, cantidad);
+            }
+        }
+    }
+}
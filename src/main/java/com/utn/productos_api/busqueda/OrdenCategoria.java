@@ -0,0 +1,34 @@
+package com.utn.productos_api.busqueda;
+
+import com.utn.productos_api.exception.OrdenInvalidoException;
+
+import java.util.Locale;
+
+// Criterios de orden de GET /api/productos/categoria/{categoria}; siempre ascendente y con el ID como desempate
+public enum OrdenCategoria {
+    PRECIO("precio"),
+    STOCK("stock"),
+    NOMBRE("nombre");
+
+    private final String campo;
+
+    OrdenCategoria(String campo) {
+        this.campo = campo;
+    }
+
+    // Nombre de la propiedad de Producto, para el ORDER BY de la consulta de respaldo
+    public String getCampo() {
+        return campo;
+    }
+
+    public static OrdenCategoria desde(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return PRECIO;
+        }
+        try {
+            return valueOf(texto.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new OrdenInvalidoException("Orden inválido: " + texto + " (se admite precio, stock o nombre)", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.utn.productos_api.busqueda;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Separa un texto en términos normalizados: minúsculas y sin tildes ni diéresis,
+// para que "Café", "cafe" y "CAFÉ" coincidan.
+final class Tokenizador {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    private Tokenizador() {
+    }
+
+    static String normalizar(String texto) {
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> tokenizar(String texto) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (texto == null || texto.isBlank()) {
+            return tokens;
+        }
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,48 @@
+package com.utn.productos_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.utn.productos_api.dto.EstadisticasCategoriaDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.replica.RuteoLecturas;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+// Estadísticas por categoría guardadas en memoria. Cada escritura descarta solo las categorías que tocó
+// (después del commit) y la próxima consulta recalcula únicamente esas con un GROUP BY; el resto se responde
+// sin ir a la base, así que una consulta cuesta O(categorías) y no O(productos).
+// El mínimo y el máximo no se pueden mantener con contadores cuando se borra un producto, por eso se recalcula.
+@Component
+public class EstadisticasCache {
+
+    private final Cache<Categoria, EstadisticasCategoriaDTO> porCategoria = Caffeine.newBuilder()
+            .maximumSize(Categoria.values().length)
+            .build();
+
+    public EstadisticasCategoriaDTO obtener(Categoria categoria,
+                                            Function<Categoria, EstadisticasCategoriaDTO> cargador) {
+        // Como en ProductoCache, lo que queda en caché se carga de la primaria
+        return porCategoria.get(categoria, clave -> RuteoLecturas.desdePrimaria(() -> cargador.apply(clave)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        if (evento.categoriaDesconocida()) {
+            porCategoria.invalidateAll();
+            return;
+        }
+        if (evento.getCategoriaAnterior() != null) {
+            porCategoria.invalidate(evento.getCategoriaAnterior());
+        }
+        if (evento.getCategoria() != null) {
+            porCategoria.invalidate(evento.getCategoria());
+        }
+    }
+
+    public void invalidarTodo() {
+        porCategoria.invalidateAll();
+    }
+}
@@ -0,0 +1,191 @@
+package com.utn.productos_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.utn.productos_api.dto.CacheEstadisticasDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.replica.RuteoLecturas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Caché de lectura (Caffeine, desalojo W-TinyLFU) de DTOs inmutables por ID y por categoría.
+// Las entradas se cargan con Cache.get(clave, cargador), que es atómico por clave: una invalidación que llega
+// mientras se carga una entrada espera a que termine la carga y luego la descarta, por lo que una lectura
+// concurrente con un commit nunca deja un valor viejo en la caché.
+// Las cargas de varios IDs a la vez no pasan por Cache.get: se apoyan en un contador de invalidaciones (ver
+// obtenerVariosPorId) para no conservar lo leído si hubo una invalidación mientras se consultaba la base.
+// También recuerda por un rato los IDs que no existen (caché negativa), así un bot que prueba IDs al azar recibe
+// su 404 sin llegar a la base; el alta de un producto borra su ID de esa lista.
+// Con réplica de lectura, lo que se guarda en la caché se carga siempre de la primaria (ver RuteoLecturas).
+@Component
+public class ProductoCache {
+
+    private final boolean habilitada;
+    private final Cache<Long, ProductoResponseDTO> porId;
+    private final Cache<Categoria, List<ProductoResponseDTO>> porCategoria;
+    private final Cache<Long, Boolean> inexistentes;
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    public ProductoCache(@Value("${productos.cache.habilitada:true}") boolean habilitada,
+                         @Value("${productos.cache.max-entradas:10000}") long maxEntradas,
+                         @Value("${productos.cache.ttl:10m}") Duration ttl,
+                         @Value("${productos.cache.ttl-inexistentes:30s}") Duration ttlInexistentes) {
+        this.habilitada = habilitada;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Las listas por categoría pesan tanto como productos contienen, con el mismo presupuesto total
+        this.porCategoria = Caffeine.newBuilder()
+                .maximumWeight(maxEntradas)
+                .weigher((Categoria categoria, List<ProductoResponseDTO> productos) -> Math.max(1, productos.size()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.inexistentes = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttlInexistentes)
+                .recordStats()
+                .build();
+    }
+
+    // Devuelve null si el producto no existe; el cargador también devuelve null en ese caso
+    public ProductoResponseDTO obtenerPorId(Long id, Function<Long, ProductoResponseDTO> cargador) {
+        if (!habilitada) {
+            return cargador.apply(id);
+        }
+        if (inexistentes.getIfPresent(id) != null) {
+            return null;
+        }
+        long invalidacionesAntes = invalidaciones.get();
+        ProductoResponseDTO producto = porId.get(id,
+                clave -> RuteoLecturas.desdePrimaria(() -> cargador.apply(clave)));
+        if (producto == null) {
+            recordarInexistente(id, invalidacionesAntes);
+        }
+        return producto;
+    }
+
+    public boolean esInexistente(Long id) {
+        return habilitada && inexistentes.getIfPresent(id) != null;
+    }
+
+    // Categoría del producto si está en caché, para no consultarla antes de una baja
+    public Categoria categoriaEnCache(Long id) {
+        ProductoResponseDTO producto = habilitada ? porId.getIfPresent(id) : null;
+        return producto != null ? producto.getCategoria() : null;
+    }
+
+    // Los IDs que no están en caché se cargan juntos con una sola llamada al cargador; los que el cargador no
+    // devuelve (inexistentes) quedan fuera del resultado y no se cachean
+    public Map<Long, ProductoResponseDTO> obtenerVariosPorId(Collection<Long> ids,
+                                                            Function<Set<Long>, Map<Long, ProductoResponseDTO>> cargador) {
+        if (!habilitada) {
+            return cargador.apply(new LinkedHashSet<>(ids));
+        }
+        Map<Long, ProductoResponseDTO> resultado = new HashMap<>();
+        Set<Long> faltantes = new LinkedHashSet<>();
+        for (Long id : ids) {
+            ProductoResponseDTO producto = porId.getIfPresent(id);
+            if (producto != null) {
+                resultado.put(id, producto);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            long invalidacionesAntes = invalidaciones.get();
+            Map<Long, ProductoResponseDTO> cargados = RuteoLecturas.desdePrimaria(() -> cargador.apply(faltantes));
+            porId.putAll(cargados);
+            faltantes.stream()
+                    .filter(id -> !cargados.containsKey(id))
+                    .forEach(id -> recordarInexistente(id, invalidacionesAntes));
+            // Si hubo una invalidación durante la carga, lo leído puede ser anterior al commit: se descarta de la
+            // caché (la respuesta igual lo usa, como cualquier lectura concurrente con una escritura)
+            if (invalidaciones.get() != invalidacionesAntes) {
+                porId.invalidateAll(cargados.keySet());
+            }
+            resultado.putAll(cargados);
+        }
+        return resultado;
+    }
+
+    // Igual que en las cargas múltiples: si hubo una invalidación (por ejemplo, el alta de ese mismo ID) mientras se
+    // lo buscaba, no se lo recuerda como inexistente
+    private void recordarInexistente(Long id, long invalidacionesAntes) {
+        inexistentes.put(id, Boolean.TRUE);
+        if (invalidaciones.get() != invalidacionesAntes) {
+            inexistentes.invalidate(id);
+        }
+    }
+
+    public List<ProductoResponseDTO> obtenerPorCategoria(Categoria categoria,
+                                                         Function<Categoria, List<ProductoResponseDTO>> cargador) {
+        if (!habilitada) {
+            return cargador.apply(categoria);
+        }
+        return porCategoria.get(categoria,
+                clave -> List.copyOf(RuteoLecturas.desdePrimaria(() -> cargador.apply(clave))));
+    }
+
+    // Invalidación exacta después del commit de cada escritura
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        if (evento.categoriaDesconocida()) {
+            invalidaciones.incrementAndGet();
+            porId.invalidate(evento.getProductoId());
+            porCategoria.invalidateAll();
+            return;
+        }
+        invalidar(evento.getProductoId(), evento.getCategoriaAnterior(), evento.getCategoria());
+    }
+
+    public void invalidar(Long id, Categoria... categorias) {
+        // Se cuenta antes de invalidar, para que las cargas que no usan Cache.get (varios IDs, inexistentes) vean el
+        // cambio si su put llegó después
+        invalidaciones.incrementAndGet();
+        if (id != null) {
+            porId.invalidate(id);
+            inexistentes.invalidate(id);
+        }
+        for (Categoria categoria : categorias) {
+            if (categoria != null) {
+                porCategoria.invalidate(categoria);
+            }
+        }
+    }
+
+    public void invalidarTodo() {
+        invalidaciones.incrementAndGet();
+        porId.invalidateAll();
+        porCategoria.invalidateAll();
+        inexistentes.invalidateAll();
+    }
+
+    public List<CacheEstadisticasDTO> estadisticas() {
+        return List.of(
+                estadisticas("productosPorId", porId.estimatedSize(), porId.stats()),
+                estadisticas("productosPorCategoria", porCategoria.estimatedSize(), porCategoria.stats()),
+                estadisticas("productosInexistentes", inexistentes.estimatedSize(), inexistentes.stats()));
+    }
+
+    private static CacheEstadisticasDTO estadisticas(String nombre, long entradas, CacheStats stats) {
+        return new CacheEstadisticasDTO(nombre, entradas, stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+}
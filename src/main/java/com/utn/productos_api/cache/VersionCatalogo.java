@@ -0,0 +1,72 @@
+package com.utn.productos_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.utn.productos_api.dto.VersionColeccionDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.replica.RuteoLecturas;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Versiones agregadas del catálogo completo y de cada categoría, para responder GET condicionales sin
+// consultar la base en cada revalidación. Se invalidan después del commit y se cargan de la primaria, igual que
+// ProductoCache.
+@Component
+public class VersionCatalogo {
+
+    // Optional.empty() representa al catálogo completo
+    private final Cache<Optional<Categoria>, VersionColeccionDTO> versiones = Caffeine.newBuilder()
+            .maximumSize(Categoria.values().length + 1)
+            .build();
+
+    // MAX(modificado_en) no avanza cuando un producto sale de la colección (baja o cambio de categoría),
+    // así que Last-Modified nunca es anterior a la última salida registrada en esta instancia
+    private volatile Instant ultimaSalida = Instant.now();
+
+    public VersionColeccionDTO obtenerTotal(Supplier<VersionColeccionDTO> cargador) {
+        return obtener(Optional.empty(), cargador);
+    }
+
+    public VersionColeccionDTO obtenerPorCategoria(Categoria categoria, Supplier<VersionColeccionDTO> cargador) {
+        return obtener(Optional.of(categoria), cargador);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        boolean salida = evento.getTipo() == TipoCambio.ELIMINADO
+                || (evento.getCategoriaAnterior() != null && evento.getCategoriaAnterior() != evento.getCategoria());
+        if (salida) {
+            ultimaSalida = Instant.now();
+        }
+        if (evento.categoriaDesconocida()) {
+            versiones.invalidateAll();
+            return;
+        }
+        versiones.invalidate(Optional.empty());
+        if (evento.getCategoriaAnterior() != null) {
+            versiones.invalidate(Optional.of(evento.getCategoriaAnterior()));
+        }
+        if (evento.getCategoria() != null) {
+            versiones.invalidate(Optional.of(evento.getCategoria()));
+        }
+    }
+
+    public void invalidarTodo() {
+        versiones.invalidateAll();
+    }
+
+    private VersionColeccionDTO obtener(Optional<Categoria> clave, Supplier<VersionColeccionDTO> cargador) {
+        VersionColeccionDTO version = versiones.get(clave, k -> RuteoLecturas.desdePrimaria(cargador));
+        Instant salida = ultimaSalida;
+        if (version.getUltimaModificacion() == null || version.getUltimaModificacion().isBefore(salida)) {
+            return version.conUltimaModificacion(salida);
+        }
+        return version;
+    }
+}
@@ -0,0 +1,61 @@
+package com.utn.productos_api.cambios;
+
+import com.utn.productos_api.dto.CambioProductoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+// Buffer circular de cambios con número de secuencia creciente (empieza en 1).
+// Las escrituras se serializan; las lecturas no toman locks: cada entrada guarda su propia secuencia, así que
+// un lector detecta que la posición fue pisada por una entrada más nueva y sabe que se quedó atrás.
+final class BufferCambios {
+
+    private final AtomicReferenceArray<CambioProductoDTO> entradas;
+    private final int capacidad;
+    private volatile long ultima;
+
+    BufferCambios(int capacidad) {
+        this.capacidad = capacidad;
+        this.entradas = new AtomicReferenceArray<>(capacidad);
+    }
+
+    synchronized CambioProductoDTO agregar(LongFunction<CambioProductoDTO> fabrica) {
+        long secuencia = ultima + 1;
+        CambioProductoDTO cambio = fabrica.apply(secuencia);
+        entradas.set(posicion(secuencia), cambio);
+        // Se publica la secuencia después de la entrada: quien lee 'ultima' ya ve la entrada escrita
+        ultima = secuencia;
+        return cambio;
+    }
+
+    long ultimaSecuencia() {
+        return ultima;
+    }
+
+    long primeraDisponible() {
+        return Math.max(1, ultima - capacidad + 1);
+    }
+
+    // Hasta 'maximo' cambios con secuencia mayor a 'desde', o null si alguno de ellos ya fue sobrescrito
+    List<CambioProductoDTO> leerDesde(long desde, int maximo) {
+        long hasta = Math.min(ultima, desde + maximo);
+        if (hasta <= desde) {
+            return List.of();
+        }
+        List<CambioProductoDTO> cambios = new ArrayList<>((int) (hasta - desde));
+        for (long secuencia = desde + 1; secuencia <= hasta; secuencia++) {
+            CambioProductoDTO cambio = entradas.get(posicion(secuencia));
+            if (cambio == null || cambio.getSecuencia() != secuencia) {
+                return null;
+            }
+            cambios.add(cambio);
+        }
+        return cambios;
+    }
+
+    private int posicion(long secuencia) {
+        return (int) (secuencia % capacidad);
+    }
+}
@@ -0,0 +1,230 @@
+package com.utn.productos_api.cambios;
+
+import com.utn.productos_api.dto.CambioProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.replica.RuteoLecturas;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Feed de cambios de productos por Server-Sent Events.
+// Cada cambio confirmado se agrega una sola vez al buffer circular; los suscriptores no tienen cola propia,
+// solo un cursor sobre el buffer, así que la memoria no crece con la cantidad de suscriptores.
+// Quien escribe solo agrega al buffer y marca a los suscriptores como pendientes: el envío lo hace un pool
+// aparte. Un suscriptor tan lento que el buffer da la vuelta y pisa lo que todavía no recibió se desconecta
+// (evento "desbordado") y puede reconectarse con Last-Event-ID mientras su posición siga en el buffer.
+@Component
+public class DifusorCambios implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DifusorCambios.class);
+
+    private static final long TIEMPO_RECONEXION_MS = 3000;
+
+    private final ProductoRepository productoRepository;
+    private final BufferCambios buffer;
+    private final long timeoutMs;
+    private final int cambiosPorEnvio;
+    private final ExecutorService envio;
+    private final ScheduledExecutorService latidos;
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+
+    public DifusorCambios(ProductoRepository productoRepository,
+                          @Value("${productos.cambios.capacidad:10000}") int capacidad,
+                          @Value("${productos.cambios.hilos-envio:16}") int hilosEnvio,
+                          @Value("${productos.cambios.cambios-por-envio:100}") int cambiosPorEnvio,
+                          @Value("${productos.cambios.timeout:30m}") Duration timeout,
+                          @Value("${productos.cambios.latido:15s}") Duration latido) {
+        this.productoRepository = productoRepository;
+        this.buffer = new BufferCambios(capacidad);
+        this.timeoutMs = timeout.toMillis();
+        this.cambiosPorEnvio = cambiosPorEnvio;
+        this.envio = Executors.newFixedThreadPool(hilosEnvio, tarea -> {
+            Thread hilo = new Thread(tarea, "cambios-envio");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.latidos = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "cambios-latido");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Comentarios periódicos para que proxies y balanceadores no corten las conexiones inactivas
+        latidos.scheduleAtFixedRate(() -> suscriptores.forEach(Suscriptor::latir),
+                latido.toMillis(), latido.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        ProductoResponseDTO producto = evento.getProducto();
+        if (producto == null && evento.getTipo() != TipoCambio.ELIMINADO) {
+            // Cambios de stock hechos con UPDATE directo: se relee la fila ya confirmada (en la primaria)
+            producto = RuteoLecturas.desdePrimaria(() -> productoRepository.findResponseById(evento.getProductoId()))
+                    .orElse(null);
+        }
+        ProductoResponseDTO estado = producto;
+        buffer.agregar(secuencia -> new CambioProductoDTO(secuencia, evento.getTipo(), evento.getProductoId(),
+                evento.getCampos(), estado != null ? estado.getVersion() : null, estado, Instant.now()));
+        suscriptores.forEach(Suscriptor::programar);
+    }
+
+    // Nueva suscripción. Sin 'desde' se reciben solo los cambios posteriores a la conexión.
+    public SseEmitter suscribir(Long desde) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        long ultima = buffer.ultimaSecuencia();
+        long cursor = desde != null ? desde : ultima;
+        Long reinicio = null;
+        // La posición pedida ya no está en el buffer, o es de antes de un reinicio del servidor
+        if (cursor < buffer.primeraDisponible() - 1 || cursor > ultima) {
+            reinicio = cursor > ultima ? ultima : buffer.primeraDisponible() - 1;
+            cursor = reinicio;
+        }
+        Suscriptor suscriptor = new Suscriptor(emitter, cursor, reinicio);
+        emitter.onCompletion(suscriptor::cerrar);
+        emitter.onTimeout(suscriptor::cerrar);
+        emitter.onError(error -> suscriptor.cerrar());
+        suscriptores.add(suscriptor);
+        suscriptor.programar();
+        return emitter;
+    }
+
+    public int cantidadSuscriptores() {
+        return suscriptores.size();
+    }
+
+    @Override
+    public void destroy() {
+        latidos.shutdownNow();
+        envio.shutdownNow();
+        suscriptores.forEach(Suscriptor::completar);
+    }
+
+    private final class Suscriptor implements Runnable {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean programado = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile Long reinicio;
+        private volatile boolean iniciado;
+        private volatile boolean latidoPendiente;
+        private volatile boolean cerrado;
+
+        private Suscriptor(SseEmitter emitter, long cursor, Long reinicio) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.reinicio = reinicio;
+        }
+
+        void latir() {
+            latidoPendiente = true;
+            programar();
+        }
+
+        // Como mucho una tarea de envío por suscriptor a la vez: los envíos de un mismo suscriptor salen en orden
+        void programar() {
+            if (!cerrado && programado.compareAndSet(false, true)) {
+                try {
+                    envio.execute(this);
+                } catch (RejectedExecutionException e) {
+                    programado.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                enviarPendientes();
+            } catch (IOException | IllegalStateException e) {
+                // El cliente cerró la conexión o el emitter ya se completó
+                cerrar();
+            } finally {
+                programado.set(false);
+            }
+            // Un cambio pudo llegar entre el último envío y la liberación de 'programado'
+            if (!cerrado && (buffer.ultimaSecuencia() > cursor || latidoPendiente)) {
+                programar();
+            }
+        }
+
+        private void enviarPendientes() throws IOException {
+            if (!iniciado) {
+                enviar(SseEmitter.event().reconnectTime(TIEMPO_RECONEXION_MS).comment("conectado"));
+                iniciado = true;
+            }
+            if (reinicio != null) {
+                // El cliente perdió cambios: debe volver a leer el catálogo y seguir desde esta secuencia
+                enviar(SseEmitter.event().name("reinicio").id(String.valueOf(reinicio))
+                        .data(Map.of("secuencia", reinicio), MediaType.APPLICATION_JSON));
+                reinicio = null;
+            }
+            if (latidoPendiente) {
+                latidoPendiente = false;
+                enviar(SseEmitter.event().comment("latido"));
+            }
+            while (!cerrado) {
+                List<CambioProductoDTO> cambios = buffer.leerDesde(cursor, cambiosPorEnvio);
+                if (cambios == null) {
+                    // Suscriptor demasiado lento: se lo desconecta en lugar de frenar a los demás
+                    log.debug("Suscriptor del feed de cambios desconectado por atraso (cursor {})", cursor);
+                    enviar(SseEmitter.event().name("desbordado")
+                            .data(Map.of("secuencia", cursor), MediaType.APPLICATION_JSON));
+                    completar();
+                    return;
+                }
+                for (CambioProductoDTO cambio : cambios) {
+                    enviar(SseEmitter.event()
+                            .id(String.valueOf(cambio.getSecuencia()))
+                            .name(cambio.getTipo().name())
+                            .data(cambio, MediaType.APPLICATION_JSON));
+                    cursor = cambio.getSecuencia();
+                }
+                if (cambios.size() < cambiosPorEnvio) {
+                    return;
+                }
+            }
+        }
+
+        // Los envíos y el cierre se excluyen: cuando el contenedor avisa que la conexión terminó (onError,
+        // onCompletion) puede reciclar la respuesta para otra petición, así que después no se escribe más en ella
+        private synchronized void enviar(SseEmitter.SseEventBuilder evento) throws IOException {
+            if (cerrado) {
+                throw new IllegalStateException("Suscriptor cerrado");
+            }
+            emitter.send(evento);
+        }
+
+        synchronized void completar() {
+            if (!cerrado) {
+                emitter.complete();
+            }
+            cerrar();
+        }
+
+        synchronized void cerrar() {
+            cerrado = true;
+            suscriptores.remove(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.utn.productos_api.cluster;
+
+import com.utn.productos_api.cache.EstadisticasCache;
+import com.utn.productos_api.cache.ProductoCache;
+import com.utn.productos_api.cache.VersionCatalogo;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.ProductoCambiadoRemotoEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bus de invalidaciones entre nodos. Cada cambio confirmado en este nodo se difunde a los demás después del commit;
+// cada cambio recibido de otro nodo se publica acá como ProductoCambiadoRemotoEvent, así las cachés, el índice de
+// búsqueda y el feed de cambios locales se actualizan igual que con un cambio propio.
+// Desactualización acotada aunque el transporte pierda mensajes: cada nodo numera lo que envía y manda un latido
+// con su última secuencia cada 'latido'. Un receptor que detecta un hueco vacía todas sus cachés, así una
+// invalidación perdida deja datos viejos como mucho hasta el siguiente mensaje o latido de ese nodo.
+// Si un nodo se reinicia con el mismo nombre llega con otra época y la secuencia desde 1: el receptor empieza a
+// seguirlo de nuevo y vacía sus cachés, porque no sabe qué se perdió alrededor del reinicio. Lo mismo si la secuencia
+// de una época retrocede.
+@Component
+@ConditionalOnExpression("'${productos.cluster.transporte:ninguno}' != 'ninguno'")
+public class BusInvalidaciones implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BusInvalidaciones.class);
+
+    private final String nodo;
+    private final long epoca = ThreadLocalRandom.current().nextLong();
+    private final TransporteInvalidaciones transporte;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductoCache productoCache;
+    private final VersionCatalogo versionCatalogo;
+    private final EstadisticasCache estadisticasCache;
+
+    // Secuencia de los mensajes enviados; se incrementa y envía bajo el mismo lock para que salgan en orden
+    private long secuencia;
+    private final Map<String, Recibida> ultimaRecibida = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService latidos;
+
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder recibidos = new LongAdder();
+    private final LongAdder huecos = new LongAdder();
+
+    public BusInvalidaciones(@Value("${productos.cluster.nodo:}") String nodo,
+                             @Value("${productos.cluster.latido:1s}") Duration latido,
+                             TransporteInvalidaciones transporte,
+                             ApplicationEventPublisher eventPublisher,
+                             ProductoCache productoCache,
+                             VersionCatalogo versionCatalogo,
+                             EstadisticasCache estadisticasCache) {
+        this.nodo = nodo.isBlank() ? UUID.randomUUID().toString() : nodo;
+        this.transporte = transporte;
+        this.eventPublisher = eventPublisher;
+        this.productoCache = productoCache;
+        this.versionCatalogo = versionCatalogo;
+        this.estadisticasCache = estadisticasCache;
+        transporte.escuchar(this::recibir);
+        this.latidos = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "invalidaciones-latido");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        latidos.scheduleAtFixedRate(this::enviarLatido, latido.toMillis(), latido.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Bus de invalidaciones iniciado en el nodo {} ({})", this.nodo, transporte.getClass().getSimpleName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        // Lo que llegó de otro nodo no se vuelve a difundir
+        if (evento instanceof ProductoCambiadoRemotoEvent) {
+            return;
+        }
+        synchronized (this) {
+            transporte.enviar(new MensajeInvalidacion(nodo, epoca, ++secuencia, evento.getTipo(), evento.getProductoId(),
+                    evento.getCategoriaAnterior(), evento.getCategoria(), evento.getCampos()));
+        }
+        enviados.increment();
+    }
+
+    void recibir(MensajeInvalidacion mensaje) {
+        if (nodo.equals(mensaje.nodo())) {
+            return;
+        }
+        recibidos.increment();
+        // Un latido anuncia la última secuencia enviada; un cambio, la siguiente a la anterior
+        long esperada = mensaje.esLatido() ? mensaje.secuencia() : mensaje.secuencia() - 1;
+        boolean[] hueco = {false};
+        ultimaRecibida.compute(mensaje.nodo(), (origen, anterior) -> {
+            boolean reinicio = anterior != null
+                    && (anterior.epoca() != mensaje.epoca() || mensaje.secuencia() < anterior.secuencia());
+            if (reinicio) {
+                hueco[0] = true;
+                return new Recibida(mensaje.epoca(), mensaje.secuencia());
+            }
+            long previa = anterior != null ? anterior.secuencia() : 0L;
+            hueco[0] = previa < esperada;
+            return new Recibida(mensaje.epoca(), Math.max(previa, mensaje.secuencia()));
+        });
+        if (hueco[0]) {
+            huecos.increment();
+            log.debug("Se perdieron invalidaciones del nodo {}; se vacían las cachés locales", mensaje.nodo());
+            invalidarTodo();
+        }
+        if (!mensaje.esLatido()) {
+            eventPublisher.publishEvent(new ProductoCambiadoRemotoEvent(mensaje.nodo(), mensaje.tipo(),
+                    mensaje.productoId(), mensaje.categoriaAnterior(), mensaje.categoria(), mensaje.campos()));
+        }
+    }
+
+    private void invalidarTodo() {
+        productoCache.invalidarTodo();
+        versionCatalogo.invalidarTodo();
+        estadisticasCache.invalidarTodo();
+    }
+
+    private void enviarLatido() {
+        try {
+            synchronized (this) {
+                transporte.enviar(MensajeInvalidacion.latido(nodo, epoca, secuencia));
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo enviar el latido de invalidaciones", e);
+        }
+    }
+
+    public String getNodo() {
+        return nodo;
+    }
+
+    public long getEpoca() {
+        return epoca;
+    }
+
+    public long getEnviados() {
+        return enviados.sum();
+    }
+
+    public long getRecibidos() {
+        return recibidos.sum();
+    }
+
+    public long getHuecos() {
+        return huecos.sum();
+    }
+
+    @Override
+    public void destroy() {
+        latidos.shutdownNow();
+    }
+
+    private record Recibida(long epoca, long secuencia) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.utn.productos_api.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+// Transporte del bus de invalidaciones según productos.cluster.transporte:
+//   ninguno (por defecto) -> un solo nodo, sin bus
+//   local                 -> contextos de Spring en la misma JVM (tests)
+//   udp                   -> datagramas a la lista de nodos de productos.cluster.udp.nodos (host:puerto,...)
+@Configuration
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "productos.cluster.transporte", havingValue = "local")
+    public TransporteInvalidaciones transporteLocal(@Value("${productos.cluster.canal:productos}") String canal) {
+        return new TransporteLocal(canal);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "productos.cluster.transporte", havingValue = "udp")
+    public TransporteInvalidaciones transporteUdp(@Value("${productos.cluster.udp.puerto:7600}") int puerto,
+                                                  @Value("${productos.cluster.udp.nodos:}") String nodos) {
+        List<InetSocketAddress> direcciones = Arrays.stream(nodos.split(","))
+                .map(String::trim)
+                .filter(nodo -> !nodo.isEmpty())
+                .map(ClusterConfig::direccion)
+                .toList();
+        return new TransporteUdp(puerto, direcciones);
+    }
+
+    private static InetSocketAddress direccion(String nodo) {
+        int separador = nodo.lastIndexOf(':');
+        if (separador <= 0) {
+            throw new IllegalArgumentException("Nodo inválido en productos.cluster.udp.nodos: " + nodo);
+        }
+        return new InetSocketAddress(nodo.substring(0, separador), Integer.parseInt(nodo.substring(separador + 1)));
+    }
+}
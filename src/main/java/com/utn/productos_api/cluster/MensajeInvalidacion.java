@@ -0,0 +1,61 @@
+package com.utn.productos_api.cluster;
+
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.model.Categoria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// Mensaje del bus de invalidaciones. Cada nodo numera sus mensajes (secuencia) para que los demás detecten pérdidas;
+// los latidos (tipo null) no invalidan nada, solo anuncian la última secuencia enviada. La época es un número al azar
+// que cada nodo elige al arrancar: un nodo que se reinicia con el mismo nombre vuelve a numerar desde 1 en otra época.
+// Formato de texto compacto, una línea por mensaje:  v2|nodo|epoca|secuencia|tipo|id|categoriaAnterior|categoria|campos
+public record MensajeInvalidacion(String nodo,
+                                  long epoca,
+                                  long secuencia,
+                                  TipoCambio tipo,
+                                  Long productoId,
+                                  Categoria categoriaAnterior,
+                                  Categoria categoria,
+                                  List<String> campos) {
+
+    private static final String VERSION = "v2";
+    private static final String SEPARADOR = "|";
+
+    public static MensajeInvalidacion latido(String nodo, long epoca, long secuencia) {
+        return new MensajeInvalidacion(nodo, epoca, secuencia, null, null, null, null, List.of());
+    }
+
+    public boolean esLatido() {
+        return tipo == null;
+    }
+
+    public byte[] codificar() {
+        return String.join(SEPARADOR, VERSION, nodo, Long.toHexString(epoca), Long.toString(secuencia),
+                        texto(tipo), productoId != null ? productoId.toString() : "",
+                        texto(categoriaAnterior), texto(categoria), String.join(",", campos))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Lanza IllegalArgumentException si el mensaje no tiene el formato esperado
+    public static MensajeInvalidacion decodificar(byte[] datos, int largo) {
+        String[] partes = new String(datos, 0, largo, StandardCharsets.UTF_8).split("\\|", -1);
+        if (partes.length != 9 || !VERSION.equals(partes[0])) {
+            throw new IllegalArgumentException("Mensaje de invalidación con formato desconocido");
+        }
+        return new MensajeInvalidacion(
+                partes[1],
+                Long.parseUnsignedLong(partes[2], 16),
+                Long.parseLong(partes[3]),
+                partes[4].isEmpty() ? null : TipoCambio.valueOf(partes[4]),
+                partes[5].isEmpty() ? null : Long.valueOf(partes[5]),
+                partes[6].isEmpty() ? null : Categoria.valueOf(partes[6]),
+                partes[7].isEmpty() ? null : Categoria.valueOf(partes[7]),
+                partes[8].isEmpty() ? List.of() : Arrays.asList(partes[8].split(",")));
+    }
+
+    private static String texto(Enum<?> valor) {
+        return valor != null ? valor.name() : "";
+    }
+}
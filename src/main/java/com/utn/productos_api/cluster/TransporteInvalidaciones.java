@@ -0,0 +1,16 @@
+package com.utn.productos_api.cluster;
+
+import java.util.function.Consumer;
+
+// Medio por el que viajan las invalidaciones entre nodos. La entrega es "a lo sumo una vez": un transporte puede
+// perder mensajes, y BusInvalidaciones lo compensa con las secuencias y los latidos.
+public interface TransporteInvalidaciones extends AutoCloseable {
+
+    void enviar(MensajeInvalidacion mensaje);
+
+    // Se llama una sola vez, al arrancar el bus
+    void escuchar(Consumer<MensajeInvalidacion> receptor);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,44 @@
+package com.utn.productos_api.cluster;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+// Transporte dentro de la misma JVM: todos los contextos de Spring que usan el mismo canal se ven entre sí.
+// Sirve para tests con varios nodos en un solo proceso; cada mensaje se entrega en el hilo que lo envía.
+public class TransporteLocal implements TransporteInvalidaciones {
+
+    private static final Map<String, Set<Consumer<MensajeInvalidacion>>> CANALES = new ConcurrentHashMap<>();
+
+    private final String canal;
+    private volatile Consumer<MensajeInvalidacion> receptor;
+
+    public TransporteLocal(String canal) {
+        this.canal = canal;
+    }
+
+    @Override
+    public void enviar(MensajeInvalidacion mensaje) {
+        for (Consumer<MensajeInvalidacion> destino : CANALES.getOrDefault(canal, Set.of())) {
+            if (destino != receptor) {
+                destino.accept(mensaje);
+            }
+        }
+    }
+
+    @Override
+    public void escuchar(Consumer<MensajeInvalidacion> receptor) {
+        this.receptor = receptor;
+        CANALES.computeIfAbsent(canal, clave -> new CopyOnWriteArraySet<>()).add(receptor);
+    }
+
+    @Override
+    public void close() {
+        Consumer<MensajeInvalidacion> actual = receptor;
+        if (actual != null) {
+            CANALES.getOrDefault(canal, Set.of()).remove(actual);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.utn.productos_api.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Transporte por UDP unicast: cada mensaje es un datagrama enviado a cada uno de los nodos configurados.
+// Sin conexiones ni confirmaciones, así enviar nunca bloquea una escritura; un datagrama perdido lo detecta el bus.
+public class TransporteUdp implements TransporteInvalidaciones {
+
+    private static final Logger log = LoggerFactory.getLogger(TransporteUdp.class);
+
+    private static final int TAMANIO_MAXIMO = 1024;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> nodos;
+    private Thread receptorHilo;
+
+    public TransporteUdp(int puerto, List<InetSocketAddress> nodos) {
+        try {
+            this.socket = new DatagramSocket(puerto);
+        } catch (SocketException e) {
+            throw new UncheckedIOException("No se pudo abrir el puerto UDP " + puerto, e);
+        }
+        this.nodos = nodos;
+    }
+
+    @Override
+    public void enviar(MensajeInvalidacion mensaje) {
+        byte[] datos = mensaje.codificar();
+        for (InetSocketAddress nodo : nodos) {
+            try {
+                socket.send(new DatagramPacket(datos, datos.length, nodo));
+            } catch (IOException e) {
+                log.debug("No se pudo enviar la invalidación a {}", nodo, e);
+            }
+        }
+    }
+
+    @Override
+    public void escuchar(Consumer<MensajeInvalidacion> receptor) {
+        receptorHilo = new Thread(() -> {
+            byte[] buffer = new byte[TAMANIO_MAXIMO];
+            while (!socket.isClosed()) {
+                DatagramPacket paquete = new DatagramPacket(buffer, buffer.length);
+                try {
+                    socket.receive(paquete);
+                    receptor.accept(MensajeInvalidacion.decodificar(paquete.getData(), paquete.getLength()));
+                } catch (IOException e) {
+                    if (!socket.isClosed()) {
+                        log.warn("Error recibiendo invalidaciones por UDP", e);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Invalidación descartada de {}: {}", paquete.getSocketAddress(), e.getMessage());
+                }
+            }
+        }, "invalidaciones-udp");
+        receptorHilo.setDaemon(true);
+        receptorHilo.start();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+}
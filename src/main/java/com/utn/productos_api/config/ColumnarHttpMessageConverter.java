@@ -0,0 +1,150 @@
+package com.utn.productos_api.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.utn.productos_api.dto.ProductoPaginaDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+// Variante columnar del JSON de listas de productos: un arreglo por campo en lugar de un objeto por producto,
+// así los nombres de los campos aparecen una sola vez por respuesta y no una vez por fila.
+//   {"cantidad":2,"id":[1,2],"nombre":["A","B"],"descripcion":[...],"precio":[...],"stock":[...],"categoria":[...]}
+// Solo escribe List<ProductoResponseDTO> y ProductoPaginaDTO (con "contenido" en formato columnar).
+public class ColumnarHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_COLUMNAR_JSON_VALUE = "application/vnd.productos.columnar+json";
+    public static final MediaType APPLICATION_COLUMNAR_JSON = MediaType.parseMediaType(APPLICATION_COLUMNAR_JSON_VALUE);
+
+    private final JsonFactory jsonFactory;
+
+    public ColumnarHttpMessageConverter(JsonFactory jsonFactory) {
+        super(APPLICATION_COLUMNAR_JSON);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProductoPaginaDTO.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    // Solo se elige con un Accept explícito. Spring Boot pone este conversor delante del de JSON, así que si se
+    // anunciara como producible un Accept */* (el de curl y el de muchos clientes) recibiría columnar en lugar de
+    // JSON. Con Accept columnar igual se elige: el conversor de JSON lo declara compatible por application/*+json.
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && mediaType.isConcrete() && super.canWrite(mediaType);
+    }
+
+    // Las listas solo se aceptan si el tipo declarado es List<ProductoResponseDTO>
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (ProductoPaginaDTO.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        if (!List.class.isAssignableFrom(clazz) || type == null) {
+            return false;
+        }
+        Class<?> elemento = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return elemento != null && ProductoResponseDTO.class.isAssignableFrom(elemento);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("El formato columnar es solo de salida", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("El formato columnar es solo de salida", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+        escribir(valor, outputMessage.getBody());
+    }
+
+    // Público para poder medirlo en los benchmarks sin pasar por Spring MVC
+    @SuppressWarnings("unchecked")
+    public void escribir(Object valor, OutputStream salida) throws IOException {
+        try (JsonGenerator generador = jsonFactory.createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (valor instanceof ProductoPaginaDTO pagina) {
+                generador.writeStartObject();
+                generador.writeFieldName("contenido");
+                escribirColumnas(generador, pagina.getContenido());
+                generador.writeNumberField("tamanio", pagina.getTamanio());
+                generador.writeStringField("siguienteCursor", pagina.getSiguienteCursor());
+                generador.writeEndObject();
+            } else {
+                escribirColumnas(generador, (List<ProductoResponseDTO>) valor);
+            }
+        }
+    }
+
+    private static void escribirColumnas(JsonGenerator generador, List<ProductoResponseDTO> productos)
+            throws IOException {
+        generador.writeStartObject();
+        generador.writeNumberField("cantidad", productos.size());
+
+        generador.writeArrayFieldStart("id");
+        for (ProductoResponseDTO producto : productos) {
+            generador.writeNumber(producto.getId());
+        }
+        generador.writeEndArray();
+
+        generador.writeArrayFieldStart("nombre");
+        for (ProductoResponseDTO producto : productos) {
+            generador.writeString(producto.getNombre());
+        }
+        generador.writeEndArray();
+
+        generador.writeArrayFieldStart("descripcion");
+        for (ProductoResponseDTO producto : productos) {
+            generador.writeString(producto.getDescripcion());
+        }
+        generador.writeEndArray();
+
+        generador.writeArrayFieldStart("precio");
+        for (ProductoResponseDTO producto : productos) {
+            generador.writeNumber(producto.getPrecio());
+        }
+        generador.writeEndArray();
+
+        generador.writeArrayFieldStart("stock");
+        for (ProductoResponseDTO producto : productos) {
+            generador.writeNumber(producto.getStock());
+        }
+        generador.writeEndArray();
+
+        generador.writeArrayFieldStart("categoria");
+        for (ProductoResponseDTO producto : productos) {
+            generador.writeString(producto.getCategoria() != null ? producto.getCategoria().name() : null);
+        }
+        generador.writeEndArray();
+
+        generador.writeEndObject();
+    }
+}
@@ -0,0 +1,40 @@
+package com.utn.productos_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Formatos de respuesta adicionales, elegidos por negociación de contenido (cabecera Accept):
+//   application/json                        -> JSON (por defecto)
+//   application/cbor                        -> CBOR binario
+//   application/x-jackson-smile             -> Smile binario
+//   application/vnd.productos.columnar+json -> JSON columnar, solo para listas y páginas de productos
+// Los conversores binarios se arman con el mismo Jackson2ObjectMapperBuilder de Spring Boot, así respetan
+// la misma configuración (fechas, @JsonIgnore, módulos) que el JSON; ese builder es prototype, cada bean recibe uno propio.
+// Reemplazan a los conversores CBOR y Smile que Spring MVC registra detrás del de JSON, así que un Accept */* sigue
+// respondiendo JSON. El columnar va delante de todos y por eso se excluye de los comodines (ver su canWrite).
+@Configuration
+public class FormatosConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cbor = builder.factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(cbor);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smile = builder.factory(new SmileFactory()).build();
+        return new MappingJackson2SmileHttpMessageConverter(smile);
+    }
+
+    @Bean
+    public ColumnarHttpMessageConverter columnarHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ColumnarHttpMessageConverter(objectMapper.getFactory());
+    }
+}
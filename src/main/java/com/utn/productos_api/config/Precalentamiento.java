@@ -0,0 +1,75 @@
+package com.utn.productos_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.utn.productos_api.dto.ProductoPaginaDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.ProductoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Precalentamiento al arrancar: llena la caché de lectura con los datos más consultados y ejecuta el camino
+// de lectura (consulta, mapeo a DTO y serialización JSON) las veces suficientes para que el JIT lo compile.
+// Corre durante ApplicationReadyEvent, así que termina antes de que Spring Boot publique
+// ReadinessState.ACCEPTING_TRAFFIC y el readiness probe (/actuator/health/readiness) pase a UP.
+@Component
+@ConditionalOnProperty(name = "productos.precalentamiento.habilitado", havingValue = "true", matchIfMissing = true)
+public class Precalentamiento {
+
+    private static final Logger log = LoggerFactory.getLogger(Precalentamiento.class);
+
+    private final ProductoService productoService;
+    private final ObjectMapper objectMapper;
+    private final int productos;
+    private final int iteraciones;
+
+    // Inyección por constructor
+    public Precalentamiento(ProductoService productoService,
+                            ObjectMapper objectMapper,
+                            @Value("${productos.precalentamiento.productos:500}") int productos,
+                            @Value("${productos.precalentamiento.iteraciones:200}") int iteraciones) {
+        this.productoService = productoService;
+        this.objectMapper = objectMapper;
+        this.productos = productos;
+        this.iteraciones = iteraciones;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precalentar() {
+        long inicio = System.nanoTime();
+
+        // Datos calientes: versiones del catálogo, listas por categoría y los primeros productos por ID
+        productoService.obtenerVersionCatalogo();
+        for (Categoria categoria : Categoria.values()) {
+            productoService.obtenerVersionCategoria(categoria);
+            productoService.obtenerPorCategoria(categoria);
+        }
+        ProductoPaginaDTO primeros = productoService.obtenerPagina(null, productos);
+        for (ProductoResponseDTO producto : primeros.getContenido()) {
+            productoService.obtenerPorId(producto.getId());
+        }
+
+        // Camino de mapeo y serialización: misma forma que GET /api/productos
+        ObjectWriter writer = objectMapper.writerFor(ProductoPaginaDTO.class);
+        long bytes = 0;
+        try {
+            for (int i = 0; i < iteraciones; i++) {
+                bytes += writer.writeValueAsBytes(productoService.obtenerPagina(null, null)).length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Precalentamiento completo: {} productos en caché, {} iteraciones ({} bytes) en {} ms",
+                primeros.getContenido().size(), iteraciones, bytes, (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
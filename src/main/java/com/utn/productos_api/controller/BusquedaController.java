@@ -0,0 +1,65 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.busqueda.IndiceBusqueda;
+import com.utn.productos_api.dto.ResultadoBusquedaDTO;
+import com.utn.productos_api.model.Categoria;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/productos")
+@Tag(name = "Búsqueda", description = "Búsqueda de texto con filtros y facetas por categoría")
+public class BusquedaController {
+
+    private final IndiceBusqueda indiceBusqueda;
+    private final int tamanioMaximo;
+
+    // Inyección por constructor
+    public BusquedaController(IndiceBusqueda indiceBusqueda,
+                              @Value("${productos.busqueda.tamanio-maximo:100}") int tamanioMaximo) {
+        this.indiceBusqueda = indiceBusqueda;
+        this.tamanioMaximo = tamanioMaximo;
+    }
+
+    // GET /api/productos/buscar - Buscar por texto en nombre y descripción
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar productos",
+            description = "Busca en nombre y descripción sin distinguir mayúsculas ni tildes, con filtros de " +
+                    "categoría, precio y stock. Devuelve los resultados ordenados por relevancia y la cantidad " +
+                    "de coincidencias por categoría")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoBusquedaDTO.class)))
+    })
+    public ResponseEntity<ResultadoBusquedaDTO> buscar(
+            @Parameter(description = "Texto a buscar", example = "cafe")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Categoría a filtrar", example = "ALIMENTOS")
+            @RequestParam(required = false) Categoria categoria,
+            @Parameter(description = "Precio mínimo", example = "10")
+            @RequestParam(required = false) Double precioMin,
+            @Parameter(description = "Precio máximo", example = "200")
+            @RequestParam(required = false) Double precioMax,
+            @Parameter(description = "Stock mínimo", example = "1")
+            @RequestParam(required = false) Integer stockMin,
+            @Parameter(description = "Número de página (empezando en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int pagina,
+            @Parameter(description = "Resultados por página", example = "20")
+            @RequestParam(defaultValue = "20") int tamanio) {
+        ResultadoBusquedaDTO resultado = indiceBusqueda.buscar(q, categoria, precioMin, precioMax, stockMin,
+                Math.max(0, pagina), Math.max(1, Math.min(tamanio, tamanioMaximo)));
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -0,0 +1,42 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.cache.ProductoCache;
+import com.utn.productos_api.dto.CacheEstadisticasDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/productos/cache")
+@Tag(name = "Caché", description = "Estado de la caché de lectura de productos")
+public class CacheController {
+
+    private final ProductoCache productoCache;
+
+    // Inyección por constructor
+    public CacheController(ProductoCache productoCache) {
+        this.productoCache = productoCache;
+    }
+
+    // GET /api/productos/cache/estadisticas - Contadores de aciertos, fallos y desalojos
+    @GetMapping("/estadisticas")
+    @Operation(summary = "Estadísticas de la caché de lectura",
+            description = "Devuelve aciertos, fallos, desalojos y tamaño de cada caché para poder dimensionarlas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CacheEstadisticasDTO[].class)))
+    })
+    public ResponseEntity<List<CacheEstadisticasDTO>> obtenerEstadisticas() {
+        return ResponseEntity.ok(productoCache.estadisticas());
+    }
+}
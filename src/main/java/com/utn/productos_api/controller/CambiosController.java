@@ -0,0 +1,52 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.cambios.DifusorCambios;
+import com.utn.productos_api.dto.CambioProductoDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/productos/cambios")
+@Tag(name = "Cambios", description = "Feed de cambios de productos y stock por Server-Sent Events")
+public class CambiosController {
+
+    private final DifusorCambios difusorCambios;
+
+    // Inyección por constructor
+    public CambiosController(DifusorCambios difusorCambios) {
+        this.difusorCambios = difusorCambios;
+    }
+
+    // GET /api/productos/cambios - Suscribirse al feed de cambios (SSE)
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Feed de cambios de productos",
+            description = "Envía por Server-Sent Events cada alta, modificación, cambio de stock y baja confirmada. " +
+                    "Cada evento lleva como id su número de secuencia; para retomar sin perder cambios se reconecta " +
+                    "con el encabezado Last-Event-ID o el parámetro 'desde'. Si los cambios pedidos ya no están " +
+                    "disponibles se envía un evento 'reinicio'; un cliente que se atrasa demasiado recibe " +
+                    "'desbordado' y se lo desconecta")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suscripción abierta",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = CambioProductoDTO.class)))
+    })
+    public SseEmitter suscribir(
+            @Parameter(description = "Secuencia del último cambio recibido", example = "1042")
+            @RequestParam(required = false) Long desde,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        return difusorCambios.suscribir(desde != null ? desde : ultimoEventoId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.dto.EstadisticasDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.EstadisticasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/productos/estadisticas")
+@Tag(name = "Estadísticas", description = "Valor de inventario y estadísticas de precios calculadas en el servidor")
+public class EstadisticasController {
+
+    private final EstadisticasService estadisticasService;
+
+    // Inyección por constructor
+    public EstadisticasController(EstadisticasService estadisticasService) {
+        this.estadisticasService = estadisticasService;
+    }
+
+    // GET /api/productos/estadisticas - Totales y estadísticas por categoría
+    @GetMapping
+    @Operation(summary = "Estadísticas del inventario",
+            description = "Devuelve cantidad de productos, unidades en stock, valor de inventario (precio * stock) " +
+                    "y precio mínimo, promedio y máximo, en total y por categoría")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EstadisticasDTO.class)))
+    })
+    public ResponseEntity<EstadisticasDTO> obtenerEstadisticas(
+            @Parameter(description = "Limitar las estadísticas a una categoría", example = "ELECTRONICA")
+            @RequestParam(required = false) Categoria categoria) {
+        return ResponseEntity.ok(estadisticasService.obtenerEstadisticas(categoria));
+    }
+}
@@ -0,0 +1,64 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.dto.ResultadoExportacionDTO;
+import com.utn.productos_api.dto.ResultadoImportacionDTO;
+import com.utn.productos_api.importacion.ImportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/productos")
+@Tag(name = "Importación y exportación", description = "Carga y respaldo del catálogo con archivos CSV o NDJSON")
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    // Inyección por constructor
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    // POST /api/productos/importaciones - Importar un archivo del directorio de importación
+    @PostMapping("/importaciones")
+    @Operation(summary = "Importar productos desde un archivo",
+            description = "Importa un archivo .csv o .ndjson del directorio productos.importacion.directorio. " +
+                    "Las filas inválidas se reportan sin cortar la importación; si se corta por un error, " +
+                    "reanudar=true sigue desde el último lote guardado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación procesada (ver 'completa')",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoImportacionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Archivo inexistente, con formato no soportado o en uso")
+    })
+    public ResponseEntity<ResultadoImportacionDTO> importar(
+            @Parameter(description = "Nombre del archivo (sin rutas)", example = "catalogo.csv")
+            @RequestParam String archivo,
+            @Parameter(description = "Continuar desde el último checkpoint", example = "false")
+            @RequestParam(defaultValue = "false") boolean reanudar) {
+        return ResponseEntity.ok(importacionService.importar(archivo, reanudar));
+    }
+
+    // POST /api/productos/exportaciones - Exportar el catálogo a un archivo del directorio de importación
+    @PostMapping("/exportaciones")
+    @Operation(summary = "Exportar el catálogo a un archivo",
+            description = "Escribe todos los productos en un archivo .csv o .ndjson del directorio de importación; " +
+                    "el archivo exportado se puede volver a importar")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación terminada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoExportacionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Nombre de archivo inválido, formato no soportado o en uso")
+    })
+    public ResponseEntity<ResultadoExportacionDTO> exportar(
+            @Parameter(description = "Nombre del archivo (sin rutas)", example = "respaldo.ndjson")
+            @RequestParam String archivo) {
+        return ResponseEntity.ok(importacionService.exportar(archivo));
+    }
+}
@@ -0,0 +1,210 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ProductosPorIdDTO;
+import com.utn.productos_api.exception.TiempoAgotadoException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.ProductoServiceAsync;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+// Mismas operaciones que ProductoController, atendidas de forma asíncrona: el hilo de Tomcat se libera apenas la
+// operación se encola en ProductoServiceAsync y la respuesta se escribe cuando el CompletableFuture termina.
+// Cada petición puede pedir su propio tiempo máximo con la cabecera X-Timeout-Ms.
+@RestController
+@RequestMapping("/api/async/productos")
+@Tag(name = "Productos (asíncrono)",
+        description = "Operaciones de productos en pools propios para lecturas y escrituras, con tiempo máximo por petición")
+public class ProductoAsyncController {
+
+    static final String CABECERA_TIMEOUT = "X-Timeout-Ms";
+
+    // Margen para que venza antes el futuro (que cancela la tarea) que la petición asíncrona de Spring MVC
+    private static final long MARGEN_TIMEOUT_MS = 1000;
+
+    private final ProductoServiceAsync productoServiceAsync;
+
+    // Inyección por constructor
+    public ProductoAsyncController(ProductoServiceAsync productoServiceAsync) {
+        this.productoServiceAsync = productoServiceAsync;
+    }
+
+    // GET /api/async/productos/{id} - Obtener por ID
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener producto por ID (asíncrono)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producto encontrado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductoResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<ProductoResponseDTO>> obtenerPorId(
+            @Parameter(description = "ID del producto a buscar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.obtenerPorId(id, timeout), timeout, ResponseEntity::ok);
+    }
+
+    // GET /api/async/productos?ids=1,2,3 - Obtener varios por ID
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obtener varios productos por ID (asíncrono)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductosPorIdDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<ProductosPorIdDTO>> obtenerVariosPorId(
+            @Parameter(description = "IDs separados por coma", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.obtenerVariosPorId(ids, timeout), timeout, ResponseEntity::ok);
+    }
+
+    // GET /api/async/productos/categoria/{categoria} - Filtrar por categoría
+    @GetMapping("/categoria/{categoria}")
+    @Operation(summary = "Filtrar productos por categoría (asíncrono)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de productos filtrada por categoría",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductoResponseDTO[].class))),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<List<ProductoResponseDTO>>> obtenerPorCategoria(
+            @Parameter(description = "Categoría a filtrar", example = "ELECTRONICA")
+            @PathVariable Categoria categoria,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.obtenerPorCategoria(categoria, timeout), timeout, ResponseEntity::ok);
+    }
+
+    // POST /api/async/productos - Crear nuevo producto
+    @PostMapping
+    @Operation(summary = "Crear un nuevo producto (asíncrono)",
+            description = "Si el tiempo máximo vence con la escritura ya empezada, el producto igual puede crearse")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Producto creado exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductoResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<ProductoResponseDTO>> crearProducto(
+            @Valid @RequestBody ProductoDTO productoDTO,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.crearProducto(productoDTO, timeout), timeout,
+                producto -> ResponseEntity.status(HttpStatus.CREATED).body(producto));
+    }
+
+    // PUT /api/async/productos/{id} - Actualizar producto completo
+    @PutMapping("/{id}")
+    @Operation(summary = "Actualizar producto completo (asíncrono)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producto actualizado exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductoResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<ProductoResponseDTO>> actualizarProducto(
+            @Parameter(description = "ID del producto a actualizar", example = "1")
+            @PathVariable Long id,
+            @Valid @RequestBody ProductoDTO productoDTO,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.actualizarProducto(id, productoDTO, timeout), timeout,
+                ResponseEntity::ok);
+    }
+
+    // PATCH /api/async/productos/{id}/stock - Actualizar solo el stock
+    @PatchMapping("/{id}/stock")
+    @Operation(summary = "Actualizar stock (asíncrono)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock actualizado exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductoResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<ProductoResponseDTO>> actualizarStock(
+            @Parameter(description = "ID del producto", example = "1")
+            @PathVariable Long id,
+            @Valid @RequestBody ActualizarStockDTO stockDTO,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.actualizarStock(id, stockDTO, timeout), timeout, ResponseEntity::ok);
+    }
+
+    // DELETE /api/async/productos/{id} - Eliminar producto
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar producto (asíncrono)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Producto eliminado exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "503", description = "Sin capacidad o tiempo máximo agotado")
+    })
+    public DeferredResult<ResponseEntity<Void>> eliminarProducto(
+            @Parameter(description = "ID del producto a eliminar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Tiempo máximo en milisegundos")
+            @RequestHeader(value = CABECERA_TIMEOUT, required = false) Long timeoutMs) {
+        Duration timeout = productoServiceAsync.timeoutEfectivo(timeoutMs);
+        return diferir(productoServiceAsync.eliminarProducto(id, timeout), timeout,
+                sinCuerpo -> ResponseEntity.noContent().build());
+    }
+
+    // Conecta el futuro con la respuesta diferida. Los errores se pasan sin envolver, así GlobalExceptionHandler
+    // los traduce igual que en ProductoController. Si el cliente se desconecta, se cancela la operación.
+    private static <T, R> DeferredResult<R> diferir(CompletableFuture<T> futuro, Duration timeout,
+                                                    Function<T, R> respuesta) {
+        DeferredResult<R> resultado = new DeferredResult<>(timeout.toMillis() + MARGEN_TIMEOUT_MS);
+        futuro.whenComplete((valor, error) -> {
+            if (error == null) {
+                resultado.setResult(respuesta.apply(valor));
+            } else {
+                resultado.setErrorResult(traducir(error, timeout));
+            }
+        });
+        resultado.onTimeout(() -> futuro.cancel(false));
+        resultado.onError(error -> futuro.cancel(false));
+        return resultado;
+    }
+
+    private static Throwable traducir(Throwable error, Duration timeout) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (causa instanceof TimeoutException || causa instanceof CancellationException) {
+            return new TiempoAgotadoException("La operación no terminó en " + timeout.toMillis() + " ms");
+        }
+        return causa;
+    }
+}
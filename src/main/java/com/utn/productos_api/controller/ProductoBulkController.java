@@ -0,0 +1,114 @@
+package com.utn.productos_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utn.productos_api.dto.ProductoBulkUpdateDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ResultadoBulkDTO;
+import com.utn.productos_api.service.LectorNdjson;
+import com.utn.productos_api.service.ProductoBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/productos/bulk")
+@Tag(name = "Operaciones masivas", description = "Alta, modificación y baja de muchos productos por petición")
+public class ProductoBulkController {
+
+    private final ProductoBulkService productoBulkService;
+    private final ObjectMapper objectMapper;
+
+    // Inyección por constructor
+    public ProductoBulkController(ProductoBulkService productoBulkService, ObjectMapper objectMapper) {
+        this.productoBulkService = productoBulkService;
+        this.objectMapper = objectMapper;
+    }
+
+    // POST /api/productos/bulk - Crear productos a partir de un arreglo JSON
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Crear productos en forma masiva",
+            description = "Crea los productos en lotes transaccionales; los ítems inválidos se reportan sin abortar el resto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operación procesada, con el resultado de cada ítem",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoBulkDTO.class)))
+    })
+    public ResponseEntity<ResultadoBulkDTO> crear(
+            @RequestBody List<ProductoDTO> productos,
+            @Parameter(description = "Cantidad de ítems por transacción", example = "500")
+            @RequestParam(required = false) Integer tamanioLote) {
+        return ResponseEntity.ok(productoBulkService.crear(productos.iterator(), tamanioLote));
+    }
+
+    // POST /api/productos/bulk - Crear productos a partir de un flujo NDJSON
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Crear productos en forma masiva desde NDJSON",
+            description = "Lee un producto por línea a medida que llega el cuerpo, sin cargarlo completo en memoria")
+    public ResponseEntity<ResultadoBulkDTO> crearDesdeNdjson(
+            InputStream cuerpo,
+            @RequestParam(required = false) Integer tamanioLote) {
+        LectorNdjson<ProductoDTO> lector = new LectorNdjson<>(cuerpo, objectMapper.readerFor(ProductoDTO.class));
+        return ResponseEntity.ok(productoBulkService.crear(lector, tamanioLote));
+    }
+
+    // PUT /api/productos/bulk - Actualizar productos a partir de un arreglo JSON
+    @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Actualizar productos en forma masiva",
+            description = "Cada ítem incluye el ID del producto; los inexistentes se reportan como NO_ENCONTRADO")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operación procesada, con el resultado de cada ítem",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoBulkDTO.class)))
+    })
+    public ResponseEntity<ResultadoBulkDTO> actualizar(
+            @RequestBody List<ProductoBulkUpdateDTO> productos,
+            @RequestParam(required = false) Integer tamanioLote) {
+        return ResponseEntity.ok(productoBulkService.actualizar(productos.iterator(), tamanioLote));
+    }
+
+    // PUT /api/productos/bulk - Actualizar productos a partir de un flujo NDJSON
+    @PutMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Actualizar productos en forma masiva desde NDJSON")
+    public ResponseEntity<ResultadoBulkDTO> actualizarDesdeNdjson(
+            InputStream cuerpo,
+            @RequestParam(required = false) Integer tamanioLote) {
+        LectorNdjson<ProductoBulkUpdateDTO> lector =
+                new LectorNdjson<>(cuerpo, objectMapper.readerFor(ProductoBulkUpdateDTO.class));
+        return ResponseEntity.ok(productoBulkService.actualizar(lector, tamanioLote));
+    }
+
+    // DELETE /api/productos/bulk - Eliminar productos a partir de un arreglo JSON de IDs
+    @DeleteMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Eliminar productos en forma masiva",
+            description = "Recibe un arreglo de IDs; los inexistentes se reportan como NO_ENCONTRADO")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operación procesada, con el resultado de cada ítem",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResultadoBulkDTO.class)))
+    })
+    public ResponseEntity<ResultadoBulkDTO> eliminar(
+            @RequestBody List<Long> ids,
+            @RequestParam(required = false) Integer tamanioLote) {
+        return ResponseEntity.ok(productoBulkService.eliminar(ids.iterator(), tamanioLote));
+    }
+
+    // DELETE /api/productos/bulk - Eliminar productos a partir de un flujo NDJSON (un ID por línea)
+    @DeleteMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Eliminar productos en forma masiva desde NDJSON")
+    public ResponseEntity<ResultadoBulkDTO> eliminarDesdeNdjson(
+            InputStream cuerpo,
+            @RequestParam(required = false) Integer tamanioLote) {
+        LectorNdjson<Long> lector = new LectorNdjson<>(cuerpo, objectMapper.readerFor(Long.class));
+        return ResponseEntity.ok(productoBulkService.eliminar(lector, tamanioLote));
+    }
+}
@@ -1,8 +1,17 @@
 package com.utn.productos_api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.utn.productos_api.busqueda.IndiceCategorias;
+import com.utn.productos_api.busqueda.OrdenCategoria;
+import com.utn.productos_api.config.ColumnarHttpMessageConverter;
 import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.dto.IdsProductosDTO;
 import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoPaginaDTO;
 import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ProductosPorIdDTO;
+import com.utn.productos_api.dto.VersionColeccionDTO;
 import com.utn.productos_api.model.Categoria;
 import com.utn.productos_api.service.ProductoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,10 +22,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -24,27 +44,123 @@ import java.util.List;
 @Tag(name = "Productos", description = "API para la gestión de productos del e-commerce")
 public class ProductoController {
 
+    private static final int FILAS_POR_FLUSH = 500;
+    // JSON primero: es el que se elige ante un comodín
+    private static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.parseMediaType("application/x-jackson-smile"),
+            ColumnarHttpMessageConverter.APPLICATION_COLUMNAR_JSON);
+
     private final ProductoService productoService;
+    private final IndiceCategorias indiceCategorias;
+    private final ObjectMapper objectMapper;
+    private final int limiteDefault;
+    private final int limiteMaximo;
 
     // Inyección por constructor
-    public ProductoController(ProductoService productoService) {
+    public ProductoController(ProductoService productoService, IndiceCategorias indiceCategorias,
+                              ObjectMapper objectMapper,
+                              @Value("${productos.paginacion.tamanio-default:50}") int limiteDefault,
+                              @Value("${productos.paginacion.tamanio-maximo:1000}") int limiteMaximo) {
         this.productoService = productoService;
+        this.indiceCategorias = indiceCategorias;
+        this.objectMapper = objectMapper;
+        this.limiteDefault = limiteDefault;
+        this.limiteMaximo = limiteMaximo;
     }
 
-    // GET /api/productos - Listar todos
+    // GET /api/productos - Listar paginado por cursor
     @GetMapping
-    @Operation(summary = "Listar todos los productos",
-            description = "Obtiene una lista completa de todos los productos disponibles")
+    @Operation(summary = "Listar productos paginados",
+            description = "Obtiene una página de productos ordenados por ID. Para pedir la página siguiente " +
+                    "se envía el cursor devuelto en 'siguienteCursor'")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de productos obtenida exitosamente",
-                    // CORRECCIÓN: Para indicar que retorna una LISTA de ProductoResponseDTO,
-                    // se debe usar ProductoResponseDTO[].class en el implementation.
+            @ApiResponse(responseCode = "200", description = "Página de productos obtenida exitosamente",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = ProductoResponseDTO[].class)))
+                            schema = @Schema(implementation = ProductoPaginaDTO.class))),
+            @ApiResponse(responseCode = "304", description = "El catálogo no cambió desde la versión indicada"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
     })
-    public ResponseEntity<List<ProductoResponseDTO>> listarTodos() {
-        List<ProductoResponseDTO> productos = productoService.obtenerTodos();
-        return ResponseEntity.ok(productos);
+    public ResponseEntity<ProductoPaginaDTO> listarTodos(
+            @Parameter(description = "Cursor opaco devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de productos por página", example = "50")
+            @RequestParam(required = false) Integer tamanio,
+            WebRequest request) {
+        // El ETag es la versión agregada del catálogo: cualquier alta, baja o modificación lo cambia
+        VersionColeccionDTO version = productoService.obtenerVersionCatalogo();
+        String etag = etagColeccion(version, request);
+        long ultimaModificacion = milisegundos(version.getUltimaModificacion());
+        if (request.checkNotModified(etag, ultimaModificacion)) {
+            return null;
+        }
+        ProductoPaginaDTO pagina = productoService.obtenerPagina(cursor, tamanio);
+        return respuestaCondicional(etag, ultimaModificacion).body(pagina);
+    }
+
+    // GET /api/productos?ids=1,2,3 - Obtener varios por ID en una sola petición
+    @GetMapping(params = "ids")
+    @Operation(summary = "Obtener varios productos por ID",
+            description = "Devuelve los productos pedidos en el mismo orden que sus IDs. Los IDs inexistentes " +
+                    "se informan en 'noEncontrados' sin que falle la petición")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductosPorIdDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Se superó la cantidad máxima de IDs por petición")
+    })
+    public ResponseEntity<ProductosPorIdDTO> obtenerVariosPorId(
+            @Parameter(description = "IDs separados por coma", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productoService.obtenerVariosPorId(ids));
+    }
+
+    // POST /api/productos/por-ids - Igual que el anterior, con los IDs en el cuerpo (para listas largas)
+    @PostMapping("/por-ids")
+    @Operation(summary = "Obtener varios productos por ID (cuerpo)",
+            description = "Variante de GET /api/productos?ids= para listas de IDs que no entran en la URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductosPorIdDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lista vacía o con más IDs que el máximo permitido")
+    })
+    public ResponseEntity<ProductosPorIdDTO> obtenerVariosPorIdEnCuerpo(
+            @Valid @RequestBody IdsProductosDTO idsDTO) {
+        return ResponseEntity.ok(productoService.obtenerVariosPorId(idsDTO.getIds()));
+    }
+
+    // GET /api/productos/stream - Listar todos en streaming (NDJSON)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Listar todos los productos en streaming",
+            description = "Devuelve todos los productos como NDJSON (un producto por línea), " +
+                    "escribiendo cada fila a medida que se lee de la base de datos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Productos enviados exitosamente",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ProductoResponseDTO.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> listarEnStream() {
+        ObjectWriter writer = objectMapper.writerFor(ProductoResponseDTO.class);
+        StreamingResponseBody cuerpo = salida -> {
+            int[] escritos = {0};
+            productoService.recorrerTodos(producto -> {
+                try {
+                    salida.write(writer.writeValueAsBytes(producto));
+                    salida.write('\n');
+                    // Se envía un chunk cada cierta cantidad de filas
+                    if (++escritos[0] % FILAS_POR_FLUSH == 0) {
+                        salida.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            salida.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
     }
 
     // GET /api/productos/{id} - Obtener por ID
@@ -55,30 +171,61 @@ public class ProductoController {
             @ApiResponse(responseCode = "200", description = "Producto encontrado",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ProductoResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "El producto no cambió desde la versión indicada"),
             @ApiResponse(responseCode = "404", description = "Producto no encontrado")
     })
     public ResponseEntity<ProductoResponseDTO> obtenerPorId(
             @Parameter(description = "ID del producto a buscar", example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
         ProductoResponseDTO producto = productoService.obtenerPorId(id);
-        return ResponseEntity.ok(producto);
+        String etag = "\"" + producto.getId() + "-" + producto.getVersion() + "-" + formato(request) + "\"";
+        long ultimaModificacion = milisegundos(producto.getModificadoEn());
+        if (request.checkNotModified(etag, ultimaModificacion)) {
+            return null;
+        }
+        return respuestaCondicional(etag, ultimaModificacion).body(producto);
     }
 
     // GET /api/productos/categoria/{categoria} - Filtrar por categoría
     @GetMapping("/categoria/{categoria}")
     @Operation(summary = "Filtrar productos por categoría",
-            description = "Obtiene todos los productos que pertenecen a una categoría específica")
+            description = "Obtiene los productos que pertenecen a una categoría específica. Sin filtros devuelve " +
+                    "todos; con precioMin, precioMax, orden o limit devuelve los primeros 'limit' productos del " +
+                    "rango de precios, ordenados de menor a mayor por precio (por defecto), stock o nombre")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de productos filtrada por categoría",
                     // CORRECCIÓN: Esto también retorna una lista, debe ser ProductoResponseDTO[].class
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = ProductoResponseDTO[].class)))
+                            schema = @Schema(implementation = ProductoResponseDTO[].class))),
+            @ApiResponse(responseCode = "304", description = "La categoría no cambió desde la versión indicada"),
+            @ApiResponse(responseCode = "400", description = "Orden inválido")
     })
     public ResponseEntity<List<ProductoResponseDTO>> obtenerPorCategoria(
             @Parameter(description = "Categoría a filtrar", example = "ELECTRONICA")
-            @PathVariable Categoria categoria) {
-        List<ProductoResponseDTO> productos = productoService.obtenerPorCategoria(categoria);
-        return ResponseEntity.ok(productos);
+            @PathVariable Categoria categoria,
+            @Parameter(description = "Precio mínimo (inclusive)", example = "10")
+            @RequestParam(required = false) Double precioMin,
+            @Parameter(description = "Precio máximo (inclusive)", example = "200")
+            @RequestParam(required = false) Double precioMax,
+            @Parameter(description = "Orden ascendente: precio, stock o nombre", example = "precio")
+            @RequestParam(required = false) String orden,
+            @Parameter(description = "Cantidad máxima de productos", example = "20")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        OrdenCategoria ordenEfectivo = OrdenCategoria.desde(orden);
+        VersionColeccionDTO version = productoService.obtenerVersionCategoria(categoria);
+        String etag = etagColeccion(version, request);
+        long ultimaModificacion = milisegundos(version.getUltimaModificacion());
+        if (request.checkNotModified(etag, ultimaModificacion)) {
+            return null;
+        }
+        // El ETag de la categoría también vale para sus consultas filtradas: cambia con cualquier producto de ella
+        List<ProductoResponseDTO> productos = precioMin == null && precioMax == null && orden == null && limit == null
+                ? productoService.obtenerPorCategoria(categoria)
+                : indiceCategorias.consultar(categoria, precioMin, precioMax, ordenEfectivo,
+                        limit == null ? limiteDefault : Math.max(1, Math.min(limit, limiteMaximo)));
+        return respuestaCondicional(etag, ultimaModificacion).body(productos);
     }
 
     // POST /api/productos - Crear nuevo producto
@@ -149,4 +296,54 @@ public class ProductoController {
         productoService.eliminarProducto(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Métodos auxiliares de GET condicional. Si checkNotModified devuelve true ya dejó armada la respuesta 304
+    // (con ETag y Last-Modified) y el controlador devuelve null, sin leer ni serializar el cuerpo.
+    private static String etagColeccion(VersionColeccionDTO version, WebRequest request) {
+        return "\"" + version.getCantidad() + "-" + Long.toHexString(version.getSumaIds())
+                + "-" + Long.toHexString(version.getSumaVersiones()) + "-" + formato(request) + "\"";
+    }
+
+    // Cada formato tiene su propio ETag, así un caché o un GET condicional no entrega CBOR a quien pidió JSON.
+    // Repite la elección de la negociación de contenido: el tipo aceptado de mayor calidad y más específico que
+    // coincida con un formato, JSON si el Accept falta, es un comodín o no se puede interpretar.
+    private static String formato(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "json";
+        }
+        List<MediaType> aceptados;
+        try {
+            aceptados = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "json";
+        }
+        MimeTypeUtils.sortBySpecificity(aceptados);
+        for (MediaType aceptado : aceptados) {
+            if (aceptado.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType formato : FORMATOS) {
+                if (aceptado.includes(formato)) {
+                    return formato.equals(MediaType.APPLICATION_JSON) ? "json" : formato.getSubtype();
+                }
+            }
+        }
+        return "json";
+    }
+
+    private static long milisegundos(Instant instante) {
+        return instante != null ? instante.toEpochMilli() : -1;
+    }
+
+    // no-cache: clientes y CDN pueden guardar la respuesta, pero la revalidan antes de reutilizarla
+    private static ResponseEntity.BodyBuilder respuestaCondicional(String etag, long ultimaModificacion) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                // El mismo recurso se sirve en JSON, CBOR, Smile o columnar según Accept, con o sin gzip. Tomcat
+                // debilita el ETag (W/) cuando comprime
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        return ultimaModificacion >= 0 ? respuesta.lastModified(ultimaModificacion) : respuesta;
+    }
+}
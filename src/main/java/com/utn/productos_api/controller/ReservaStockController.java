@@ -0,0 +1,103 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.dto.ReservaLoteDTO;
+import com.utn.productos_api.dto.ReservaResponseDTO;
+import com.utn.productos_api.dto.ReservarStockDTO;
+import com.utn.productos_api.service.ReservaStockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/productos")
+@Tag(name = "Reservas de stock", description = "API para reservar, confirmar y liberar stock de productos")
+public class ReservaStockController {
+
+    private final ReservaStockService reservaStockService;
+
+    // Inyección por constructor
+    public ReservaStockController(ReservaStockService reservaStockService) {
+        this.reservaStockService = reservaStockService;
+    }
+
+    // POST /api/productos/{id}/stock/reservar - Reservar stock de un producto
+    @PostMapping("/{id}/stock/reservar")
+    @Operation(summary = "Reservar stock de un producto",
+            description = "Descuenta atómicamente la cantidad pedida del stock y crea una reserva pendiente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva creada exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+            @ApiResponse(responseCode = "400", description = "Cantidad inválida o stock insuficiente")
+    })
+    public ResponseEntity<ReservaResponseDTO> reservar(
+            @Parameter(description = "ID del producto", example = "1")
+            @PathVariable Long id,
+            @Valid @RequestBody ReservarStockDTO reservarStockDTO) {
+        ReservaResponseDTO reserva = reservaStockService.reservar(id, reservarStockDTO.getCantidad());
+        return ResponseEntity.status(HttpStatus.CREATED).body(reserva);
+    }
+
+    // POST /api/productos/stock/reservar - Reservar stock de varios productos (todo o nada)
+    @PostMapping("/stock/reservar")
+    @Operation(summary = "Reservar stock de varios productos",
+            description = "Reserva todos los ítems en una sola transacción; si alguno no tiene stock no se reserva ninguno")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reservas creadas exitosamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservaResponseDTO[].class))),
+            @ApiResponse(responseCode = "404", description = "Algún producto no existe"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos o stock insuficiente")
+    })
+    public ResponseEntity<List<ReservaResponseDTO>> reservarLote(
+            @Valid @RequestBody ReservaLoteDTO reservaLoteDTO) {
+        List<ReservaResponseDTO> reservas = reservaStockService.reservarLote(reservaLoteDTO.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservas);
+    }
+
+    // POST /api/productos/stock/reservas/{reservaId}/confirmar - Confirmar reserva
+    @PostMapping("/stock/reservas/{reservaId}/confirmar")
+    @Operation(summary = "Confirmar una reserva",
+            description = "Marca la reserva como confirmada; las unidades quedan descontadas definitivamente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La reserva ya no está pendiente")
+    })
+    public ResponseEntity<ReservaResponseDTO> confirmar(
+            @Parameter(description = "ID de la reserva")
+            @PathVariable UUID reservaId) {
+        return ResponseEntity.ok(reservaStockService.confirmar(reservaId));
+    }
+
+    // POST /api/productos/stock/reservas/{reservaId}/liberar - Liberar reserva
+    @PostMapping("/stock/reservas/{reservaId}/liberar")
+    @Operation(summary = "Liberar una reserva",
+            description = "Cancela la reserva pendiente y devuelve las unidades al stock del producto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva liberada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReservaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La reserva ya no está pendiente")
+    })
+    public ResponseEntity<ReservaResponseDTO> liberar(
+            @Parameter(description = "ID de la reserva")
+            @PathVariable UUID reservaId) {
+        return ResponseEntity.ok(reservaStockService.liberar(reservaId));
+    }
+}
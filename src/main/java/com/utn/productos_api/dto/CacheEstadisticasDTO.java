@@ -0,0 +1,29 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Contadores de una caché de lectura, para dimensionarla")
+public class CacheEstadisticasDTO {
+
+    @Schema(description = "Nombre de la caché", example = "productosPorId")
+    private String nombre;
+
+    @Schema(description = "Cantidad aproximada de entradas", example = "850")
+    private long entradas;
+
+    @Schema(description = "Lecturas resueltas desde la caché", example = "120000")
+    private long aciertos;
+
+    @Schema(description = "Lecturas que tuvieron que ir a la base de datos", example = "900")
+    private long fallos;
+
+    @Schema(description = "Entradas desalojadas por tamaño o expiración", example = "50")
+    private long desalojos;
+
+    @Schema(description = "Proporción de aciertos sobre el total de lecturas", example = "0.99")
+    private double tasaAciertos;
+}
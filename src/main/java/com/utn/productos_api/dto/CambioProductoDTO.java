@@ -0,0 +1,36 @@
+package com.utn.productos_api.dto;
+
+import com.utn.productos_api.event.TipoCambio;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+// Inmutable: la misma instancia se envía a todos los suscriptores del feed de cambios
+@Getter
+@AllArgsConstructor
+@Schema(description = "Cambio confirmado sobre un producto, tal como se publica en el feed de cambios")
+public class CambioProductoDTO {
+
+    @Schema(description = "Número de secuencia del cambio; sirve para retomar el feed", example = "1042")
+    private final long secuencia;
+
+    @Schema(description = "Tipo de cambio", example = "STOCK")
+    private final TipoCambio tipo;
+
+    @Schema(description = "ID del producto", example = "1")
+    private final Long productoId;
+
+    @Schema(description = "Campos que cambiaron", example = "[\"stock\"]")
+    private final List<String> campos;
+
+    @Schema(description = "Versión del producto después del cambio (null si se eliminó)", example = "7")
+    private final Long version;
+
+    @Schema(description = "Estado del producto después del cambio (null si se eliminó)")
+    private final ProductoResponseDTO producto;
+
+    @Schema(description = "Momento en que se registró el cambio")
+    private final Instant fecha;
+}
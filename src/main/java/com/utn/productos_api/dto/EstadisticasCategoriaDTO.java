@@ -0,0 +1,37 @@
+package com.utn.productos_api.dto;
+
+import com.utn.productos_api.model.Categoria;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+// Inmutable: cada instancia queda guardada en memoria hasta que cambia algún producto de su categoría
+@Getter
+@AllArgsConstructor
+@Schema(description = "Estadísticas de inventario y precios de una categoría")
+public class EstadisticasCategoriaDTO {
+
+    @Schema(description = "Categoría", example = "ELECTRONICA")
+    private final Categoria categoria;
+
+    @Schema(description = "Cantidad de productos de la categoría", example = "3")
+    private final Long cantidadProductos;
+
+    @Schema(description = "Unidades en stock sumando todos los productos", example = "250")
+    private final Long unidadesEnStock;
+
+    @Schema(description = "Valor del inventario (suma de precio * stock)", example = "67998.3")
+    private final Double valorInventario;
+
+    @Schema(description = "Precio mínimo (null si la categoría no tiene productos)", example = "79.99")
+    private final Double precioMinimo;
+
+    @Schema(description = "Precio promedio (null si la categoría no tiene productos)", example = "376.66")
+    private final Double precioPromedio;
+
+    @Schema(description = "Precio máximo (null si la categoría no tiene productos)", example = "899.99")
+    private final Double precioMaximo;
+
+    public static EstadisticasCategoriaDTO vacia(Categoria categoria) {
+        return new EstadisticasCategoriaDTO(categoria, 0L, 0L, 0.0, null, null, null);
+    }
+}
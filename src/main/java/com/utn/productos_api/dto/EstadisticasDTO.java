@@ -0,0 +1,34 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de inventario y precios del catálogo, en total y por categoría")
+public class EstadisticasDTO {
+
+    @Schema(description = "Cantidad de productos", example = "11")
+    private long cantidadProductos;
+
+    @Schema(description = "Unidades en stock sumando todos los productos", example = "1355")
+    private long unidadesEnStock;
+
+    @Schema(description = "Valor total del inventario (suma de precio * stock)", example = "112345.6")
+    private double valorInventario;
+
+    @Schema(description = "Precio mínimo (null si no hay productos)", example = "12.99")
+    private Double precioMinimo;
+
+    @Schema(description = "Precio promedio (null si no hay productos)", example = "154.9")
+    private Double precioPromedio;
+
+    @Schema(description = "Precio máximo (null si no hay productos)", example = "899.99")
+    private Double precioMaximo;
+
+    @Schema(description = "Las mismas estadísticas para cada categoría")
+    private List<EstadisticasCategoriaDTO> porCategoria;
+}
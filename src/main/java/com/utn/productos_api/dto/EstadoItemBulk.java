@@ -0,0 +1,10 @@
+package com.utn.productos_api.dto;
+
+public enum EstadoItemBulk {
+    CREADO,
+    ACTUALIZADO,
+    ELIMINADO,
+    NO_ENCONTRADO,
+    INVALIDO,
+    ERROR
+}
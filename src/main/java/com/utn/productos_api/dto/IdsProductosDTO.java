@@ -0,0 +1,19 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO con los IDs de los productos a buscar")
+public class IdsProductosDTO {
+
+    @NotEmpty(message = "Debe indicar al menos un ID")
+    @Schema(description = "IDs de los productos, en el orden en que se quieren recibir", example = "[1, 2, 3]")
+    private List<Long> ids;
+}
@@ -0,0 +1,15 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor
+@Schema(description = "DTO para actualizar un producto dentro de una operación masiva")
+public class ProductoBulkUpdateDTO extends ProductoDTO {
+
+    @NotNull(message = "El ID es obligatorio")
+    @Schema(description = "ID del producto a actualizar", example = "1")
+    private Long id;
+}
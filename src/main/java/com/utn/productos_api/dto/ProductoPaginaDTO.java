@@ -0,0 +1,23 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de productos obtenida mediante paginación por cursor")
+public class ProductoPaginaDTO {
+
+    @Schema(description = "Productos de la página, ordenados por ID")
+    private List<ProductoResponseDTO> contenido;
+
+    @Schema(description = "Cantidad máxima de productos por página", example = "50")
+    private int tamanio;
+
+    @Schema(description = "Cursor opaco para pedir la página siguiente (null si no hay más)",
+            example = "djE6NTA")
+    private String siguienteCursor;
+}
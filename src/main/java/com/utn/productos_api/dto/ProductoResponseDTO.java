@@ -1,30 +1,42 @@
 package com.utn.productos_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.utn.productos_api.model.Categoria;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
-@Getter @Setter
-@NoArgsConstructor
+import java.time.Instant;
+
+// Inmutable: las mismas instancias se comparten entre peticiones desde la caché de lectura
+@Getter
 @AllArgsConstructor
 @Schema(description = "DTO de respuesta con la información completa del producto")
 public class ProductoResponseDTO {
 
     @Schema(description = "ID único del producto", example = "1")
-    private Long id;
+    private final Long id;
 
     @Schema(description = "Nombre del producto", example = "Laptop HP Pavilion")
-    private String nombre;
+    private final String nombre;
 
     @Schema(description = "Descripción del producto", example = "Laptop con procesador Intel i5")
-    private String descripcion;
+    private final String descripcion;
 
     @Schema(description = "Precio del producto", example = "899.99")
-    private Double precio;
+    private final Double precio;
 
     @Schema(description = "Cantidad en stock", example = "50")
-    private Integer stock;
+    private final Integer stock;
 
     @Schema(description = "Categoría del producto", example = "ELECTRONICA")
-    private Categoria categoria;
-}
\ No newline at end of file
+    private final Categoria categoria;
+
+    // Viajan en los encabezados ETag y Last-Modified, no en el cuerpo
+    @JsonIgnore
+    @Schema(hidden = true)
+    private final Long version;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private final Instant modificadoEn;
+}
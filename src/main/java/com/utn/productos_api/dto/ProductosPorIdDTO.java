@@ -0,0 +1,19 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de buscar varios productos por ID en una sola petición")
+public class ProductosPorIdDTO {
+
+    @Schema(description = "Productos encontrados, en el orden en que se pidieron sus IDs")
+    private List<ProductoResponseDTO> productos;
+
+    @Schema(description = "IDs pedidos que no corresponden a ningún producto", example = "[42]")
+    private List<Long> noEncontrados;
+}
@@ -0,0 +1,22 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Fila rechazada de una importación")
+public class RechazoImportacionDTO {
+
+    @Schema(description = "Número de línea en el archivo (empezando en 1)", example = "42")
+    private long linea;
+
+    @Schema(description = "Contenido de la línea tal como está en el archivo")
+    private String contenido;
+
+    @Schema(description = "Motivos del rechazo")
+    private List<String> errores;
+}
@@ -0,0 +1,23 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ítem de una reserva de stock en lote")
+public class ReservaItemDTO {
+
+    @NotNull(message = "El ID del producto es obligatorio")
+    @Schema(description = "ID del producto a reservar", example = "1")
+    private Long productoId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad a reservar debe ser al menos 1")
+    @Schema(description = "Cantidad de unidades a reservar", example = "2")
+    private Integer cantidad;
+}
@@ -0,0 +1,21 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO para reservar stock de varios productos en una sola operación")
+public class ReservaLoteDTO {
+
+    @NotEmpty(message = "La reserva debe tener al menos un ítem")
+    @Valid
+    @Schema(description = "Productos y cantidades a reservar")
+    private List<ReservaItemDTO> items;
+}
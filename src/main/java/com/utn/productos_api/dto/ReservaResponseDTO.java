@@ -0,0 +1,30 @@
+package com.utn.productos_api.dto;
+
+import com.utn.productos_api.model.EstadoReserva;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO de respuesta con la información de una reserva de stock")
+public class ReservaResponseDTO {
+
+    @Schema(description = "ID de la reserva", example = "3f2b8c1e-4d5a-4f6b-9c7d-8e9f0a1b2c3d")
+    private UUID id;
+
+    @Schema(description = "ID del producto reservado", example = "1")
+    private Long productoId;
+
+    @Schema(description = "Cantidad reservada", example = "2")
+    private Integer cantidad;
+
+    @Schema(description = "Estado de la reserva", example = "PENDIENTE")
+    private EstadoReserva estado;
+
+    @Schema(description = "Fecha y hora de creación de la reserva")
+    private LocalDateTime creadaEn;
+}
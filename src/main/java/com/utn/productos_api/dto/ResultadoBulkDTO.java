@@ -0,0 +1,25 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumen de una operación masiva con el resultado de cada ítem")
+public class ResultadoBulkDTO {
+
+    @Schema(description = "Cantidad de ítems recibidos", example = "1000")
+    private int procesados;
+
+    @Schema(description = "Cantidad de ítems aplicados correctamente", example = "998")
+    private int exitosos;
+
+    @Schema(description = "Cantidad de ítems rechazados o con error", example = "2")
+    private int fallidos;
+
+    @Schema(description = "Resultado de cada ítem, en el orden de la entrada")
+    private List<ResultadoItemBulkDTO> resultados;
+}
@@ -0,0 +1,30 @@
+package com.utn.productos_api.dto;
+
+import com.utn.productos_api.model.Categoria;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado paginado de una búsqueda de productos con conteos por categoría")
+public class ResultadoBusquedaDTO {
+
+    @Schema(description = "Cantidad total de productos que cumplen la búsqueda y los filtros", example = "42")
+    private long total;
+
+    @Schema(description = "Número de página (empezando en 0)", example = "0")
+    private int pagina;
+
+    @Schema(description = "Cantidad máxima de resultados por página", example = "20")
+    private int tamanio;
+
+    @Schema(description = "Productos de la página, ordenados por relevancia")
+    private List<ProductoResponseDTO> resultados;
+
+    @Schema(description = "Cantidad de coincidencias por categoría (sin aplicar el filtro de categoría)")
+    private Map<Categoria, Long> facetas;
+}
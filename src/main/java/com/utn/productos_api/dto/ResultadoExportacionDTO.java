@@ -0,0 +1,23 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumen de la exportación del catálogo a un archivo")
+public class ResultadoExportacionDTO {
+
+    @Schema(description = "Archivo generado", example = "respaldo.ndjson")
+    private String archivo;
+
+    @Schema(description = "Productos exportados", example = "1000000")
+    private long productos;
+
+    @Schema(description = "Tamaño del archivo en bytes", example = "152340112")
+    private long bytes;
+
+    @Schema(description = "Duración en milisegundos", example = "6200")
+    private long duracionMs;
+}
@@ -0,0 +1,42 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumen de la importación de un archivo de productos")
+public class ResultadoImportacionDTO {
+
+    @Schema(description = "Archivo importado", example = "catalogo.csv")
+    private String archivo;
+
+    @Schema(description = "true si se llegó al final del archivo; false si se cortó por un error (se puede reanudar)",
+            example = "true")
+    private boolean completa;
+
+    @Schema(description = "Línea desde la que se reanudó (0 si empezó desde el principio)", example = "0")
+    private long reanudadaDesdeLinea;
+
+    @Schema(description = "Filas importadas en total, contando las de ejecuciones anteriores", example = "999998")
+    private long importadas;
+
+    @Schema(description = "Filas rechazadas en total, contando las de ejecuciones anteriores", example = "2")
+    private long rechazadas;
+
+    @Schema(description = "Archivo con todas las filas rechazadas y sus motivos (NDJSON)",
+            example = "catalogo.csv.rechazos.ndjson")
+    private String archivoRechazos;
+
+    @Schema(description = "Primeras filas rechazadas en esta ejecución")
+    private List<RechazoImportacionDTO> primerosRechazos;
+
+    @Schema(description = "Motivo del corte si la importación no se completó")
+    private String error;
+
+    @Schema(description = "Duración de esta ejecución en milisegundos", example = "41250")
+    private long duracionMs;
+}
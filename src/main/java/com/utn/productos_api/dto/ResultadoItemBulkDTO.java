@@ -0,0 +1,25 @@
+package com.utn.productos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de un ítem de una operación masiva")
+public class ResultadoItemBulkDTO {
+
+    @Schema(description = "Posición del ítem en la entrada (empezando en 0)", example = "0")
+    private int indice;
+
+    @Schema(description = "ID del producto afectado, si se conoce", example = "1")
+    private Long id;
+
+    @Schema(description = "Resultado del ítem", example = "CREADO")
+    private EstadoItemBulk estado;
+
+    @Schema(description = "Errores de validación o de persistencia del ítem")
+    private List<String> errores;
+}
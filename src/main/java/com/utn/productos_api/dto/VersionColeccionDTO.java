@@ -0,0 +1,28 @@
+package com.utn.productos_api.dto;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Versión agregada de un conjunto de productos, calculada con una sola consulta de agregación.
+// Cantidad y suma de IDs detectan altas y bajas; la suma de versiones, las modificaciones.
+@Getter
+public class VersionColeccionDTO {
+
+    private final long cantidad;
+    private final long sumaIds;
+    private final long sumaVersiones;
+    private final Instant ultimaModificacion;
+
+    // SUM y MAX devuelven null sobre un conjunto vacío
+    public VersionColeccionDTO(Long cantidad, Long sumaIds, Long sumaVersiones, Instant ultimaModificacion) {
+        this.cantidad = cantidad != null ? cantidad : 0L;
+        this.sumaIds = sumaIds != null ? sumaIds : 0L;
+        this.sumaVersiones = sumaVersiones != null ? sumaVersiones : 0L;
+        this.ultimaModificacion = ultimaModificacion;
+    }
+
+    public VersionColeccionDTO conUltimaModificacion(Instant ultimaModificacion) {
+        return new VersionColeccionDTO(cantidad, sumaIds, sumaVersiones, ultimaModificacion);
+    }
+}
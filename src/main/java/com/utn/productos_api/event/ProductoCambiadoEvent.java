@@ -0,0 +1,65 @@
+package com.utn.productos_api.event;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.Producto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Evento publicado por cada escritura sobre un producto. Los interesados lo reciben después del commit
+// con @TransactionalEventListener, así nunca reaccionan a cambios que terminaron en rollback.
+@Getter
+@AllArgsConstructor
+public class ProductoCambiadoEvent {
+
+    public static final List<String> TODOS_LOS_CAMPOS = List.of("nombre", "descripcion", "precio", "stock", "categoria");
+    public static final List<String> SOLO_STOCK = List.of("stock");
+
+    private final TipoCambio tipo;
+    private final Long productoId;
+
+    // Categoría que tenía el producto antes del cambio (null si recién se crea, o en una eliminación que no la
+    // consultó: ver categoriaDesconocida)
+    private final Categoria categoriaAnterior;
+
+    // Categoría después del cambio (null si se eliminó)
+    private final Categoria categoria;
+
+    // Estado nuevo del producto, si se conoce sin volver a consultarlo (null en eliminaciones)
+    private final ProductoResponseDTO producto;
+
+    // Nombres de los campos que cambiaron (vacío en eliminaciones)
+    private final List<String> campos;
+
+    // Una baja de un producto que no estaba en caché se hace con un único DELETE, sin leer antes su categoría:
+    // quien dependa de la categoría debe invalidar todas
+    public boolean categoriaDesconocida() {
+        return tipo == TipoCambio.ELIMINADO && categoriaAnterior == null;
+    }
+
+    // Campos que cambiarían al aplicar el DTO sobre el producto actual (se llama antes de modificarlo)
+    public static List<String> camposModificados(Producto actual, ProductoDTO nuevo) {
+        List<String> campos = new ArrayList<>(TODOS_LOS_CAMPOS.size());
+        if (!Objects.equals(actual.getNombre(), nuevo.getNombre())) {
+            campos.add("nombre");
+        }
+        if (!Objects.equals(actual.getDescripcion(), nuevo.getDescripcion())) {
+            campos.add("descripcion");
+        }
+        if (!Objects.equals(actual.getPrecio(), nuevo.getPrecio())) {
+            campos.add("precio");
+        }
+        if (!Objects.equals(actual.getStock(), nuevo.getStock())) {
+            campos.add("stock");
+        }
+        if (actual.getCategoria() != nuevo.getCategoria()) {
+            campos.add("categoria");
+        }
+        return campos;
+    }
+}
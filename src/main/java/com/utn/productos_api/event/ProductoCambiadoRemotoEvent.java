@@ -0,0 +1,23 @@
+package com.utn.productos_api.event;
+
+import com.utn.productos_api.model.Categoria;
+
+import java.util.List;
+
+// Cambio confirmado en otro nodo del cluster, recibido por el bus de invalidaciones. Se publica localmente para que
+// las cachés, el índice de búsqueda y el feed de cambios de este nodo reaccionen igual que ante un cambio propio.
+// No trae el estado del producto: quien lo necesite lo relee de la base, que ya tiene el cambio confirmado.
+public class ProductoCambiadoRemotoEvent extends ProductoCambiadoEvent {
+
+    private final String nodoOrigen;
+
+    public ProductoCambiadoRemotoEvent(String nodoOrigen, TipoCambio tipo, Long productoId,
+                                       Categoria categoriaAnterior, Categoria categoria, List<String> campos) {
+        super(tipo, productoId, categoriaAnterior, categoria, null, campos);
+        this.nodoOrigen = nodoOrigen;
+    }
+
+    public String getNodoOrigen() {
+        return nodoOrigen;
+    }
+}
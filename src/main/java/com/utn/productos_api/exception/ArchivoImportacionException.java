@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class ArchivoImportacionException extends DominioException {
+
+    public ArchivoImportacionException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ArchivoImportacionException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class CursorInvalidoException extends DominioException {
+
+    public CursorInvalidoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public CursorInvalidoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
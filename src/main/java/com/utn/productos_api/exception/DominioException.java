@@ -0,0 +1,15 @@
+package com.utn.productos_api.exception;
+
+// Base de las excepciones de negocio. GlobalExceptionHandler las traduce a respuestas 4xx y nunca llegan al log,
+// así que no capturan la traza de la pila: recorrer la pila es lo más caro de crear una excepción, y es lo que se
+// paga en cada petición de un bot que prueba IDs inexistentes.
+public abstract class DominioException extends RuntimeException {
+
+    protected DominioException(String mensaje) {
+        super(mensaje, null, false, false);
+    }
+
+    protected DominioException(String mensaje, Throwable causa) {
+        super(mensaje, causa, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class EntradaBulkInvalidaException extends DominioException {
+
+    public EntradaBulkInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+
+    public EntradaBulkInvalidaException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -1,92 +1,113 @@
 package com.utn.productos_api.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
-import java.util.Collections; // Usaremos esta utilidad para Listas
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
+// Todas las respuestas de error usan el formato RFC 7807 (ver Problema). La ruta se toma directamente de la
+// petición, sin pasar por WebRequest.getDescription().
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     // Manejo de ProductoNotFoundException - 404
     @ExceptionHandler(ProductoNotFoundException.class)
-    public ResponseEntity<ErrorResponse> manejarProductoNoEncontrado(
-            ProductoNotFoundException ex, WebRequest request) {
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
-                ex.getMessage(),
-                request.getDescription(false).replace("uri=", ""),
-                Collections.emptyList() // CORRECCIÓN: Se agrega List.of() o Collections.emptyList()
-        );
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<Problema> manejarProductoNoEncontrado(
+            ProductoNotFoundException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI()).comoRespuesta();
     }
 
     // Manejo de StockInsuficienteException - 400
     @ExceptionHandler(StockInsuficienteException.class)
-    public ResponseEntity<ErrorResponse> manejarStockInsuficiente(
-            StockInsuficienteException ex, WebRequest request) {
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                ex.getMessage(),
-                request.getDescription(false).replace("uri=", ""),
-                Collections.emptyList() // CORRECCIÓN: Se agrega List.of() o Collections.emptyList()
-        );
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Problema> manejarStockInsuficiente(
+            StockInsuficienteException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()).comoRespuesta();
     }
 
-    // Manejo de errores de validación - 400 (Este ya estaba correcto, ya que pasa la lista 'errores')
+    // Manejo de ReservaNotFoundException - 404
+    @ExceptionHandler(ReservaNotFoundException.class)
+    public ResponseEntity<Problema> manejarReservaNoEncontrada(
+            ReservaNotFoundException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI()).comoRespuesta();
+    }
+
+    // Manejo de ReservaEstadoInvalidoException - 409
+    @ExceptionHandler(ReservaEstadoInvalidoException.class)
+    public ResponseEntity<Problema> manejarReservaEstadoInvalido(
+            ReservaEstadoInvalidoException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI()).comoRespuesta();
+    }
+
+    // Manejo de CursorInvalidoException - 400
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<Problema> manejarCursorInvalido(
+            CursorInvalidoException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()).comoRespuesta();
+    }
+
+    // Manejo de OrdenInvalidoException - 400
+    @ExceptionHandler(OrdenInvalidoException.class)
+    public ResponseEntity<Problema> manejarOrdenInvalido(
+            OrdenInvalidoException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()).comoRespuesta();
+    }
+
+    // Manejo de LimiteIdsExcedidoException - 400
+    @ExceptionHandler(LimiteIdsExcedidoException.class)
+    public ResponseEntity<Problema> manejarLimiteIdsExcedido(
+            LimiteIdsExcedidoException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()).comoRespuesta();
+    }
+
+    // Manejo de ArchivoImportacionException - 400
+    @ExceptionHandler(ArchivoImportacionException.class)
+    public ResponseEntity<Problema> manejarArchivoImportacion(
+            ArchivoImportacionException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI()).comoRespuesta();
+    }
+
+    // Manejo de ServicioSaturadoException - 503
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<Problema> manejarServicioSaturado(
+            ServicioSaturadoException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI())
+                .comoRespuesta(1);
+    }
+
+    // Manejo de TiempoAgotadoException - 503
+    @ExceptionHandler(TiempoAgotadoException.class)
+    public ResponseEntity<Problema> manejarTiempoAgotado(
+            TiempoAgotadoException ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI())
+                .comoRespuesta(1);
+    }
+
+    // Manejo de errores de validación - 400
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> manejarErroresValidacion(
-            MethodArgumentNotValidException ex, WebRequest request) {
-
-        List<String> errores = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .collect(Collectors.toList());
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                "Error de validación en los datos de entrada",
-                request.getDescription(false).replace("uri=", ""),
-                errores // Aquí se pasa la lista de errores
-        );
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Problema> manejarErroresValidacion(
+            MethodArgumentNotValidException ex, HttpServletRequest request) {
+
+        List<FieldError> camposConError = ex.getBindingResult().getFieldErrors();
+        List<String> errores = new ArrayList<>(camposConError.size());
+        for (FieldError error : camposConError) {
+            errores.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+
+        return new Problema(HttpStatus.BAD_REQUEST, "Error de validación en los datos de entrada",
+                request.getRequestURI(), errores).comoRespuesta();
     }
 
     // Manejo de excepciones generales - 500
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> manejarExcepcionGeneral(
-            Exception ex, WebRequest request) {
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal Server Error",
-                "Ha ocurrido un error interno en el servidor",
-                request.getDescription(false).replace("uri=", ""),
-                Collections.emptyList() // CORRECCIÓN: Se agrega List.of() o Collections.emptyList()
-        );
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<Problema> manejarExcepcionGeneral(
+            Exception ex, HttpServletRequest request) {
+        return new Problema(HttpStatus.INTERNAL_SERVER_ERROR, "Ha ocurrido un error interno en el servidor",
+                request.getRequestURI()).comoRespuesta();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class LimiteIdsExcedidoException extends DominioException {
+
+    public LimiteIdsExcedidoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public LimiteIdsExcedidoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class OrdenInvalidoException extends DominioException {
+
+    public OrdenInvalidoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public OrdenInvalidoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
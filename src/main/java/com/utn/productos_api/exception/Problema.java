@@ -0,0 +1,109 @@
+package com.utn.productos_api.exception;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+// Respuesta de error con el formato de RFC 7807 (application/problem+json):
+//   {"title":"Not Found","status":404,"detail":"Producto no encontrado con ID: 999","instance":"/api/productos/999"}
+// Implementa JsonSerializable, así Jackson la escribe llamando a serialize() en lugar de introspectar la clase.
+// La fecha del error no va en el cuerpo: ya viaja en la cabecera Date de la respuesta.
+@Schema(description = "Error en formato RFC 7807 (application/problem+json)")
+public final class Problema implements JsonSerializable {
+
+    private final HttpStatus estado;
+    private final String detalle;
+    private final String instancia;
+    private final List<String> detalles;
+
+    public Problema(HttpStatus estado, String detalle, String instancia) {
+        this(estado, detalle, instancia, List.of());
+    }
+
+    public Problema(HttpStatus estado, String detalle, String instancia, List<String> detalles) {
+        this.estado = estado;
+        this.detalle = detalle;
+        this.instancia = instancia;
+        this.detalles = detalles;
+    }
+
+    public ResponseEntity<Problema> comoRespuesta() {
+        return ResponseEntity.status(estado)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(this);
+    }
+
+    // Para los 503: indica al cliente cuándo reintentar
+    public ResponseEntity<Problema> comoRespuesta(long reintentarEnSegundos) {
+        return ResponseEntity.status(estado)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(reintentarEnSegundos))
+                .body(this);
+    }
+
+    // Para los filtros, que escriben la respuesta fuera de Spring MVC
+    public void escribir(JsonGenerator generador) throws IOException {
+        generador.writeStartObject();
+        generador.writeStringField("title", estado.getReasonPhrase());
+        generador.writeNumberField("status", estado.value());
+        if (detalle != null) {
+            generador.writeStringField("detail", detalle);
+        }
+        if (instancia != null) {
+            generador.writeStringField("instance", instancia);
+        }
+        if (!detalles.isEmpty()) {
+            generador.writeArrayFieldStart("detalles");
+            for (String item : detalles) {
+                generador.writeString(item);
+            }
+            generador.writeEndArray();
+        }
+        generador.writeEndObject();
+    }
+
+    @Override
+    public void serialize(JsonGenerator generador, SerializerProvider serializers) throws IOException {
+        escribir(generador);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generador, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        escribir(generador);
+    }
+
+    @Schema(description = "Descripción corta del estado HTTP", example = "Not Found")
+    public String getTitle() {
+        return estado.getReasonPhrase();
+    }
+
+    @Schema(description = "Código de estado HTTP", example = "404")
+    public int getStatus() {
+        return estado.value();
+    }
+
+    @Schema(description = "Explicación del error", example = "Producto no encontrado con ID: 999")
+    public String getDetail() {
+        return detalle;
+    }
+
+    @Schema(description = "Ruta de la petición", example = "/api/productos/999")
+    public String getInstance() {
+        return instancia;
+    }
+
+    @Schema(description = "Errores de validación por campo (solo en 400 de validación)")
+    public List<String> getDetalles() {
+        return detalles;
+    }
+}
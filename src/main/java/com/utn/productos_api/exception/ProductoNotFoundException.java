@@ -1,12 +1,28 @@
 package com.utn.productos_api.exception;
 
-public class ProductoNotFoundException extends RuntimeException {
+public class ProductoNotFoundException extends DominioException {
+
+    private final Long id;
+
+    // El mensaje se arma recién cuando alguien lo pide (al escribir la respuesta), no al lanzar la excepción
+    public ProductoNotFoundException(Long id) {
+        super(null);
+        this.id = id;
+    }
 
     public ProductoNotFoundException(String mensaje) {
         super(mensaje);
+        this.id = null;
     }
 
     public ProductoNotFoundException(String mensaje, Throwable causa) {
         super(mensaje, causa);
+        this.id = null;
+    }
+
+    @Override
+    public String getMessage() {
+        String mensaje = super.getMessage();
+        return mensaje != null ? mensaje : "Producto no encontrado con ID: " + id;
     }
-}
\ No newline at end of file
+}
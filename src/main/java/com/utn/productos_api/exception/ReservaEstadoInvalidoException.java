@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class ReservaEstadoInvalidoException extends DominioException {
+
+    public ReservaEstadoInvalidoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ReservaEstadoInvalidoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
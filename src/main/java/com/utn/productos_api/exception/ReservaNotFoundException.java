@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class ReservaNotFoundException extends DominioException {
+
+    public ReservaNotFoundException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ReservaNotFoundException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class ServicioSaturadoException extends DominioException {
+
+    public ServicioSaturadoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ServicioSaturadoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
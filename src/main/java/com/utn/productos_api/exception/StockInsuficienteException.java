@@ -1,6 +1,6 @@
 package com.utn.productos_api.exception;
 
-public class StockInsuficienteException extends RuntimeException {
+public class StockInsuficienteException extends DominioException {
 
     public StockInsuficienteException(String mensaje) {
         super(mensaje);
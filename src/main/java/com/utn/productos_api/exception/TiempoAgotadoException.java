@@ -0,0 +1,12 @@
+package com.utn.productos_api.exception;
+
+public class TiempoAgotadoException extends DominioException {
+
+    public TiempoAgotadoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public TiempoAgotadoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,101 @@
+package com.utn.productos_api.generador;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.model.Categoria;
+
+import java.util.SplittableRandom;
+
+// Productos sintéticos reproducibles: el producto i depende solo de la semilla y de i, así una generación cortada se
+// completa con los mismos datos que habría tenido y dos corridas con la misma semilla producen el mismo catálogo.
+// Las categorías siguen una distribución de Zipf con exponente 'sesgo' en el orden de Categoria (0 = uniforme; con 1
+// ELECTRONICA tiene 5 veces los productos de DEPORTES). Las descripciones miden en promedio 'largoDescripcion'
+// caracteres (entre la mitad y una vez y media, hasta 500).
+public final class CatalogoSintetico {
+
+    private static final int LARGO_MAXIMO_DESCRIPCION = 500;
+
+    private static final String[] SUSTANTIVOS = {
+            "Auricular", "Mochila", "Zapatilla", "Lámpara", "Cafetera", "Campera", "Pelota", "Termo", "Silla",
+            "Monitor", "Teclado", "Remera", "Sartén", "Bicicleta", "Reloj", "Parlante", "Almohada", "Raqueta",
+            "Mate", "Yerba", "Galletita", "Aceite", "Cuaderno", "Licuadora", "Buzo", "Guante", "Mesa", "Cable"
+    };
+    private static final String[] ADJETIVOS = {
+            "Clásico", "Compacto", "Deportivo", "Ecológico", "Premium", "Liviano", "Reforzado", "Inalámbrico",
+            "Artesanal", "Plegable", "Urbano", "Térmico", "Orgánico", "Profesional", "Básico", "Retro"
+    };
+    private static final String[] PALABRAS = {
+            "ideal", "para", "uso", "diario", "con", "garantía", "de", "un", "año", "fabricado", "en", "material",
+            "resistente", "y", "liviano", "diseño", "moderno", "fácil", "limpieza", "incluye", "accesorios",
+            "apto", "exterior", "interior", "colores", "varios", "alta", "calidad", "terminación", "mate", "brillante",
+            "medidas", "estándar", "producto", "nacional", "importado", "envío", "rápido", "stock", "limitado"
+    };
+    // Rango de precios (mínimo, máximo) por categoría; el precio se reparte uniforme en escala logarítmica
+    private static final double[][] PRECIOS = {
+            {20, 3000},   // ELECTRONICA
+            {5, 300},     // ROPA
+            {0.5, 60},    // ALIMENTOS
+            {3, 800},     // HOGAR
+            {5, 1500}     // DEPORTES
+    };
+
+    private final long semilla;
+    private final int largoDescripcion;
+    private final double[] acumuladas;
+
+    public CatalogoSintetico(long semilla, double sesgo, int largoDescripcion) {
+        if (sesgo < 0) {
+            throw new IllegalArgumentException("El sesgo de categorías no puede ser negativo: " + sesgo);
+        }
+        this.semilla = semilla;
+        this.largoDescripcion = Math.max(0, Math.min(largoDescripcion, LARGO_MAXIMO_DESCRIPCION));
+        Categoria[] categorias = Categoria.values();
+        this.acumuladas = new double[categorias.length];
+        double total = 0;
+        for (int i = 0; i < categorias.length; i++) {
+            total += 1.0 / Math.pow(i + 1, sesgo);
+            acumuladas[i] = total;
+        }
+        for (int i = 0; i < acumuladas.length; i++) {
+            acumuladas[i] /= total;
+        }
+    }
+
+    public ProductoDTO producto(long indice) {
+        SplittableRandom azar = new SplittableRandom(semilla * 0x9E3779B97F4A7C15L + indice);
+        Categoria categoria = categoria(azar.nextDouble());
+        double[] rango = PRECIOS[categoria.ordinal()];
+        double precio = Math.exp(Math.log(rango[0]) + azar.nextDouble() * (Math.log(rango[1]) - Math.log(rango[0])));
+        // Uno de cada veinte sin stock
+        int stock = azar.nextInt(20) == 0 ? 0 : azar.nextInt(1, 1000);
+        String nombre = SUSTANTIVOS[azar.nextInt(SUSTANTIVOS.length)] + " "
+                + ADJETIVOS[azar.nextInt(ADJETIVOS.length)] + " " + (indice + 1);
+        return new ProductoDTO(nombre, descripcion(azar), Math.round(precio * 100) / 100.0, stock, categoria);
+    }
+
+    private Categoria categoria(double u) {
+        for (int i = 0; i < acumuladas.length - 1; i++) {
+            if (u < acumuladas[i]) {
+                return Categoria.values()[i];
+            }
+        }
+        return Categoria.values()[acumuladas.length - 1];
+    }
+
+    private String descripcion(SplittableRandom azar) {
+        if (largoDescripcion == 0) {
+            return null;
+        }
+        int largo = Math.min(LARGO_MAXIMO_DESCRIPCION,
+                largoDescripcion / 2 + azar.nextInt(largoDescripcion + 1));
+        StringBuilder texto = new StringBuilder(largo + 16);
+        while (texto.length() < largo) {
+            if (!texto.isEmpty()) {
+                texto.append(' ');
+            }
+            texto.append(PALABRAS[azar.nextInt(PALABRAS.length)]);
+        }
+        texto.setLength(Math.min(texto.length(), LARGO_MAXIMO_DESCRIPCION));
+        texto.setCharAt(0, Character.toUpperCase(texto.charAt(0)));
+        return texto.toString();
+    }
+}
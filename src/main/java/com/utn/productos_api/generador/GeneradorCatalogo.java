@@ -0,0 +1,82 @@
+package com.utn.productos_api.generador;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.replica.RuteoLecturas;
+import com.utn.productos_api.repository.ProductoRepository;
+import com.utn.productos_api.service.ProductoBulkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Perfil "generador": antes de aceptar tráfico completa el catálogo con productos de CatalogoSintetico hasta tener
+// 'productos.generador.productos', en lotes JDBC de 'lote' por transacción. Corre antes que DataLoader (que ya no
+// carga los ejemplos porque la tabla no está vacía) y antes de ApplicationReadyEvent: las cachés y los índices en
+// memoria todavía están vacíos y se construyen después leyendo la base, por eso se inserta sin eventos.
+// Si se corta, al volver a arrancar continúa desde la cantidad que ya hay en la tabla (count(), no el último índice
+// generado): solo reproduce el catálogo exacto si la tabla empezó vacía y nadie agregó ni borró productos.
+@Component
+@Profile("generador")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class GeneradorCatalogo implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorCatalogo.class);
+
+    private final ProductoBulkService productoBulkService;
+    private final ProductoRepository productoRepository;
+    private final CatalogoSintetico catalogo;
+    private final long cantidad;
+    private final int tamanioLote;
+
+    // Inyección por constructor
+    public GeneradorCatalogo(ProductoBulkService productoBulkService,
+                             ProductoRepository productoRepository,
+                             @Value("${productos.generador.productos:100000}") long cantidad,
+                             @Value("${productos.generador.sesgo-categorias:1.0}") double sesgoCategorias,
+                             @Value("${productos.generador.largo-descripcion:200}") int largoDescripcion,
+                             @Value("${productos.generador.lote:1000}") int tamanioLote,
+                             @Value("${productos.generador.semilla:42}") long semilla) {
+        this.productoBulkService = productoBulkService;
+        this.productoRepository = productoRepository;
+        this.catalogo = new CatalogoSintetico(semilla, sesgoCategorias, largoDescripcion);
+        this.cantidad = cantidad;
+        this.tamanioLote = Math.max(1, tamanioLote);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long existentes = RuteoLecturas.desdePrimaria(productoRepository::count);
+        if (existentes >= cantidad) {
+            log.info("El catálogo ya tiene {} productos; no se generan más", existentes);
+            return;
+        }
+        log.info("Generando {} productos sintéticos (hay {})", cantidad - existentes, existentes);
+        long inicio = System.nanoTime();
+        long ultimoAviso = inicio;
+        List<ProductoDTO> lote = new ArrayList<>(tamanioLote);
+        for (long indice = existentes; indice < cantidad; indice++) {
+            lote.add(catalogo.producto(indice));
+            if (lote.size() == tamanioLote || indice == cantidad - 1) {
+                productoBulkService.crearValidados(lote, false);
+                lote.clear();
+                long ahora = System.nanoTime();
+                if (ahora - ultimoAviso > 10_000_000_000L) {
+                    ultimoAviso = ahora;
+                    log.info("Generados {} de {} productos", indice + 1, cantidad);
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("Catálogo sintético completo: {} productos nuevos en {} s ({} productos/s)",
+                cantidad - existentes, String.format("%.1f", segundos),
+                Math.round((cantidad - existentes) / Math.max(segundos, 1e-3)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.utn.productos_api.idempotencia;
+
+// Dónde se guardan las Idempotency-Key y sus respuestas (ver IdempotenciaConfig). La reserva es atómica: entre
+// varios nodos con el mismo almacén, una sola petición ejecuta cada clave.
+public interface AlmacenIdempotencia extends AutoCloseable {
+
+    // Reserva la clave para ejecutar la petición; si ya estaba reservada o completada devuelve ese registro y no
+    // reserva nada
+    RegistroIdempotencia reservar(String clave, String huella);
+
+    // Guarda la respuesta de una clave reservada; desde ahí se repite hasta que vence
+    void completar(String clave, String huella, RespuestaGuardada respuesta);
+
+    // Suelta una reserva cuya ejecución falló, para que un reintento vuelva a ejecutarla
+    void liberar(String clave);
+
+    @Override
+    default void close() {
+    }
+}
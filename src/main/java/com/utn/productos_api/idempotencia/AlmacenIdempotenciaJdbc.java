@@ -0,0 +1,108 @@
+package com.utn.productos_api.idempotencia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Almacén compartido por todos los nodos en la tabla 'idempotencia' (migración V2, perfiles h2file y postgres).
+// La reserva es un INSERT: la clave primaria decide qué nodo ejecuta. Las filas vencidas se borran periódicamente;
+// una vencida que todavía no se borró se reemplaza al reservar.
+class AlmacenIdempotenciaJdbc implements AlmacenIdempotencia {
+
+    private static final Logger log = LoggerFactory.getLogger(AlmacenIdempotenciaJdbc.class);
+
+    private static final String INSERTAR =
+            "INSERT INTO idempotencia (clave, huella, vence_en) VALUES (?, ?, ?)";
+    private static final String BUSCAR_VIGENTE =
+            "SELECT huella, estado_http, tipo_contenido, etag, cuerpo FROM idempotencia "
+                    + "WHERE clave = ? AND vence_en > ?";
+    private static final String COMPLETAR =
+            "UPDATE idempotencia SET estado_http = ?, tipo_contenido = ?, etag = ?, cuerpo = ?, vence_en = ? "
+                    + "WHERE clave = ?";
+    private static final String LIBERAR = "DELETE FROM idempotencia WHERE clave = ? AND estado_http IS NULL";
+    private static final String BORRAR_VENCIDA = "DELETE FROM idempotencia WHERE clave = ? AND vence_en <= ?";
+    private static final String BORRAR_VENCIDAS = "DELETE FROM idempotencia WHERE vence_en <= ?";
+
+    private static final RowMapper<RegistroIdempotencia> MAPEO = (fila, numero) -> {
+        int estado = fila.getInt("estado_http");
+        RespuestaGuardada respuesta = fila.wasNull() ? null : new RespuestaGuardada(estado,
+                fila.getString("tipo_contenido"), fila.getString("etag"), fila.getBytes("cuerpo"));
+        return new RegistroIdempotencia(fila.getString("huella"), respuesta);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration bloqueo;
+    private final ScheduledExecutorService limpieza;
+
+    AlmacenIdempotenciaJdbc(JdbcTemplate jdbcTemplate, Duration ttl, Duration bloqueo, Duration intervaloLimpieza) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.bloqueo = bloqueo;
+        this.limpieza = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "idempotencia-limpieza");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        limpieza.scheduleWithFixedDelay(this::borrarVencidas, intervaloLimpieza.toMillis(),
+                intervaloLimpieza.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public RegistroIdempotencia reservar(String clave, String huella) {
+        Instant ahora = Instant.now();
+        for (int intento = 0; intento < 2; intento++) {
+            try {
+                jdbcTemplate.update(INSERTAR, clave, huella, Timestamp.from(ahora.plus(bloqueo)));
+                return null;
+            } catch (DuplicateKeyException e) {
+                List<RegistroIdempotencia> vigentes = jdbcTemplate.query(BUSCAR_VIGENTE, MAPEO, clave,
+                        Timestamp.from(ahora));
+                if (!vigentes.isEmpty()) {
+                    return vigentes.get(0);
+                }
+                jdbcTemplate.update(BORRAR_VENCIDA, clave, Timestamp.from(ahora));
+            }
+        }
+        // Otro nodo la reservó entre el borrado y el segundo intento
+        return new RegistroIdempotencia(huella, null);
+    }
+
+    @Override
+    public void completar(String clave, String huella, RespuestaGuardada respuesta) {
+        jdbcTemplate.update(COMPLETAR, respuesta.estado(), respuesta.tipoContenido(), respuesta.etag(),
+                respuesta.cuerpo(), Timestamp.from(Instant.now().plus(ttl)), clave);
+    }
+
+    @Override
+    public void liberar(String clave) {
+        jdbcTemplate.update(LIBERAR, clave);
+    }
+
+    @Override
+    public void close() {
+        limpieza.shutdownNow();
+    }
+
+    private void borrarVencidas() {
+        try {
+            int borradas = jdbcTemplate.update(BORRAR_VENCIDAS, Timestamp.from(Instant.now()));
+            if (borradas > 0) {
+                log.debug("Se borraron {} claves de idempotencia vencidas", borradas);
+            }
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron borrar las claves de idempotencia vencidas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.utn.productos_api.idempotencia;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+// Almacén de un solo nodo en Caffeine: acotado en cantidad de claves; las respuestas vencen a los 'ttl' y las
+// reservas a los 'bloqueo' (por si una ejecución nunca terminara)
+class AlmacenIdempotenciaMemoria implements AlmacenIdempotencia {
+
+    private final Cache<String, RegistroIdempotencia> registros;
+
+    AlmacenIdempotenciaMemoria(long maxEntradas, Duration ttl, Duration bloqueo) {
+        long nanosTtl = ttl.toNanos();
+        long nanosBloqueo = bloqueo.toNanos();
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfter(new Expiry<String, RegistroIdempotencia>() {
+                    @Override
+                    public long expireAfterCreate(String clave, RegistroIdempotencia registro, long ahora) {
+                        return registro.enCurso() ? nanosBloqueo : nanosTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String clave, RegistroIdempotencia registro, long ahora,
+                                                  long restante) {
+                        return registro.enCurso() ? nanosBloqueo : nanosTtl;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String clave, RegistroIdempotencia registro, long ahora,
+                                                long restante) {
+                        return restante;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public RegistroIdempotencia reservar(String clave, String huella) {
+        return registros.asMap().putIfAbsent(clave, new RegistroIdempotencia(huella, null));
+    }
+
+    @Override
+    public void completar(String clave, String huella, RespuestaGuardada respuesta) {
+        registros.put(clave, new RegistroIdempotencia(huella, respuesta));
+    }
+
+    @Override
+    public void liberar(String clave) {
+        registros.asMap().computeIfPresent(clave, (k, registro) -> registro.enCurso() ? null : registro);
+    }
+}
@@ -0,0 +1,35 @@
+package com.utn.productos_api.idempotencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+// Almacén de Idempotency-Key según productos.idempotencia.almacen:
+//   memoria (por defecto) -> Caffeine, un solo nodo
+//   jdbc                  -> tabla 'idempotencia' en la base, compartida por todos los nodos
+@Configuration
+public class IdempotenciaConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "productos.idempotencia.almacen", havingValue = "memoria", matchIfMissing = true)
+    public AlmacenIdempotencia almacenIdempotenciaMemoria(
+            @Value("${productos.idempotencia.max-entradas:100000}") long maxEntradas,
+            @Value("${productos.idempotencia.ttl:24h}") Duration ttl,
+            @Value("${productos.idempotencia.bloqueo:30s}") Duration bloqueo) {
+        return new AlmacenIdempotenciaMemoria(maxEntradas, ttl, bloqueo);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "productos.idempotencia.almacen", havingValue = "jdbc")
+    public AlmacenIdempotencia almacenIdempotenciaJdbc(
+            JdbcTemplate jdbcTemplate,
+            @Value("${productos.idempotencia.ttl:24h}") Duration ttl,
+            @Value("${productos.idempotencia.bloqueo:30s}") Duration bloqueo,
+            @Value("${productos.idempotencia.limpieza:5m}") Duration limpieza) {
+        return new AlmacenIdempotenciaJdbc(jdbcTemplate, ttl, bloqueo, limpieza);
+    }
+}
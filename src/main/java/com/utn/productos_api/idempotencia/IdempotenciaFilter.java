@@ -0,0 +1,335 @@
+package com.utn.productos_api.idempotencia;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utn.productos_api.exception.Problema;
+import com.utn.productos_api.limites.IdentidadCliente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+// Cabecera Idempotency-Key en las escrituras de ProductoController (POST /api/productos, PUT y DELETE
+// /api/productos/{id}, PATCH /api/productos/{id}/stock). Un reintento con la misma clave recibe la respuesta guardada
+// (con Idempotent-Replayed: true) sin volver a ejecutar la escritura; si la clave llega con otra petición se responde
+// 422. Las claves son por cliente (ver IdentidadCliente).
+// Los duplicados concurrentes en el mismo nodo esperan (hasta 'espera') a que termine la primera ejecución y reciben
+// su respuesta; si la primera se ejecuta en otro nodo (almacén jdbc) se responde 409 con Retry-After. Las respuestas
+// 5xx no se guardan: la clave se libera para que un reintento posterior vuelva a ejecutar.
+// Va después de LimiteFilter: las peticiones rechazadas por los límites no reservan la clave.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "productos.idempotencia.habilitada", havingValue = "true", matchIfMissing = true)
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    static final String CABECERA_CLAVE = "Idempotency-Key";
+    static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+    private static final int LARGO_MAXIMO_CLAVE = 255;
+    // Largo de la columna 'clave' de la tabla idempotencia
+    private static final int LARGO_MAXIMO_ALMACEN = 400;
+
+    private static final Pattern CREAR = Pattern.compile("/api/productos/?");
+    private static final Pattern PRODUCTO = Pattern.compile("/api/productos/\\d+");
+    private static final Pattern STOCK = Pattern.compile("/api/productos/\\d+/stock");
+
+    private final AlmacenIdempotencia almacen;
+    private final IdentidadCliente identidadCliente;
+    private final ObjectMapper objectMapper;
+    private final long esperaMillis;
+    private final long maxCuerpo;
+    // Ejecuciones en curso en este nodo, para que los duplicados esperen su resultado
+    private final Map<String, CompletableFuture<RegistroIdempotencia>> enVuelo = new ConcurrentHashMap<>();
+    private final Counter ejecutadas;
+    private final Counter repetidas;
+    private final Counter rechazadas;
+
+    // Inyección por constructor
+    public IdempotenciaFilter(AlmacenIdempotencia almacen,
+                              IdentidadCliente identidadCliente,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${productos.idempotencia.espera:5s}") Duration espera,
+                              @Value("${productos.idempotencia.max-cuerpo:1MB}") DataSize maxCuerpo) {
+        this.almacen = almacen;
+        this.identidadCliente = identidadCliente;
+        this.objectMapper = objectMapper;
+        this.esperaMillis = espera.toMillis();
+        this.maxCuerpo = maxCuerpo.toBytes();
+        this.ejecutadas = contador(meterRegistry, "ejecutada");
+        this.repetidas = contador(meterRegistry, "repetida");
+        this.rechazadas = contador(meterRegistry, "rechazada");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(CABECERA_CLAVE) == null) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return switch (request.getMethod()) {
+            case "POST" -> !CREAR.matcher(uri).matches();
+            case "PUT", "DELETE" -> !PRODUCTO.matcher(uri).matches();
+            case "PATCH" -> !STOCK.matcher(uri).matches();
+            default -> true;
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String claveCliente = request.getHeader(CABECERA_CLAVE).trim();
+        if (claveCliente.isEmpty() || claveCliente.length() > LARGO_MAXIMO_CLAVE) {
+            rechazar(request, response, HttpStatus.BAD_REQUEST, 0,
+                    "La cabecera Idempotency-Key debe tener entre 1 y " + LARGO_MAXIMO_CLAVE + " caracteres");
+            return;
+        }
+        if (request.getContentLengthLong() > maxCuerpo) {
+            rechazar(request, response, HttpStatus.PAYLOAD_TOO_LARGE, 0,
+                    "El cuerpo de una petición con Idempotency-Key no puede superar " + maxCuerpo + " bytes");
+            return;
+        }
+        byte[] cuerpo = leerCuerpo(request.getInputStream());
+        if (cuerpo == null) {
+            rechazar(request, response, HttpStatus.PAYLOAD_TOO_LARGE, 0,
+                    "El cuerpo de una petición con Idempotency-Key no puede superar " + maxCuerpo + " bytes");
+            return;
+        }
+        String clave = identidadCliente.de(request) + " " + claveCliente;
+        if (clave.length() > LARGO_MAXIMO_ALMACEN) {
+            // Una X-API-Key muy larga: se guarda su resumen
+            clave = "#" + sha256(clave.getBytes(StandardCharsets.UTF_8));
+        }
+        String huella = huella(request, cuerpo);
+
+        CompletableFuture<RegistroIdempotencia> propia = new CompletableFuture<>();
+        CompletableFuture<RegistroIdempotencia> existente = enVuelo.putIfAbsent(clave, propia);
+        if (existente != null) {
+            esperarDuplicado(request, response, existente, huella);
+            return;
+        }
+        try {
+            RegistroIdempotencia registro = almacen.reservar(clave, huella);
+            if (registro != null) {
+                responderRegistro(request, response, registro, huella);
+                propia.complete(registro);
+                return;
+            }
+            RespuestaGuardada respuesta = ejecutar(new PeticionConCuerpo(request, cuerpo), response, filterChain);
+            if (respuesta.estado() >= 500) {
+                almacen.liberar(clave);
+            } else {
+                almacen.completar(clave, huella, respuesta);
+            }
+            ejecutadas.increment();
+            // Los duplicados que esperaban reciben esta misma respuesta, aunque sea un 5xx
+            propia.complete(new RegistroIdempotencia(huella, respuesta));
+        } catch (IOException | ServletException | RuntimeException e) {
+            almacen.liberar(clave);
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enVuelo.remove(clave, propia);
+        }
+    }
+
+    // Un duplicado de una ejecución en curso en este nodo: espera el registro con el que terminó (su respuesta, o la
+    // que ya estaba guardada) y responde como si lo hubiera leído del almacén
+    private void esperarDuplicado(HttpServletRequest request, HttpServletResponse response,
+                                  CompletableFuture<RegistroIdempotencia> enCurso, String huella)
+            throws IOException {
+        RegistroIdempotencia registro;
+        try {
+            registro = enCurso.get(esperaMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            rechazarEnCurso(request, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rechazarEnCurso(request, response);
+            return;
+        }
+        responderRegistro(request, response, registro, huella);
+    }
+
+    private void responderRegistro(HttpServletRequest request, HttpServletResponse response,
+                                   RegistroIdempotencia registro, String huella) throws IOException {
+        if (!registro.huella().equals(huella)) {
+            rechazadas.increment();
+            rechazar(request, response, HttpStatus.UNPROCESSABLE_ENTITY, 0,
+                    "La Idempotency-Key ya se usó con una petición distinta");
+            return;
+        }
+        if (registro.enCurso()) {
+            rechazarEnCurso(request, response);
+            return;
+        }
+        repetidas.increment();
+        RespuestaGuardada respuesta = registro.respuesta();
+        response.setStatus(respuesta.estado());
+        response.setHeader(CABECERA_REPETIDA, "true");
+        if (respuesta.tipoContenido() != null) {
+            response.setContentType(respuesta.tipoContenido());
+        }
+        if (respuesta.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, respuesta.etag());
+        }
+        if (respuesta.cuerpo() != null && respuesta.cuerpo().length > 0) {
+            response.setContentLength(respuesta.cuerpo().length);
+            response.getOutputStream().write(respuesta.cuerpo());
+        }
+    }
+
+    private RespuestaGuardada ejecutar(HttpServletRequest request, HttpServletResponse response,
+                                       FilterChain filterChain) throws IOException, ServletException {
+        ContentCachingResponseWrapper capturada = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, capturada);
+        RespuestaGuardada respuesta = new RespuestaGuardada(capturada.getStatus(), capturada.getContentType(),
+                capturada.getHeader(HttpHeaders.ETAG), capturada.getContentAsByteArray());
+        capturada.copyBodyToResponse();
+        return respuesta;
+    }
+
+    private void rechazarEnCurso(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rechazadas.increment();
+        rechazar(request, response, HttpStatus.CONFLICT, 1,
+                "Hay una petición con la misma Idempotency-Key en curso; reintente más tarde");
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, HttpStatus estado,
+                          long reintentarEnSegundos, String mensaje) throws IOException {
+        response.setStatus(estado.value());
+        if (reintentarEnSegundos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(reintentarEnSegundos));
+        }
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            new Problema(estado, mensaje, request.getRequestURI()).escribir(generador);
+        }
+    }
+
+    // null si supera maxCuerpo (cuando la petición no declara Content-Length)
+    private byte[] leerCuerpo(InputStream entrada) throws IOException {
+        byte[] cuerpo = entrada.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxCuerpo + 1));
+        return cuerpo.length > maxCuerpo ? null : cuerpo;
+    }
+
+    // SHA-256 de método, URI, query y cuerpo
+    private static String huella(HttpServletRequest request, byte[] cuerpo) {
+        String linea = request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "") + "\n";
+        return sha256(linea.getBytes(StandardCharsets.UTF_8), cuerpo);
+    }
+
+    private static String sha256(byte[]... partes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] parte : partes) {
+                digest.update(parte);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("productos.idempotencia")
+                .description("Peticiones con Idempotency-Key por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    // La petición con el cuerpo ya leído, para que el controlador lo vuelva a leer
+    private static final class PeticionConCuerpo extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        PeticionConCuerpo(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int desde, int cantidad) {
+                    return entrada.read(destino, desde, cantidad);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Lectura asíncrona no soportada");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String codificacion = getCharacterEncoding();
+            Charset charset = codificacion != null ? Charset.forName(codificacion) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+    }
+}
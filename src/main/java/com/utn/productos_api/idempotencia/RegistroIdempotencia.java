@@ -0,0 +1,9 @@
+package com.utn.productos_api.idempotencia;
+
+// Estado de una Idempotency-Key: la huella de la petición que la usó y su respuesta (null mientras se ejecuta)
+public record RegistroIdempotencia(String huella, RespuestaGuardada respuesta) {
+
+    public boolean enCurso() {
+        return respuesta == null;
+    }
+}
@@ -0,0 +1,5 @@
+package com.utn.productos_api.idempotencia;
+
+// Lo necesario para repetir una respuesta: estado, tipo de contenido, ETag y cuerpo ya serializado
+public record RespuestaGuardada(int estado, String tipoContenido, String etag, byte[] cuerpo) {
+}
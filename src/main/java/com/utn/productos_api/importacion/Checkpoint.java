@@ -0,0 +1,18 @@
+package com.utn.productos_api.importacion;
+
+import com.utn.productos_api.model.CheckpointImportacion;
+
+// Avance de una importación: desplazamiento y número de la próxima línea a leer, y contadores acumulados.
+// Se guarda como fila de checkpoints_importacion en la misma transacción que cada lote (ver ImportacionService).
+record Checkpoint(long desplazamiento, long linea, long importadas, long rechazadas) {
+
+    static final Checkpoint INICIAL = new Checkpoint(0, 0, 0, 0);
+
+    static Checkpoint desde(CheckpointImportacion fila) {
+        return new Checkpoint(fila.getDesplazamiento(), fila.getLinea(), fila.getImportadas(), fila.getRechazadas());
+    }
+
+    CheckpointImportacion comoFila(String archivo) {
+        return new CheckpointImportacion(archivo, desplazamiento, linea, importadas, rechazadas);
+    }
+}
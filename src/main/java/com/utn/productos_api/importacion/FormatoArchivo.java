@@ -0,0 +1,22 @@
+package com.utn.productos_api.importacion;
+
+import com.utn.productos_api.exception.ArchivoImportacionException;
+
+import java.util.Locale;
+
+// Formatos de importación y exportación, según la extensión del archivo
+public enum FormatoArchivo {
+    CSV,
+    NDJSON;
+
+    public static FormatoArchivo desde(String archivo) {
+        String nombre = archivo.toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new ArchivoImportacionException("Formato no soportado: " + archivo + " (se admite .csv, .ndjson o .jsonl)");
+    }
+}
@@ -0,0 +1,399 @@
+package com.utn.productos_api.importacion;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.RechazoImportacionDTO;
+import com.utn.productos_api.dto.ResultadoExportacionDTO;
+import com.utn.productos_api.dto.ResultadoImportacionDTO;
+import com.utn.productos_api.exception.ArchivoImportacionException;
+import com.utn.productos_api.repository.CheckpointImportacionRepository;
+import com.utn.productos_api.service.ProductoBulkService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Importación y exportación del catálogo desde/hacia archivos CSV o NDJSON del directorio
+// productos.importacion.directorio (solo nombres de archivo, nunca rutas).
+// Importación en tubería: este hilo lee lotes de líneas con LectorMapeado, un pool las convierte y valida en
+// paralelo (ProductoDTO con Bean Validation) y los lotes validados se guardan en orden, cada uno en su transacción.
+// Las filas rechazadas de cada lote se agregan a <archivo>.rechazos.ndjson y el lote se guarda junto con su
+// checkpoint (tabla checkpoints_importacion) en una sola transacción; si la importación se corta, reanudar=true
+// sigue desde el último lote confirmado sin repetir ni saltear productos.
+// La exportación recorre la tabla con JDBC y escribe cada fila directo del ResultSet al archivo, sin entidades ni DTOs.
+@Service
+public class ImportacionService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+
+    private static final int RECHAZOS_EN_RESPUESTA = 100;
+    private static final int FILAS_POR_FETCH = 1000;
+    private static final String SQL_EXPORTACION =
+            "SELECT id, nombre, descripcion, precio, stock, categoria FROM productos ORDER BY id";
+
+    private final ProductoBulkService productoBulkService;
+    private final CheckpointImportacionRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Path directorio;
+    private final int tamanioLote;
+    private final int lotesEnVuelo;
+    private final ExecutorService validadores;
+    private final Set<String> enCurso = ConcurrentHashMap.newKeySet();
+
+    public ImportacionService(ProductoBulkService productoBulkService,
+                              CheckpointImportacionRepository checkpointRepository,
+                              PlatformTransactionManager transactionManager,
+                              JdbcTemplate jdbcTemplate,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              @Value("${productos.importacion.directorio:./importaciones}") String directorio,
+                              @Value("${productos.importacion.tamanio-lote:1000}") int tamanioLote,
+                              @Value("${productos.importacion.hilos:0}") int hilos) {
+        this.productoBulkService = productoBulkService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.tamanioLote = tamanioLote;
+        int hilosEfectivos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        // Lotes validados esperando su turno: acota la memoria si la base escribe más lento de lo que se valida
+        this.lotesEnVuelo = hilosEfectivos * 2;
+        AtomicInteger contador = new AtomicInteger();
+        this.validadores = Executors.newFixedThreadPool(hilosEfectivos, tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-validacion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    public ResultadoImportacionDTO importar(String archivo, boolean reanudar) {
+        Path origen = resolver(archivo);
+        if (!Files.isRegularFile(origen)) {
+            throw new ArchivoImportacionException("No existe el archivo a importar: " + archivo);
+        }
+        FormatoArchivo formato = FormatoArchivo.desde(archivo);
+        if (!enCurso.add(archivo)) {
+            throw new ArchivoImportacionException("Ya hay una importación o exportación en curso de " + archivo);
+        }
+        try {
+            return importar(origen, formato, reanudar);
+        } finally {
+            enCurso.remove(archivo);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ResultadoExportacionDTO exportar(String archivo) {
+        Path destino = resolver(archivo);
+        FormatoArchivo formato = FormatoArchivo.desde(archivo);
+        if (!enCurso.add(archivo)) {
+            throw new ArchivoImportacionException("Ya hay una importación o exportación en curso de " + archivo);
+        }
+        long inicio = System.nanoTime();
+        // Se escribe en un temporal y se renombra al terminar: nunca queda un respaldo a medias con el nombre final
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directorio);
+            long productos;
+            try (BufferedWriter salida = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                productos = formato == FormatoArchivo.CSV ? exportarCsv(salida) : exportarNdjson(salida);
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new ResultadoExportacionDTO(archivo, productos, Files.size(destino),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo exportar a " + archivo, e);
+        } finally {
+            enCurso.remove(archivo);
+        }
+    }
+
+    // Métodos auxiliares de importación
+    private ResultadoImportacionDTO importar(Path origen, FormatoArchivo formato, boolean reanudar) {
+        long inicio = System.nanoTime();
+        String nombre = origen.getFileName().toString();
+        Path rutaRechazos = origen.resolveSibling(nombre + ".rechazos.ndjson");
+        List<RechazoImportacionDTO> primerosRechazos = new ArrayList<>();
+        Deque<Future<LoteValidado>> pendientes = new ArrayDeque<>();
+        Checkpoint checkpoint = Checkpoint.INICIAL;
+        long reanudadaDesde = 0;
+        String error = null;
+        try {
+            if (reanudar) {
+                checkpoint = checkpointRepository.findById(nombre).map(Checkpoint::desde).orElse(Checkpoint.INICIAL);
+                reanudadaDesde = checkpoint.linea();
+            } else {
+                checkpointRepository.deleteById(nombre);
+                Files.deleteIfExists(rutaRechazos);
+            }
+            Function<String, ProductoDTO> convertidor;
+            if (formato == FormatoArchivo.CSV) {
+                // El encabezado se lee siempre, también al reanudar, para ubicar las columnas
+                LectorMapeado.Linea encabezado;
+                try (LectorMapeado lector = new LectorMapeado(origen, 0, 0)) {
+                    encabezado = lector.siguiente();
+                }
+                if (encabezado == null) {
+                    throw new ArchivoImportacionException("El archivo CSV está vacío: " + nombre);
+                }
+                try {
+                    convertidor = new ParserCsv(encabezado.texto())::convertir;
+                } catch (IllegalArgumentException e) {
+                    throw new ArchivoImportacionException(e.getMessage(), e);
+                }
+                if (checkpoint.desplazamiento() == 0) {
+                    checkpoint = new Checkpoint(encabezado.fin(), 1, 0, 0);
+                }
+            } else {
+                convertidor = lectorNdjson(objectMapper.readerFor(ProductoDTO.class));
+            }
+
+            long importadas = checkpoint.importadas();
+            long rechazadas = checkpoint.rechazadas();
+            try (LectorMapeado lector = new LectorMapeado(origen, checkpoint.desplazamiento(), checkpoint.linea());
+                 BufferedWriter rechazos = Files.newBufferedWriter(rutaRechazos, StandardCharsets.UTF_8,
+                         StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                boolean finArchivo = false;
+                while (!finArchivo || !pendientes.isEmpty()) {
+                    if (!finArchivo && pendientes.size() < lotesEnVuelo) {
+                        List<LectorMapeado.Linea> lineas = leerLote(lector);
+                        if (lineas.isEmpty()) {
+                            finArchivo = true;
+                        } else {
+                            pendientes.add(validadores.submit(() -> validar(lineas, convertidor)));
+                        }
+                        continue;
+                    }
+                    LoteValidado lote = esperar(pendientes.poll());
+                    // Primero los rechazos, después el lote con su checkpoint: un corte entre medio repite a lo sumo
+                    // el registro de los rechazos de un lote, nunca pierde ni duplica productos
+                    for (RechazoImportacionDTO rechazo : lote.rechazos()) {
+                        rechazos.write(objectMapper.writeValueAsString(rechazo));
+                        rechazos.newLine();
+                        if (primerosRechazos.size() < RECHAZOS_EN_RESPUESTA) {
+                            primerosRechazos.add(rechazo);
+                        }
+                    }
+                    rechazos.flush();
+                    importadas += lote.validos().size();
+                    rechazadas += lote.rechazos().size();
+                    Checkpoint siguiente = new Checkpoint(lote.fin(), lote.ultimaLinea(), importadas, rechazadas);
+                    // crearValidados se une a esta transacción
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (!lote.validos().isEmpty()) {
+                            productoBulkService.crearValidados(lote.validos());
+                        }
+                        checkpointRepository.save(siguiente.comoFila(nombre));
+                    });
+                    checkpoint = siguiente;
+                }
+            }
+            checkpointRepository.deleteById(nombre);
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof ArchivoImportacionException) {
+                throw (ArchivoImportacionException) e;
+            }
+            log.warn("Importación de {} cortada en la línea {}", nombre, checkpoint.linea(), e);
+            error = e.getMessage();
+            pendientes.forEach(pendiente -> pendiente.cancel(true));
+        }
+        long duracion = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Importación de {}: {} importadas, {} rechazadas en {} ms", nombre, checkpoint.importadas(),
+                checkpoint.rechazadas(), duracion);
+        return new ResultadoImportacionDTO(nombre, error == null, reanudadaDesde, checkpoint.importadas(),
+                checkpoint.rechazadas(), rutaRechazos.getFileName().toString(), primerosRechazos, error, duracion);
+    }
+
+    private List<LectorMapeado.Linea> leerLote(LectorMapeado lector) throws IOException {
+        List<LectorMapeado.Linea> lineas = new ArrayList<>(tamanioLote);
+        LectorMapeado.Linea linea;
+        while (lineas.size() < tamanioLote && (linea = lector.siguiente()) != null) {
+            lineas.add(linea);
+        }
+        return lineas;
+    }
+
+    // Corre en el pool de validación: un error en una fila la rechaza sin afectar a las demás
+    private LoteValidado validar(List<LectorMapeado.Linea> lineas, Function<String, ProductoDTO> convertidor) {
+        List<ProductoDTO> validos = new ArrayList<>(lineas.size());
+        List<RechazoImportacionDTO> rechazos = new ArrayList<>();
+        for (LectorMapeado.Linea linea : lineas) {
+            if (linea.texto().isBlank()) {
+                continue;
+            }
+            List<String> errores;
+            try {
+                ProductoDTO producto = convertidor.apply(linea.texto());
+                errores = errores(producto);
+                if (errores.isEmpty()) {
+                    validos.add(producto);
+                    continue;
+                }
+            } catch (IllegalArgumentException e) {
+                errores = List.of(e.getMessage());
+            }
+            rechazos.add(new RechazoImportacionDTO(linea.numero(), linea.texto(), errores));
+        }
+        LectorMapeado.Linea ultima = lineas.get(lineas.size() - 1);
+        return new LoteValidado(validos, rechazos, ultima.fin(), ultima.numero());
+    }
+
+    private List<String> errores(ProductoDTO producto) {
+        if (producto == null) {
+            return List.of("La fila está vacía");
+        }
+        Set<ConstraintViolation<ProductoDTO>> violaciones = validator.validate(producto);
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private static Function<String, ProductoDTO> lectorNdjson(ObjectReader lector) {
+        return linea -> {
+            try {
+                return lector.readValue(linea);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private static LoteValidado esperar(Future<LoteValidado> pendiente) {
+        try {
+            return pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error validando un lote: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Métodos auxiliares de exportación
+    private long exportarCsv(BufferedWriter salida) throws IOException {
+        salida.write(ParserCsv.ENCABEZADO);
+        salida.newLine();
+        long[] filas = {0};
+        recorrerTabla(fila -> {
+            salida.write(Long.toString(fila.getLong(1)));
+            salida.write(',');
+            salida.write(ParserCsv.escapar(fila.getString(2)));
+            salida.write(',');
+            salida.write(ParserCsv.escapar(fila.getString(3)));
+            salida.write(',');
+            salida.write(Double.toString(fila.getDouble(4)));
+            salida.write(',');
+            salida.write(Integer.toString(fila.getInt(5)));
+            salida.write(',');
+            salida.write(ParserCsv.escapar(fila.getString(6)));
+            salida.newLine();
+            filas[0]++;
+        });
+        return filas[0];
+    }
+
+    private long exportarNdjson(BufferedWriter salida) throws IOException {
+        long[] filas = {0};
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            recorrerTabla(fila -> {
+                generador.writeStartObject();
+                generador.writeNumberField("id", fila.getLong(1));
+                generador.writeStringField("nombre", fila.getString(2));
+                generador.writeStringField("descripcion", fila.getString(3));
+                generador.writeNumberField("precio", fila.getDouble(4));
+                generador.writeNumberField("stock", fila.getInt(5));
+                generador.writeStringField("categoria", fila.getString(6));
+                generador.writeEndObject();
+                generador.writeRaw('\n');
+                filas[0]++;
+            });
+        }
+        return filas[0];
+    }
+
+    // Cursor de solo avance con fetch size: la base entrega la tabla por partes (en PostgreSQL requiere la
+    // transacción de solo lectura de exportar)
+    private void recorrerTabla(EscritorFila escritor) {
+        jdbcTemplate.query(conexion -> {
+            PreparedStatement sentencia = conexion.prepareStatement(SQL_EXPORTACION,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            sentencia.setFetchSize(FILAS_POR_FETCH);
+            return sentencia;
+        }, (RowCallbackHandler) fila -> {
+            try {
+                escritor.escribir(fila);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Path resolver(String archivo) {
+        if (archivo == null || archivo.isBlank()) {
+            throw new ArchivoImportacionException("Falta el nombre del archivo");
+        }
+        Path ruta = directorio.resolve(archivo).normalize();
+        if (!directorio.equals(ruta.getParent())) {
+            throw new ArchivoImportacionException("El archivo debe ser un nombre dentro del directorio de " +
+                    "importación, sin rutas: " + archivo);
+        }
+        return ruta;
+    }
+
+    @Override
+    public void destroy() {
+        validadores.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface EscritorFila {
+        void escribir(ResultSet fila) throws IOException, SQLException;
+    }
+
+    // Lote convertido y validado: productos válidos, filas rechazadas y dónde termina en el archivo
+    private record LoteValidado(List<ProductoDTO> validos, List<RechazoImportacionDTO> rechazos, long fin,
+                                long ultimaLinea) {
+    }
+}
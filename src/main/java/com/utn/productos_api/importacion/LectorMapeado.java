@@ -0,0 +1,90 @@
+package com.utn.productos_api.importacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Lee un archivo de texto línea por línea mapeando ventanas de VENTANA bytes en memoria (FileChannel.map): el
+// sistema operativo pagina el archivo sin copias intermedias por un buffer de lectura. Cada línea informa el
+// desplazamiento donde termina, que es lo que guarda un checkpoint para reanudar desde ahí.
+// Acepta fin de línea \n o \r\n; una línea no puede ocupar más que una ventana.
+class LectorMapeado implements Closeable {
+
+    private static final int VENTANA = 64 * 1024 * 1024;
+
+    private final FileChannel canal;
+    private final long tamanioArchivo;
+    private MappedByteBuffer ventana;
+    private long inicioVentana;
+    private long posicion;
+    private long numeroLinea;
+
+    LectorMapeado(Path archivo, long desde, long lineaInicial) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        this.tamanioArchivo = canal.size();
+        this.posicion = Math.min(desde, tamanioArchivo);
+        this.numeroLinea = lineaInicial;
+    }
+
+    // Próxima línea, o null al llegar al final del archivo
+    Linea siguiente() throws IOException {
+        if (posicion >= tamanioArchivo) {
+            return null;
+        }
+        if (ventana == null || posicion >= inicioVentana + ventana.limit()) {
+            mapear(posicion);
+        }
+        int inicio = (int) (posicion - inicioVentana);
+        int fin = buscarFinDeLinea(inicio);
+        if (fin < 0) {
+            // La línea sigue después de la ventana: se vuelve a mapear empezando en ella
+            if (inicioVentana + ventana.limit() < tamanioArchivo) {
+                mapear(posicion);
+                inicio = 0;
+                fin = buscarFinDeLinea(inicio);
+                if (fin < 0 && inicioVentana + ventana.limit() < tamanioArchivo) {
+                    throw new IOException("Línea " + (numeroLinea + 1) + " más larga que " + VENTANA + " bytes");
+                }
+            }
+            if (fin < 0) {
+                fin = ventana.limit();
+            }
+        }
+        int largo = fin - inicio;
+        if (largo > 0 && ventana.get(inicio + largo - 1) == '\r') {
+            largo--;
+        }
+        byte[] bytes = new byte[largo];
+        ventana.get(inicio, bytes);
+        posicion = inicioVentana + Math.min(fin + 1, ventana.limit());
+        return new Linea(++numeroLinea, posicion, new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private void mapear(long desde) throws IOException {
+        inicioVentana = desde;
+        long largo = Math.min(VENTANA, tamanioArchivo - desde);
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, desde, largo);
+    }
+
+    private int buscarFinDeLinea(int desde) {
+        for (int i = desde; i < ventana.limit(); i++) {
+            if (ventana.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Línea leída: su número (empezando en 1), el desplazamiento donde empieza la siguiente y el texto
+    record Linea(long numero, long fin, String texto) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.utn.productos_api.importacion;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.model.Categoria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Filas CSV (RFC 4180, separador coma, comillas dobles para campos con comas o comillas) a ProductoDTO. Las columnas
+// se ubican por el encabezado, sin importar el orden; las que no se conocen (como el id de una exportación) se
+// ignoran. Un campo entre comillas no puede contener saltos de línea.
+class ParserCsv {
+
+    static final String ENCABEZADO = "id,nombre,descripcion,precio,stock,categoria";
+
+    private final int nombre;
+    private final int descripcion;
+    private final int precio;
+    private final int stock;
+    private final int categoria;
+
+    ParserCsv(String encabezado) {
+        List<String> columnas = separar(encabezado.startsWith("\uFEFF") ? encabezado.substring(1) : encabezado);
+        List<String> normalizadas = columnas.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+        this.nombre = columna(normalizadas, "nombre");
+        this.descripcion = normalizadas.indexOf("descripcion");
+        this.precio = columna(normalizadas, "precio");
+        this.stock = columna(normalizadas, "stock");
+        this.categoria = columna(normalizadas, "categoria");
+    }
+
+    // Los valores que no se pueden convertir lanzan IllegalArgumentException con el motivo
+    ProductoDTO convertir(String linea) {
+        List<String> campos = separar(linea);
+        ProductoDTO producto = new ProductoDTO();
+        producto.setNombre(campo(campos, nombre));
+        producto.setDescripcion(campo(campos, descripcion));
+        String textoPrecio = campo(campos, precio);
+        String textoStock = campo(campos, stock);
+        String textoCategoria = campo(campos, categoria);
+        try {
+            producto.setPrecio(textoPrecio == null ? null : Double.valueOf(textoPrecio.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("precio: no es un número (" + textoPrecio + ")");
+        }
+        try {
+            producto.setStock(textoStock == null ? null : Integer.valueOf(textoStock.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("stock: no es un entero (" + textoStock + ")");
+        }
+        try {
+            producto.setCategoria(textoCategoria == null ? null
+                    : Categoria.valueOf(textoCategoria.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("categoria: valor desconocido (" + textoCategoria + ")");
+        }
+        return producto;
+    }
+
+    static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    // Campo listo para escribir en una fila CSV
+    static String escapar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        // Los saltos de línea se reemplazan: el lector trabaja línea por línea
+        return '"' + valor.replace("\"", "\"\"").replace('\r', ' ').replace('\n', ' ') + '"';
+    }
+
+    // Métodos auxiliares: un campo vacío cuenta como ausente
+    private static String campo(List<String> campos, int indice) {
+        if (indice < 0 || indice >= campos.size() || campos.get(indice).isEmpty()) {
+            return null;
+        }
+        return campos.get(indice);
+    }
+
+    private static int columna(List<String> columnas, String nombre) {
+        int indice = columnas.indexOf(nombre);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Falta la columna '" + nombre + "' en el encabezado del CSV");
+        }
+        return indice;
+    }
+}
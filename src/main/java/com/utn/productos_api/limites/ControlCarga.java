@@ -0,0 +1,90 @@
+package com.utn.productos_api.limites;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+// Reúne el limitador de tasa por cliente y clase de endpoint (lecturas / escrituras) y el limitador adaptativo de
+// concurrencia, con sus parámetros ajustables en caliente desde /actuator/limites.
+@Component
+@ConditionalOnProperty(name = "productos.limites.habilitado", havingValue = "true", matchIfMissing = true)
+public class ControlCarga {
+
+    private volatile ParametrosLimites parametros;
+    private final LimitadorTasa limitadorTasa;
+    private final LimitadorConcurrencia limitadorConcurrencia;
+    private final LongAdder rechazadasPorTasa = new LongAdder();
+    private final LongAdder rechazadasPorConcurrencia = new LongAdder();
+
+    public ControlCarga(@Value("${productos.limites.lecturas-por-segundo:200}") double lecturasPorSegundo,
+                        @Value("${productos.limites.rafaga-lecturas:400}") int rafagaLecturas,
+                        @Value("${productos.limites.escrituras-por-segundo:50}") double escriturasPorSegundo,
+                        @Value("${productos.limites.rafaga-escrituras:100}") int rafagaEscrituras,
+                        @Value("${productos.limites.concurrencia.inicial:20}") int concurrenciaInicial,
+                        @Value("${productos.limites.concurrencia.minima:4}") int concurrenciaMinima,
+                        @Value("${productos.limites.concurrencia.maxima:200}") int concurrenciaMaxima,
+                        @Value("${productos.limites.concurrencia.latencia-objetivo:250ms}") Duration latenciaObjetivo,
+                        @Value("${productos.limites.max-clientes:100000}") long maxClientes) {
+        this.parametros = new ParametrosLimites(lecturasPorSegundo, rafagaLecturas, escriturasPorSegundo,
+                rafagaEscrituras, concurrenciaMinima, concurrenciaMaxima, latenciaObjetivo.toMillis());
+        this.limitadorTasa = new LimitadorTasa(maxClientes, Duration.ofMinutes(5));
+        this.limitadorConcurrencia = new LimitadorConcurrencia(() -> this.parametros,
+                Math.max(concurrenciaMinima, Math.min(concurrenciaMaxima, concurrenciaInicial)));
+    }
+
+    // 0 si la petición entra; si no, nanosegundos hasta que el cliente vuelva a tener cupo
+    public long intentarTasa(String cliente, boolean escritura) {
+        ParametrosLimites vigentes = parametros;
+        long espera = escritura
+                ? limitadorTasa.intentar("E:" + cliente, vigentes.escriturasPorSegundo(), vigentes.rafagaEscrituras())
+                : limitadorTasa.intentar("L:" + cliente, vigentes.lecturasPorSegundo(), vigentes.rafagaLecturas());
+        if (espera > 0) {
+            rechazadasPorTasa.increment();
+        }
+        return espera;
+    }
+
+    public boolean adquirir() {
+        if (limitadorConcurrencia.adquirir()) {
+            return true;
+        }
+        rechazadasPorConcurrencia.increment();
+        return false;
+    }
+
+    public void liberar(long nanos) {
+        limitadorConcurrencia.liberar(nanos);
+    }
+
+    public void actualizar(ParametrosLimites nuevos) {
+        parametros = nuevos;
+        limitadorConcurrencia.acotar(nuevos);
+    }
+
+    public ParametrosLimites getParametros() {
+        return parametros;
+    }
+
+    public int getLimiteConcurrencia() {
+        return limitadorConcurrencia.getLimite();
+    }
+
+    public int getEnVuelo() {
+        return limitadorConcurrencia.getEnVuelo();
+    }
+
+    public long getClientes() {
+        return limitadorTasa.clientes();
+    }
+
+    public long getRechazadasPorTasa() {
+        return rechazadasPorTasa.sum();
+    }
+
+    public long getRechazadasPorConcurrencia() {
+        return rechazadasPorConcurrencia.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package com.utn.productos_api.limites;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Identidad de quien hace la petición, para los límites de tasa (LimiteFilter), las claves de idempotencia y la
+// lectura de escrituras propias con réplica. La cabecera X-API-Key solo cuenta si es una de las claves configuradas
+// en 'productos.clientes.api-keys': si se aceptara cualquier valor, un cliente podría mandar una clave nueva en cada
+// petición y obtener siempre un cupo nuevo. Sin clave válida, el cliente es la IP.
+@Component
+public class IdentidadCliente {
+
+    static final String CABECERA_API_KEY = "X-API-Key";
+
+    private final Set<String> clavesValidas;
+
+    public IdentidadCliente(@Value("${productos.clientes.api-keys:}") String[] clavesValidas) {
+        this.clavesValidas = Arrays.stream(clavesValidas)
+                .map(String::trim)
+                .filter(clave -> !clave.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String de(HttpServletRequest request) {
+        String apiKey = request.getHeader(CABECERA_API_KEY);
+        if (apiKey != null && clavesValidas.contains(apiKey.trim())) {
+            return "clave:" + apiKey.trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,72 @@
+package com.utn.productos_api.limites;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Límite adaptativo de peticiones en vuelo (AIMD, como el control de congestión de TCP):
+//  - cada vez que entran tantas peticiones rápidas como el límite actual, y el límite se está usando, sube en 1;
+//  - si una petición tarda más que la latencia objetivo (la cola del pool de conexiones empezó a crecer), baja un 10%,
+//    como mucho una vez por cada latencia objetivo para que una tanda de peticiones lentas no lo desplome.
+// Todo son contadores atómicos: adquirir y liberar no toman locks.
+class LimitadorConcurrencia {
+
+    private static final double FACTOR_REDUCCION = 0.9;
+
+    private final Supplier<ParametrosLimites> parametros;
+    private final AtomicInteger enVuelo = new AtomicInteger();
+    private final AtomicInteger limite;
+    private final AtomicInteger rapidasDesdeAjuste = new AtomicInteger();
+    private final AtomicLong ultimaReduccion = new AtomicLong(System.nanoTime());
+
+    LimitadorConcurrencia(Supplier<ParametrosLimites> parametros, int limiteInicial) {
+        this.parametros = parametros;
+        this.limite = new AtomicInteger(limiteInicial);
+    }
+
+    boolean adquirir() {
+        while (true) {
+            int actuales = enVuelo.get();
+            if (actuales >= limite.get()) {
+                return false;
+            }
+            if (enVuelo.compareAndSet(actuales, actuales + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void liberar(long nanos) {
+        int actuales = enVuelo.getAndDecrement();
+        ParametrosLimites vigentes = parametros.get();
+        long objetivo = vigentes.latenciaObjetivoMs() * 1_000_000L;
+        int limiteActual = limite.get();
+
+        if (nanos > objetivo) {
+            long ahora = System.nanoTime();
+            long anterior = ultimaReduccion.get();
+            if (ahora - anterior > objetivo && ultimaReduccion.compareAndSet(anterior, ahora)) {
+                int reducido = Math.max(vigentes.concurrenciaMinima(), (int) (limiteActual * FACTOR_REDUCCION));
+                limite.compareAndSet(limiteActual, reducido);
+                rapidasDesdeAjuste.set(0);
+            }
+        } else if (actuales * 2 >= limiteActual && rapidasDesdeAjuste.incrementAndGet() >= limiteActual) {
+            rapidasDesdeAjuste.set(0);
+            limite.compareAndSet(limiteActual, Math.min(vigentes.concurrenciaMaxima(), limiteActual + 1));
+        }
+    }
+
+    // Tras un ajuste en caliente el límite se lleva dentro del nuevo rango
+    void acotar(ParametrosLimites vigentes) {
+        limite.updateAndGet(actual -> Math.max(vigentes.concurrenciaMinima(),
+                Math.min(vigentes.concurrenciaMaxima(), actual)));
+    }
+
+    int getEnVuelo() {
+        return enVuelo.get();
+    }
+
+    int getLimite() {
+        return limite.get();
+    }
+}
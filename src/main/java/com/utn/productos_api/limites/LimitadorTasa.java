@@ -0,0 +1,48 @@
+package com.utn.productos_api.limites;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket por clave implementado como GCRA (generic cell rate algorithm): en lugar de contar tokens y recargarlos
+// con un temporizador, cada clave guarda un único long, el instante teórico en que llegaría la próxima petición si
+// el cliente fuera exactamente a la tasa permitida. Aceptar una petición es un compareAndSet sobre ese valor.
+// Las claves inactivas se desalojan solas, así un cliente que no vuelve no ocupa memoria.
+class LimitadorTasa {
+
+    private final Cache<String, AtomicLong> llegadasTeoricas;
+
+    LimitadorTasa(long maxClientes, Duration inactividad) {
+        this.llegadasTeoricas = Caffeine.newBuilder()
+                .maximumSize(maxClientes)
+                .expireAfterAccess(inactividad)
+                .build();
+    }
+
+    // Devuelve 0 si la petición entra o, si no, cuántos nanosegundos faltan para que entre (porSegundo > 0, ver
+    // ParametrosLimites)
+    long intentar(String clave, double porSegundo, int rafaga) {
+        long intervalo = (long) (1_000_000_000L / porSegundo);
+        long tolerancia = intervalo * (rafaga - 1);
+        AtomicLong llegadaTeorica = llegadasTeoricas.get(clave, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long ahora = System.nanoTime();
+            long actual = llegadaTeorica.get();
+            // Un cliente que estuvo inactivo no acumula más crédito que la ráfaga
+            long base = actual - ahora > 0 ? actual : ahora;
+            long espera = base - tolerancia - ahora;
+            if (espera > 0) {
+                return espera;
+            }
+            if (llegadaTeorica.compareAndSet(actual, base + intervalo)) {
+                return 0;
+            }
+        }
+    }
+
+    long clientes() {
+        return llegadasTeoricas.estimatedSize();
+    }
+}
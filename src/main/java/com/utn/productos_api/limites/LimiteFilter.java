@@ -0,0 +1,101 @@
+package com.utn.productos_api.limites;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utn.productos_api.exception.Problema;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Primer filtro de /api/productos: rechaza con 429 al cliente que supera su tasa y con 503 cuando ya hay tantas
+// peticiones en vuelo como admite el limitador adaptativo, antes de que lleguen a Tomcat/JPA y al pool de conexiones.
+// En /api/async/productos y en las importaciones y exportaciones de archivos (que duran minutos) solo se aplica la tasa.
+// El cliente es la X-API-Key si es una de las configuradas o, si no, la IP (ver IdentidadCliente). El feed de
+// cambios (SSE) queda afuera porque sus conexiones duran minutos; en /stream el cupo se devuelve al terminar el hilo
+// de la petición, no el envío.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "productos.limites.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteFilter extends OncePerRequestFilter {
+
+    private static final String PREFIJO_ASYNC = "/api/async/productos";
+    private static final String PREFIJO_IMPORTACIONES = "/api/productos/importaciones";
+    private static final String PREFIJO_EXPORTACIONES = "/api/productos/exportaciones";
+
+    private final ControlCarga controlCarga;
+    private final IdentidadCliente identidadCliente;
+    private final ObjectMapper objectMapper;
+
+    // Inyección por constructor
+    public LimiteFilter(ControlCarga controlCarga, IdentidadCliente identidadCliente, ObjectMapper objectMapper) {
+        this.controlCarga = controlCarga;
+        this.identidadCliente = identidadCliente;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith(PREFIJO_ASYNC)) {
+            return false;
+        }
+        return !uri.startsWith("/api/productos") || uri.startsWith("/api/productos/cambios");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long espera = controlCarga.intentarTasa(identidadCliente.de(request), esEscritura(request.getMethod()));
+        if (espera > 0) {
+            rechazar(request, response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(espera) + 1,
+                    "Se superó la cantidad de peticiones permitidas; reintente más tarde");
+            return;
+        }
+        // Las operaciones asíncronas no retienen el hilo de la petición: su concurrencia la acotan los pools de
+        // ProductoServiceAsync, que rechazan con 503 al llenarse. Las importaciones y exportaciones inflarían la
+        // latencia que usa el limitador adaptativo
+        String uri = request.getRequestURI();
+        if (uri.startsWith(PREFIJO_ASYNC) || uri.startsWith(PREFIJO_IMPORTACIONES)
+                || uri.startsWith(PREFIJO_EXPORTACIONES)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!controlCarga.adquirir()) {
+            rechazar(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "El servicio está al límite de su capacidad; reintente más tarde");
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            controlCarga.liberar(System.nanoTime() - inicio);
+        }
+    }
+
+    private static boolean esEscritura(String metodo) {
+        return !("GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo));
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, HttpStatus estado,
+                          long reintentarEnSegundos, String mensaje) throws IOException {
+        response.setStatus(estado.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(reintentarEnSegundos));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            new Problema(estado, mensaje, request.getRequestURI()).escribir(generador);
+        }
+    }
+}
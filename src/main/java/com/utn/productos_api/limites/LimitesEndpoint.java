@@ -0,0 +1,68 @@
+package com.utn.productos_api.limites;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/limites muestra los parámetros y el estado de los limitadores.
+// POST /actuator/limites con un JSON de los campos a cambiar los ajusta sin reiniciar, p. ej.
+//   {"lecturasPorSegundo": 500, "concurrenciaMaxima": 64}
+// Valores inválidos (tasas <= 0, mínima > máxima...) responden 400 y no cambian nada. No se expone por defecto:
+// cambiar los límites apaga la protección, así que solo debe publicarse en el puerto de administración.
+@Component
+@Endpoint(id = "limites")
+@ConditionalOnProperty(name = "productos.limites.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimitesEndpoint {
+
+    private final ControlCarga controlCarga;
+
+    // Inyección por constructor
+    public LimitesEndpoint(ControlCarga controlCarga) {
+        this.controlCarga = controlCarga;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("parametros", controlCarga.getParametros());
+        estado.put("limiteConcurrencia", controlCarga.getLimiteConcurrencia());
+        estado.put("enVuelo", controlCarga.getEnVuelo());
+        estado.put("clientes", controlCarga.getClientes());
+        estado.put("rechazadasPorTasa", controlCarga.getRechazadasPorTasa());
+        estado.put("rechazadasPorConcurrencia", controlCarga.getRechazadasPorConcurrencia());
+        return estado;
+    }
+
+    @WriteOperation
+    public Map<String, Object> ajustar(@Nullable Double lecturasPorSegundo,
+                                       @Nullable Integer rafagaLecturas,
+                                       @Nullable Double escriturasPorSegundo,
+                                       @Nullable Integer rafagaEscrituras,
+                                       @Nullable Integer concurrenciaMinima,
+                                       @Nullable Integer concurrenciaMaxima,
+                                       @Nullable Long latenciaObjetivoMs) {
+        ParametrosLimites actuales = controlCarga.getParametros();
+        ParametrosLimites nuevos;
+        try {
+            nuevos = new ParametrosLimites(
+                    lecturasPorSegundo != null ? lecturasPorSegundo : actuales.lecturasPorSegundo(),
+                    rafagaLecturas != null ? rafagaLecturas : actuales.rafagaLecturas(),
+                    escriturasPorSegundo != null ? escriturasPorSegundo : actuales.escriturasPorSegundo(),
+                    rafagaEscrituras != null ? rafagaEscrituras : actuales.rafagaEscrituras(),
+                    concurrenciaMinima != null ? concurrenciaMinima : actuales.concurrenciaMinima(),
+                    concurrenciaMaxima != null ? concurrenciaMaxima : actuales.concurrenciaMaxima(),
+                    latenciaObjetivoMs != null ? latenciaObjetivoMs : actuales.latenciaObjetivoMs());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        controlCarga.actualizar(nuevos);
+        return estado();
+    }
+}
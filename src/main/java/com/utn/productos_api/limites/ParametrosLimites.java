@@ -0,0 +1,31 @@
+package com.utn.productos_api.limites;
+
+// Parámetros vigentes de los limitadores. Es inmutable: un ajuste en caliente reemplaza el objeto completo, así una
+// petición nunca ve una mezcla de valores viejos y nuevos. Las tasas deben ser positivas: para no limitar se apaga
+// todo con productos.limites.habilitado=false.
+public record ParametrosLimites(double lecturasPorSegundo,
+                                int rafagaLecturas,
+                                double escriturasPorSegundo,
+                                int rafagaEscrituras,
+                                int concurrenciaMinima,
+                                int concurrenciaMaxima,
+                                long latenciaObjetivoMs) {
+
+    public ParametrosLimites {
+        if (!(lecturasPorSegundo > 0) || !(escriturasPorSegundo > 0)
+                || Double.isInfinite(lecturasPorSegundo) || Double.isInfinite(escriturasPorSegundo)) {
+            throw new IllegalArgumentException("Las tasas deben ser positivas: lecturas " + lecturasPorSegundo
+                    + ", escrituras " + escriturasPorSegundo);
+        }
+        if (rafagaLecturas < 1 || rafagaEscrituras < 1) {
+            throw new IllegalArgumentException("La ráfaga debe ser al menos 1");
+        }
+        if (concurrenciaMinima < 1 || concurrenciaMaxima < concurrenciaMinima) {
+            throw new IllegalArgumentException("Concurrencia inválida: mínima " + concurrenciaMinima
+                    + ", máxima " + concurrenciaMaxima);
+        }
+        if (latenciaObjetivoMs < 1) {
+            throw new IllegalArgumentException("La latencia objetivo debe ser positiva");
+        }
+    }
+}
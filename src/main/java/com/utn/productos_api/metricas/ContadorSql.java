@@ -0,0 +1,44 @@
+package com.utn.productos_api.metricas;
+
+// Acumulador de sentencias SQL y del tiempo pasado en ellas durante una petición HTTP.
+// Vive en un ThreadLocal del hilo que atiende la petición; fuera de una petición no se acumula nada.
+final class ContadorSql {
+
+    private static final ThreadLocal<ContadorSql> ACTUAL = new ThreadLocal<>();
+
+    private int sentencias;
+    private long nanos;
+
+    private ContadorSql() {
+    }
+
+    static ContadorSql iniciar() {
+        ContadorSql contador = new ContadorSql();
+        ACTUAL.set(contador);
+        return contador;
+    }
+
+    static void finalizar() {
+        ACTUAL.remove();
+    }
+
+    static boolean activo() {
+        return ACTUAL.get() != null;
+    }
+
+    static void registrar(long nanos) {
+        ContadorSql contador = ACTUAL.get();
+        if (contador != null) {
+            contador.sentencias++;
+            contador.nanos += nanos;
+        }
+    }
+
+    int getSentencias() {
+        return sentencias;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+}
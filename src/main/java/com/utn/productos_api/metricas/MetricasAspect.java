@@ -0,0 +1,67 @@
+package com.utn.productos_api.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Timers con histograma de percentiles para cada operación pública de ProductoController y ProductoService.
+// La diferencia entre el controlador y http.server.requests es la serialización; entre el servicio y
+// productos.sql.tiempo, el mapeo y el resto de la lógica.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "productos.metricas.habilitadas", havingValue = "true", matchIfMissing = true)
+public class MetricasAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<JoinPoint.StaticPart, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<TimerExcepcion, Timer> timersExcepcion = new ConcurrentHashMap<>();
+
+    // Inyección por constructor
+    public MetricasAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Con la mayor precedencia el timer del servicio incluye el commit de la transacción
+    @Around("execution(public * com.utn.productos_api.controller.ProductoController.*(..))"
+            + " || execution(public * com.utn.productos_api.service.ProductoService.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = joinPoint.proceed();
+            timers.computeIfAbsent(joinPoint.getStaticPart(), parte -> timer(parte, "none"))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable ex) {
+            // También se registra una sola vez: las excepciones de dominio (404, 409) son parte del camino normal
+            timersExcepcion.computeIfAbsent(new TimerExcepcion(joinPoint.getStaticPart(), ex.getClass()),
+                            clave -> timer(clave.parte(), clave.excepcion().getSimpleName()))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(JoinPoint.StaticPart parte, String excepcion) {
+        return Timer.builder("productos.metodo")
+                .description("Duración de las operaciones de ProductoController y ProductoService")
+                .tags("class", parte.getSignature().getDeclaringType().getSimpleName(),
+                        "method", parte.getSignature().getName(),
+                        "exception", excepcion)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record TimerExcepcion(JoinPoint.StaticPart parte, Class<? extends Throwable> excepcion) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.utn.productos_api.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Registra por endpoint cuántas sentencias SQL ejecutó cada petición y cuánto tiempo pasó en ellas.
+// Solo se cuenta el SQL del hilo de la petición: el que corre en hilos asíncronos (p. ej. /stream) queda fuera.
+@Component
+@ConditionalOnProperty(name = "productos.metricas.habilitadas", havingValue = "true", matchIfMissing = true)
+public class MetricasSqlFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MedidoresSql> medidores = new ConcurrentHashMap<>();
+
+    // Inyección por constructor
+    public MetricasSqlFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSql contador = ContadorSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContadorSql.finalizar();
+            MedidoresSql medidor = medidores(request.getMethod(),
+                    request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+            medidor.sentencias().record(contador.getSentencias());
+            medidor.tiempo().record(contador.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Los medidores se registran una sola vez por método y patrón de URI (nunca por URI concreta)
+    private MedidoresSql medidores(String metodo, Object patron) {
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        return medidores.computeIfAbsent(metodo + " " + uri, clave -> new MedidoresSql(
+                DistributionSummary.builder("productos.sql.sentencias")
+                        .description("Sentencias SQL ejecutadas por petición")
+                        .tags("method", metodo, "uri", uri)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("productos.sql.tiempo")
+                        .description("Tiempo total en sentencias SQL por petición")
+                        .tags("method", metodo, "uri", uri)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)));
+    }
+
+    private record MedidoresSql(DistributionSummary sentencias, Timer tiempo) {
+    }
+}
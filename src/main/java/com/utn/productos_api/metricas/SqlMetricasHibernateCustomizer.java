@@ -0,0 +1,21 @@
+package com.utn.productos_api.metricas;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Registra SqlMetricasSessionListener solo con las métricas habilitadas, igual que MetricasSqlFilter: con
+// productos.metricas.habilitadas=false Hibernate no crea el listener ni lo invoca en cada sentencia.
+@Component
+@ConditionalOnProperty(name = "productos.metricas.habilitadas", havingValue = "true", matchIfMissing = true)
+public class SqlMetricasHibernateCustomizer implements HibernatePropertiesCustomizer {
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                SqlMetricasSessionListener.class.getName());
+    }
+}
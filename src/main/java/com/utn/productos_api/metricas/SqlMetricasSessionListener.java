@@ -0,0 +1,38 @@
+package com.utn.productos_api.metricas;
+
+import org.hibernate.SessionEventListener;
+
+// Listener de sesión de Hibernate que mide cada ejecución JDBC (sentencia individual o lote) y la suma al
+// contador de la petición en curso. Hibernate crea una instancia por sesión a partir de la propiedad
+// hibernate.session.events.auto (la agrega SqlMetricasHibernateCustomizer), por eso no es un bean de Spring.
+public class SqlMetricasSessionListener implements SessionEventListener {
+
+    private long inicioSentencia = -1;
+    private long inicioLote = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioSentencia = ContadorSql.activo() ? System.nanoTime() : -1;
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        if (inicioSentencia >= 0) {
+            ContadorSql.registrar(System.nanoTime() - inicioSentencia);
+            inicioSentencia = -1;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioLote = ContadorSql.activo() ? System.nanoTime() : -1;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        if (inicioLote >= 0) {
+            ContadorSql.registrar(System.nanoTime() - inicioLote);
+            inicioLote = -1;
+        }
+    }
+}
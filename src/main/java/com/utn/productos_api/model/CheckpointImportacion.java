@@ -0,0 +1,30 @@
+package com.utn.productos_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Avance de la importación de un archivo: se guarda en la misma transacción que cada lote de productos, así un corte
+// nunca deja un lote confirmado sin su checkpoint (que al reanudar lo importaría otra vez) ni al revés
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "checkpoints_importacion")
+public class CheckpointImportacion {
+
+    @Id
+    @Column(length = 255)
+    private String archivo;
+
+    @Column(nullable = false)
+    private Long desplazamiento;
+
+    @Column(nullable = false)
+    private Long linea;
+
+    @Column(nullable = false)
+    private Long importadas;
+
+    @Column(nullable = false)
+    private Long rechazadas;
+}
@@ -0,0 +1,7 @@
+package com.utn.productos_api.model;
+
+public enum EstadoReserva {
+    PENDIENTE,
+    CONFIRMADA,
+    LIBERADA
+}
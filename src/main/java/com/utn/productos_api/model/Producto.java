@@ -3,16 +3,23 @@ package com.utn.productos_api.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 @Getter @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-@Table(name = "productos")
+// Los índices replican los de las migraciones de Flyway (db/migration) para el esquema en memoria
+@Table(name = "productos", indexes = {
+        @Index(name = "idx_productos_categoria_precio", columnList = "categoria, precio"),
+        @Index(name = "idx_productos_nombre", columnList = "nombre")
+})
 
 public class Producto {
 
+    // Secuencia con pool de IDs (en lugar de IDENTITY) para que Hibernate pueda agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -30,5 +37,29 @@ public class Producto {
     @Enumerated(EnumType.STRING)
     private Categoria categoria;
 
+    // Versión y fecha de última modificación: alimentan los ETag y Last-Modified de las respuestas GET.
+    // Los UPDATE directos del repositorio las incrementan a mano, porque no pasan por el ciclo de vida de JPA.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "modificado_en", nullable = false)
+    private Instant modificadoEn;
+
+    public Producto(Long id, String nombre, String descripcion, Double precio, Integer stock, Categoria categoria) {
+        this.id = id;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.precio = precio;
+        this.stock = stock;
+        this.categoria = categoria;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void marcarModificacion() {
+        modificadoEn = Instant.now();
+    }
+
 }
 
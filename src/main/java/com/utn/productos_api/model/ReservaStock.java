@@ -0,0 +1,34 @@
+package com.utn.productos_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "reservas_stock", indexes = @Index(name = "idx_reservas_producto_estado", columnList = "producto_id, estado"))
+
+public class ReservaStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoReserva estado;
+
+    @Column(name = "creada_en", nullable = false)
+    private LocalDateTime creadaEn;
+
+}
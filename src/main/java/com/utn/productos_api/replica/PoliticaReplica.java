@@ -0,0 +1,24 @@
+package com.utn.productos_api.replica;
+
+import java.util.Locale;
+
+// Cuánto desfase se acepta al leer de la réplica
+public enum PoliticaReplica {
+
+    // Toda transacción de solo lectura va a la réplica: se puede leer hasta el retraso de replicación
+    REPLICA,
+    // Como REPLICA, salvo que el cliente haya escrito hace menos de la ventana: entonces lee de la primaria
+    ESCRITURAS_PROPIAS,
+    // Todo va a la primaria (la réplica queda configurada pero sin usar)
+    PRIMARIA;
+
+    // Acepta el formato de las propiedades ("escrituras-propias")
+    public static PoliticaReplica desde(String valor) {
+        try {
+            return valueOf(valor.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Política de réplica inválida: '" + valor
+                    + "'. Valores permitidos: replica, escrituras-propias, primaria", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.utn.productos_api.replica;
+
+import com.utn.productos_api.limites.IdentidadCliente;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Réplica de lectura: reemplaza el DataSource de Spring Boot por uno que enruta cada transacción a la primaria o a
+// la réplica (ver RuteoLecturas). Cada base tiene su propio pool de Hikari con su tamaño: la primaria se sigue
+// configurando con spring.datasource.* y la réplica con productos.replica.datasource.*.
+// La replicación en sí (streaming de PostgreSQL, por ejemplo) es externa a la aplicación.
+@Configuration
+@ConditionalOnProperty(name = "productos.replica.habilitada", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+        return propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // No es candidato a inyección para no competir con las DataSourceProperties de Spring Boot
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("productos.replica.datasource")
+    public DataSourceProperties propiedadesReplica() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("productos.replica.datasource.hikari")
+    public HikariDataSource dataSourceReplica() {
+        return propiedadesReplica().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public RuteoLecturas ruteoLecturas(@Value("${productos.replica.politica:escrituras-propias}") String politica,
+                                       @Value("${productos.replica.ventana:2s}") Duration ventana,
+                                       IdentidadCliente identidadCliente,
+                                       MeterRegistry meterRegistry) {
+        return new RuteoLecturas(PoliticaReplica.desde(politica), ventana, identidadCliente, meterRegistry);
+    }
+
+    // El proxy demora la conexión física hasta la primera sentencia, cuando ya se sabe si la transacción es de solo
+    // lectura; sin él JpaTransactionManager la pediría al comenzar y todo iría a la primaria
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 RuteoLecturas ruteoLecturas) {
+        RuteoDataSource ruteo = new RuteoDataSource(ruteoLecturas);
+        ruteo.setTargetDataSources(Map.<Object, Object>of(
+                RuteoLecturas.Destino.PRIMARIA, primaria,
+                RuteoLecturas.Destino.REPLICA, replica));
+        ruteo.setDefaultTargetDataSource(primaria);
+        ruteo.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(ruteo);
+    }
+}
@@ -0,0 +1,18 @@
+package com.utn.productos_api.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Elige el pool (primaria o réplica) con RuteoLecturas cada vez que se pide una conexión
+class RuteoDataSource extends AbstractRoutingDataSource {
+
+    private final RuteoLecturas ruteoLecturas;
+
+    RuteoDataSource(RuteoLecturas ruteoLecturas) {
+        this.ruteoLecturas = ruteoLecturas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ruteoLecturas.destino();
+    }
+}
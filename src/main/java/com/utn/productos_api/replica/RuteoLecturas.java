@@ -0,0 +1,116 @@
+package com.utn.productos_api.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.utn.productos_api.limites.IdentidadCliente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Decide a qué base va cada conexión. Las transacciones de solo lectura (readOnly = true) van a la réplica según la
+// PoliticaReplica; todo lo demás (escrituras, SQL sin transacción, Flyway, Hibernate al arrancar) va a la primaria.
+// Para leer las escrituras propias se recuerda, durante la ventana, qué clientes (ver IdentidadCliente)
+// confirmaron una escritura en este nodo. Lo que corre fuera del hilo de la petición (API asíncrona,
+// importaciones) no tiene cliente: sus lecturas siguen la política sin esa excepción.
+public class RuteoLecturas {
+
+    public enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> FORZAR_PRIMARIA = new ThreadLocal<>();
+
+    private final PoliticaReplica politica;
+    private final IdentidadCliente identidadCliente;
+    private final Cache<String, Boolean> escrituraReciente;
+    private final Counter lecturasReplica;
+    private final Counter lecturasPrimaria;
+
+    public RuteoLecturas(PoliticaReplica politica, Duration ventana, IdentidadCliente identidadCliente,
+                         MeterRegistry meterRegistry) {
+        this.politica = politica;
+        this.identidadCliente = identidadCliente;
+        this.escrituraReciente = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(ventana)
+                .build();
+        this.lecturasReplica = contador(meterRegistry, Destino.REPLICA);
+        this.lecturasPrimaria = contador(meterRegistry, Destino.PRIMARIA);
+    }
+
+    // Lecturas que van a quedar guardadas en una caché (ProductoCache, VersionCatalogo...): se invalidan después del
+    // commit, y si se recargaran de una réplica atrasada conservarían el valor viejo hasta el TTL
+    public static <T> T desdePrimaria(Supplier<T> lectura) {
+        Boolean anterior = FORZAR_PRIMARIA.get();
+        FORZAR_PRIMARIA.set(Boolean.TRUE);
+        try {
+            return lectura.get();
+        } finally {
+            if (anterior == null) {
+                FORZAR_PRIMARIA.remove();
+            }
+        }
+    }
+
+    // Se llama al pedir cada conexión física, que LazyConnectionDataSourceProxy demora hasta la primera sentencia:
+    // para entonces la transacción ya marcó si es de solo lectura
+    Destino destino() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                registrarEscritura();
+            }
+            return Destino.PRIMARIA;
+        }
+        if (leeDePrimaria()) {
+            lecturasPrimaria.increment();
+            return Destino.PRIMARIA;
+        }
+        lecturasReplica.increment();
+        return Destino.REPLICA;
+    }
+
+    private boolean leeDePrimaria() {
+        if (politica == PoliticaReplica.PRIMARIA || FORZAR_PRIMARIA.get() != null) {
+            return true;
+        }
+        if (politica == PoliticaReplica.ESCRITURAS_PROPIAS) {
+            String cliente = clienteActual();
+            return cliente != null && escrituraReciente.getIfPresent(cliente) != null;
+        }
+        return false;
+    }
+
+    // La ventana empieza con el commit: antes la escritura no es visible ni en la primaria
+    private void registrarEscritura() {
+        String cliente = politica == PoliticaReplica.ESCRITURAS_PROPIAS ? clienteActual() : null;
+        if (cliente == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                escrituraReciente.put(cliente, Boolean.TRUE);
+            }
+        });
+    }
+
+    private String clienteActual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        return atributos instanceof ServletRequestAttributes servlet
+                ? identidadCliente.de(servlet.getRequest()) : null;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, Destino destino) {
+        return Counter.builder("productos.datasource.lecturas")
+                .description("Conexiones de transacciones de solo lectura por base de destino")
+                .tag("destino", destino.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.utn.productos_api.repository;
+
+import com.utn.productos_api.model.Categoria;
+
+// Proyección por interfaz: solo el ID y la categoría de un producto
+public interface CategoriaDeProducto {
+
+    Long getId();
+
+    Categoria getCategoria();
+}
@@ -0,0 +1,9 @@
+package com.utn.productos_api.repository;
+
+import com.utn.productos_api.model.CheckpointImportacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CheckpointImportacionRepository extends JpaRepository<CheckpointImportacion, String> {
+}
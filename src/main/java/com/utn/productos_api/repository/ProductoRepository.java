@@ -1,15 +1,115 @@
 package com.utn.productos_api.repository;
 
+import com.utn.productos_api.dto.EstadisticasCategoriaDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.VersionColeccionDTO;
 import com.utn.productos_api.model.Categoria;
 import com.utn.productos_api.model.Producto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductoRepository extends JpaRepository<Producto, Long> {
 
+    // Proyección directa al DTO de respuesta: Hibernate construye el DTO desde la fila del ResultSet,
+    // sin hidratar la entidad, sin registrarla en el contexto de persistencia y sin snapshot para dirty checking
+    String PROYECCION_RESPONSE = "SELECT new com.utn.productos_api.dto.ProductoResponseDTO(" +
+            "p.id, p.nombre, p.descripcion, p.precio, p.stock, p.categoria, p.version, p.modificadoEn) " +
+            "FROM Producto p ";
+
     // Método personalizado para buscar productos por categoría
     List<Producto> findByCategoria(Categoria categoria);
-}
\ No newline at end of file
+
+    // Lecturas del camino de consulta, proyectadas al DTO de respuesta
+    @Query(PROYECCION_RESPONSE + "WHERE p.id = :id")
+    Optional<ProductoResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(PROYECCION_RESPONSE + "WHERE p.id IN :ids")
+    List<ProductoResponseDTO> findResponseByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(PROYECCION_RESPONSE + "WHERE p.categoria = :categoria")
+    List<ProductoResponseDTO> findResponseByCategoria(@Param("categoria") Categoria categoria);
+
+    @Query(PROYECCION_RESPONSE + "ORDER BY p.id")
+    List<ProductoResponseDTO> findAllResponse();
+
+    // Rango de precios dentro de una categoría; el orden y el límite llegan en el Pageable (respaldo de
+    // IndiceCategorias mientras el índice en memoria no está listo)
+    @Query(PROYECCION_RESPONSE + "WHERE p.categoria = :categoria AND p.precio BETWEEN :precioMin AND :precioMax")
+    List<ProductoResponseDTO> findResponseByCategoriaYPrecio(@Param("categoria") Categoria categoria,
+                                                             @Param("precioMin") double precioMin,
+                                                             @Param("precioMax") double precioMax,
+                                                             Pageable pageable);
+
+    // Estadísticas de una categoría calculadas en la base (vacío si la categoría no tiene productos)
+    @Query("SELECT new com.utn.productos_api.dto.EstadisticasCategoriaDTO(p.categoria, COUNT(p), SUM(p.stock), " +
+            "SUM(p.precio * p.stock), MIN(p.precio), AVG(p.precio), MAX(p.precio)) " +
+            "FROM Producto p WHERE p.categoria = :categoria GROUP BY p.categoria")
+    Optional<EstadisticasCategoriaDTO> calcularEstadisticas(@Param("categoria") Categoria categoria);
+
+    // Paginación por cursor (keyset): productos con ID mayor al último visto, ordenados por ID
+    @Query(PROYECCION_RESPONSE + "WHERE p.id > :ultimoId ORDER BY p.id")
+    List<ProductoResponseDTO> findResponsePagina(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    // Solo la categoría, sin cargar la entidad (para invalidar cachés tras un UPDATE directo)
+    @Query("SELECT p.categoria FROM Producto p WHERE p.id = :id")
+    Optional<Categoria> findCategoriaById(@Param("id") Long id);
+
+    // Categorías de varios productos a la vez (para invalidar cachés tras UPDATE directos en lote)
+    List<CategoriaDeProducto> findByIdIn(Collection<Long> ids);
+
+    // Versiones agregadas para los ETag de colecciones: una fila de agregación en lugar de leer los productos
+    @Query("SELECT new com.utn.productos_api.dto.VersionColeccionDTO(" +
+            "COUNT(p), SUM(p.id), SUM(p.version), MAX(p.modificadoEn)) FROM Producto p")
+    VersionColeccionDTO obtenerVersionTotal();
+
+    @Query("SELECT new com.utn.productos_api.dto.VersionColeccionDTO(" +
+            "COUNT(p), SUM(p.id), SUM(p.version), MAX(p.modificadoEn)) FROM Producto p WHERE p.categoria = :categoria")
+    VersionColeccionDTO obtenerVersionPorCategoria(@Param("categoria") Categoria categoria);
+
+    // Misma página cargando entidades administradas (referencia para LecturaBenchmark)
+    List<Producto> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Recorre toda la tabla como Stream; debe consumirse dentro de una transacción y cerrarse.
+    // Al ser una proyección, el contexto de persistencia no crece mientras se recorre.
+    @Query(PROYECCION_RESPONSE + "ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductoResponseDTO> streamResponseOrdenadosPorId();
+
+    // Actualizaciones atómicas de stock: una sola sentencia UPDATE, sin leer ni bloquear la fila antes.
+    // Devuelven la cantidad de filas afectadas (0 si el producto no existe o no alcanza el stock).
+    // Como no pasan por el ciclo de vida de JPA, incrementan la versión y la fecha de modificación explícitamente.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Producto p SET p.stock = :stock, p.version = p.version + 1, p.modificadoEn = :ahora " +
+            "WHERE p.id = :id")
+    int actualizarStock(@Param("id") Long id, @Param("stock") Integer stock, @Param("ahora") Instant ahora);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Producto p SET p.stock = p.stock - :cantidad, p.version = p.version + 1, p.modificadoEn = :ahora " +
+            "WHERE p.id = :id AND p.stock >= :cantidad")
+    int descontarStock(@Param("id") Long id, @Param("cantidad") Integer cantidad, @Param("ahora") Instant ahora);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Producto p SET p.stock = p.stock + :cantidad, p.version = p.version + 1, p.modificadoEn = :ahora " +
+            "WHERE p.id = :id")
+    int reponerStock(@Param("id") Long id, @Param("cantidad") Integer cantidad, @Param("ahora") Instant ahora);
+
+    // Baja con una sola sentencia DELETE, sin cargar la entidad antes. Devuelve la cantidad de filas borradas
+    // (0 si el producto no existía).
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Producto p WHERE p.id = :id")
+    int eliminarPorId(@Param("id") Long id);
+}
@@ -0,0 +1,24 @@
+package com.utn.productos_api.repository;
+
+import com.utn.productos_api.model.EstadoReserva;
+import com.utn.productos_api.model.ReservaStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ReservaStockRepository extends JpaRepository<ReservaStock, UUID> {
+
+    // Transición de estado condicional: solo se aplica si la reserva sigue en el estado esperado
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ReservaStock r SET r.estado = :nuevo WHERE r.id = :id AND r.estado = :actual")
+    int cambiarEstado(@Param("id") UUID id,
+                      @Param("actual") EstadoReserva actual,
+                      @Param("nuevo") EstadoReserva nuevo);
+
+    long countByProductoIdAndEstado(Long productoId, EstadoReserva estado);
+}
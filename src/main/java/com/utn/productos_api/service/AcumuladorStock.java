@@ -0,0 +1,203 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.repository.CategoriaDeProducto;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Modo write-behind (opcional) para PATCH /api/productos/{id}/stock.
+// Cada actualización solo reemplaza el valor pendiente del producto en un ConcurrentHashMap (lock por bin, sin
+// lock global), así que cien escaneos seguidos del mismo SKU terminan en una sola fila del próximo lote.
+// Los pendientes se escriben con un UPDATE JDBC por lotes cada 'intervalo' o al juntar 'max-pendientes'
+// actualizaciones, y siempre al apagar la aplicación. Hasta el vaciado, las lecturas devuelven el stock anterior.
+// Cualquier otra escritura que cambie el stock (reservas, PUT, bulk, bajas) descarta el valor pendiente de ese
+// producto al hacer commit: el UPDATE absoluto del lote la pisaría aunque sea posterior.
+@Component
+public class AcumuladorStock implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AcumuladorStock.class);
+
+    private static final String ACTUALIZAR_STOCK =
+            "UPDATE productos SET stock = ?, version = version + 1, modificado_en = ? WHERE id = ?";
+
+    private final boolean habilitado;
+    private final int maxPendientes;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductoRepository productoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Integer> pendientes = new ConcurrentHashMap<>();
+    private final AtomicInteger recibidasDesdeVaciado = new AtomicInteger();
+    private final AtomicBoolean vaciadoProgramado = new AtomicBoolean();
+    // Un solo vaciado a la vez: dos lotes concurrentes podrían escribir valores del mismo producto fuera de orden
+    private final ReentrantLock vaciando = new ReentrantLock();
+    private final ScheduledExecutorService programador;
+
+    private final LongAdder actualizacionesRecibidas = new LongAdder();
+    private final LongAdder filasEscritas = new LongAdder();
+    private final LongAdder lotesEscritos = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+
+    public AcumuladorStock(@Value("${productos.stock.write-behind.habilitado:false}") boolean habilitado,
+                           @Value("${productos.stock.write-behind.intervalo:50ms}") Duration intervalo,
+                           @Value("${productos.stock.write-behind.max-pendientes:1000}") int maxPendientes,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ProductoRepository productoRepository,
+                           ApplicationEventPublisher eventPublisher) {
+        this.habilitado = habilitado;
+        this.maxPendientes = maxPendientes;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productoRepository = productoRepository;
+        this.eventPublisher = eventPublisher;
+        this.programador = habilitado ? Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "stock-write-behind");
+            hilo.setDaemon(true);
+            return hilo;
+        }) : null;
+        if (habilitado) {
+            programador.scheduleWithFixedDelay(this::vaciarSinErrores,
+                    intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // Registra el nuevo stock; el último valor recibido para cada producto es el que se escribe
+    public void aceptar(Long productoId, Integer stock) {
+        pendientes.put(productoId, stock);
+        actualizacionesRecibidas.increment();
+        if (recibidasDesdeVaciado.incrementAndGet() >= maxPendientes && vaciadoProgramado.compareAndSet(false, true)) {
+            try {
+                programador.execute(() -> {
+                    vaciadoProgramado.set(false);
+                    vaciarSinErrores();
+                });
+            } catch (RejectedExecutionException e) {
+                vaciadoProgramado.set(false);
+            }
+        }
+    }
+
+    // Escribe todos los valores pendientes en un único lote JDBC dentro de una transacción
+    public void vaciar() {
+        vaciando.lock();
+        try {
+            recibidasDesdeVaciado.set(0);
+            List<Object[]> filas = new ArrayList<>(pendientes.size());
+            List<Long> ids = new ArrayList<>(pendientes.size());
+            OffsetDateTime ahora = OffsetDateTime.now(ZoneOffset.UTC);
+            // remove(id) es atómico: un valor que llega después de tomarlo queda para el próximo vaciado
+            for (Long id : pendientes.keySet()) {
+                Integer stock = pendientes.remove(id);
+                if (stock != null) {
+                    filas.add(new Object[]{stock, ahora, id});
+                    ids.add(id);
+                }
+            }
+            if (filas.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(ACTUALIZAR_STOCK, filas);
+                    // Mismo evento que un PATCH directo: cachés, índice, estadísticas y feed se actualizan al commit
+                    for (CategoriaDeProducto producto : productoRepository.findByIdIn(ids)) {
+                        eventPublisher.publishEvent(new ProductoCambiadoEvent(TipoCambio.STOCK, producto.getId(),
+                                producto.getCategoria(), producto.getCategoria(), null,
+                                ProductoCambiadoEvent.SOLO_STOCK));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Se devuelven los valores sin pisar los que llegaron mientras tanto
+                for (Object[] fila : filas) {
+                    pendientes.putIfAbsent((Long) fila[2], (Integer) fila[0]);
+                }
+                throw e;
+            }
+            filasEscritas.add(filas.size());
+            lotesEscritos.increment();
+        } finally {
+            vaciando.unlock();
+        }
+    }
+
+    // Un PUT cuenta aunque no cambie el stock: reemplaza el producto completo con el stock que envió el cliente.
+    // Las escrituras de este mismo acumulador se reconocen porque su evento llega con el lock de vaciado tomado.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarProducto(ProductoCambiadoEvent evento) {
+        if (!habilitado || evento.getTipo() == TipoCambio.CREADO || vaciando.isHeldByCurrentThread()) {
+            return;
+        }
+        if (pendientes.remove(evento.getProductoId()) != null) {
+            descartadas.increment();
+        }
+    }
+
+    public long getActualizacionesRecibidas() {
+        return actualizacionesRecibidas.sum();
+    }
+
+    public long getFilasEscritas() {
+        return filasEscritas.sum();
+    }
+
+    public long getLotesEscritos() {
+        return lotesEscritos.sum();
+    }
+
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    // Al apagar se detiene el programador y se escriben los pendientes antes de que se cierre el DataSource
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!habilitado) {
+            return;
+        }
+        programador.shutdown();
+        programador.awaitTermination(10, TimeUnit.SECONDS);
+        vaciar();
+        log.info("Write-behind de stock detenido: {} actualizaciones recibidas, {} filas escritas en {} lotes",
+                getActualizacionesRecibidas(), getFilasEscritas(), getLotesEscritos());
+    }
+
+    private void vaciarSinErrores() {
+        try {
+            vaciar();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo escribir el lote de stock pendiente; se reintenta en el próximo vaciado", e);
+        }
+    }
+}
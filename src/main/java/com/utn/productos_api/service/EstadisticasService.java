@@ -0,0 +1,59 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.cache.EstadisticasCache;
+import com.utn.productos_api.dto.EstadisticasCategoriaDTO;
+import com.utn.productos_api.dto.EstadisticasDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class EstadisticasService {
+
+    private final ProductoRepository productoRepository;
+    private final EstadisticasCache estadisticasCache;
+
+    public EstadisticasService(ProductoRepository productoRepository, EstadisticasCache estadisticasCache) {
+        this.productoRepository = productoRepository;
+        this.estadisticasCache = estadisticasCache;
+    }
+
+    // Estadísticas de todo el catálogo, o de una sola categoría si se indica
+    public EstadisticasDTO obtenerEstadisticas(Categoria categoria) {
+        Categoria[] categorias = categoria != null ? new Categoria[]{categoria} : Categoria.values();
+        List<EstadisticasCategoriaDTO> porCategoria = new ArrayList<>(categorias.length);
+        for (Categoria c : categorias) {
+            porCategoria.add(estadisticasCache.obtener(c, clave -> productoRepository.calcularEstadisticas(clave)
+                    .orElseGet(() -> EstadisticasCategoriaDTO.vacia(clave))));
+        }
+        return combinar(porCategoria);
+    }
+
+    // Los totales se derivan de las categorías: el promedio se pondera por la cantidad de productos
+    private static EstadisticasDTO combinar(List<EstadisticasCategoriaDTO> porCategoria) {
+        long cantidad = 0;
+        long unidades = 0;
+        double valor = 0;
+        double sumaPrecios = 0;
+        Double minimo = null;
+        Double maximo = null;
+        for (EstadisticasCategoriaDTO estadisticas : porCategoria) {
+            if (estadisticas.getCantidadProductos() == 0) {
+                continue;
+            }
+            cantidad += estadisticas.getCantidadProductos();
+            unidades += estadisticas.getUnidadesEnStock();
+            valor += estadisticas.getValorInventario();
+            sumaPrecios += estadisticas.getPrecioPromedio() * estadisticas.getCantidadProductos();
+            minimo = minimo == null ? estadisticas.getPrecioMinimo() : Math.min(minimo, estadisticas.getPrecioMinimo());
+            maximo = maximo == null ? estadisticas.getPrecioMaximo() : Math.max(maximo, estadisticas.getPrecioMaximo());
+        }
+        Double promedio = cantidad > 0 ? sumaPrecios / cantidad : null;
+        return new EstadisticasDTO(cantidad, unidades, valor, minimo, promedio, maximo, porCategoria);
+    }
+}
@@ -0,0 +1,60 @@
+package com.utn.productos_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.utn.productos_api.exception.EntradaBulkInvalidaException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Iterador sobre un cuerpo NDJSON: convierte una línea por vez, sin cargar la entrada completa en memoria.
+// Una línea mal formada no corta la lectura: next() lanza EntradaBulkInvalidaException y se sigue con la próxima.
+public class LectorNdjson<T> implements Iterator<T> {
+
+    private final BufferedReader lector;
+    private final ObjectReader objectReader;
+    private String siguienteLinea;
+
+    public LectorNdjson(InputStream entrada, ObjectReader objectReader) {
+        this.lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        this.objectReader = objectReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (siguienteLinea == null) {
+                String linea = lector.readLine();
+                if (linea == null) {
+                    return false;
+                }
+                if (!linea.isBlank()) {
+                    siguienteLinea = linea;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String linea = siguienteLinea;
+        siguienteLinea = null;
+        try {
+            return objectReader.readValue(linea);
+        } catch (JsonProcessingException e) {
+            throw new EntradaBulkInvalidaException("JSON inválido: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.EstadoItemBulk;
+import com.utn.productos_api.dto.ProductoBulkUpdateDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ResultadoBulkDTO;
+import com.utn.productos_api.dto.ResultadoItemBulkDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.exception.EntradaBulkInvalidaException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.Producto;
+import com.utn.productos_api.repository.ProductoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Altas, modificaciones y bajas masivas. Cada lote de ítems válidos se confirma en su propia transacción,
+// de modo que un ítem inválido solo se reporta y no aborta el resto de la operación.
+@Service
+public class ProductoBulkService {
+
+    private final ProductoRepository productoRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanioLoteDefault;
+
+    public ProductoBulkService(ProductoRepository productoRepository,
+                               EntityManager entityManager,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${productos.bulk.tamanio-lote:500}") int tamanioLoteDefault) {
+        this.productoRepository = productoRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.tamanioLoteDefault = tamanioLoteDefault;
+    }
+
+    // Crear productos en lotes
+    public ResultadoBulkDTO crear(Iterator<? extends ProductoDTO> items, Integer tamanioLote) {
+        return procesar(items, tamanioLote, this::crearLote);
+    }
+
+    // Actualizar productos existentes en lotes
+    public ResultadoBulkDTO actualizar(Iterator<? extends ProductoBulkUpdateDTO> items, Integer tamanioLote) {
+        return procesar(items, tamanioLote, this::actualizarLote);
+    }
+
+    // Eliminar productos por ID en lotes
+    public ResultadoBulkDTO eliminar(Iterator<Long> ids, Integer tamanioLote) {
+        return procesar(ids, tamanioLote, this::eliminarLote);
+    }
+
+    // Alta de productos ya validados en una sola transacción, con un lote JDBC del tamaño de la lista (importación de
+    // archivos). Si falla no se guarda ninguno y la excepción llega al llamador.
+    public void crearValidados(List<? extends ProductoDTO> productos) {
+        crearValidados(productos, true);
+    }
+
+    // Sin eventos solo antes de que arranquen las cachés e índices (generador de catálogos): se construyen después
+    // leyendo la base
+    public void crearValidados(List<? extends ProductoDTO> productos, boolean publicarEventos) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(1, productos.size()));
+            for (ProductoDTO dto : productos) {
+                Producto producto = new Producto();
+                copiarCampos(dto, producto);
+                entityManager.persist(producto);
+                if (publicarEventos) {
+                    publicarCambio(TipoCambio.CREADO, null, producto, ProductoCambiadoEvent.TODOS_LOS_CAMPOS);
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    // Recorre la entrada validando cada ítem y acumulando los válidos hasta completar un lote
+    private <T> ResultadoBulkDTO procesar(Iterator<? extends T> items, Integer tamanioLote,
+                                          Function<List<Pendiente<T>>, List<ResultadoItemBulkDTO>> procesarLote) {
+        int tamanio = tamanioLote == null || tamanioLote < 1 ? tamanioLoteDefault : tamanioLote;
+        List<ResultadoItemBulkDTO> resultados = new ArrayList<>();
+        List<Pendiente<T>> lote = new ArrayList<>(tamanio);
+        int indice = 0;
+
+        while (items.hasNext()) {
+            int actual = indice++;
+            T item;
+            try {
+                item = items.next();
+            } catch (EntradaBulkInvalidaException e) {
+                resultados.add(fallido(actual, null, EstadoItemBulk.INVALIDO, List.of(e.getMessage())));
+                continue;
+            }
+
+            List<String> errores = validar(item);
+            if (!errores.isEmpty()) {
+                resultados.add(fallido(actual, null, EstadoItemBulk.INVALIDO, errores));
+                continue;
+            }
+
+            lote.add(new Pendiente<>(actual, item));
+            if (lote.size() == tamanio) {
+                resultados.addAll(ejecutarLote(lote, procesarLote));
+                lote = new ArrayList<>(tamanio);
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultados.addAll(ejecutarLote(lote, procesarLote));
+        }
+
+        int exitosos = (int) resultados.stream().filter(r -> r.getErrores().isEmpty()).count();
+        return new ResultadoBulkDTO(resultados.size(), exitosos, resultados.size() - exitosos, resultados);
+    }
+
+    // Un lote = una transacción. Si falla el commit, todos los ítems del lote se reportan con error.
+    private <T> List<ResultadoItemBulkDTO> ejecutarLote(List<Pendiente<T>> lote,
+                                                        Function<List<Pendiente<T>>, List<ResultadoItemBulkDTO>> procesarLote) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<ResultadoItemBulkDTO> resultados = procesarLote.apply(lote);
+                // Se envían los INSERT/UPDATE agrupados y se vacía el contexto para no acumular entidades
+                entityManager.flush();
+                entityManager.clear();
+                return resultados;
+            });
+        } catch (RuntimeException e) {
+            String mensaje = "Error al guardar el lote: " + e.getMessage();
+            return lote.stream()
+                    .map(p -> fallido(p.indice(), null, EstadoItemBulk.ERROR, List.of(mensaje)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<ResultadoItemBulkDTO> crearLote(List<Pendiente<ProductoDTO>> lote) {
+        List<ResultadoItemBulkDTO> resultados = new ArrayList<>(lote.size());
+        for (Pendiente<ProductoDTO> pendiente : lote) {
+            Producto producto = new Producto();
+            copiarCampos(pendiente.item(), producto);
+            entityManager.persist(producto);
+            publicarCambio(TipoCambio.CREADO, null, producto, ProductoCambiadoEvent.TODOS_LOS_CAMPOS);
+            resultados.add(exitoso(pendiente.indice(), producto.getId(), EstadoItemBulk.CREADO));
+        }
+        return resultados;
+    }
+
+    private List<ResultadoItemBulkDTO> actualizarLote(List<Pendiente<ProductoBulkUpdateDTO>> lote) {
+        List<Long> ids = lote.stream().map(p -> p.item().getId()).collect(Collectors.toList());
+        Map<Long, Producto> existentes = productoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Producto::getId, Function.identity()));
+
+        List<ResultadoItemBulkDTO> resultados = new ArrayList<>(lote.size());
+        List<Runnable> eventos = new ArrayList<>(lote.size());
+        for (Pendiente<ProductoBulkUpdateDTO> pendiente : lote) {
+            Long id = pendiente.item().getId();
+            Producto producto = existentes.get(id);
+            if (producto == null) {
+                resultados.add(fallido(pendiente.indice(), id, EstadoItemBulk.NO_ENCONTRADO,
+                        List.of("Producto no encontrado con ID: " + id)));
+                continue;
+            }
+            Categoria categoriaAnterior = producto.getCategoria();
+            List<String> campos = ProductoCambiadoEvent.camposModificados(producto, pendiente.item());
+            copiarCampos(pendiente.item(), producto);
+            eventos.add(() -> publicarCambio(TipoCambio.ACTUALIZADO, categoriaAnterior, producto, campos));
+            resultados.add(exitoso(pendiente.indice(), id, EstadoItemBulk.ACTUALIZADO));
+        }
+        // Los eventos se arman después del flush, que es cuando se incrementan las versiones
+        entityManager.flush();
+        eventos.forEach(Runnable::run);
+        return resultados;
+    }
+
+    private List<ResultadoItemBulkDTO> eliminarLote(List<Pendiente<Long>> lote) {
+        List<Long> ids = lote.stream().map(Pendiente::item).collect(Collectors.toList());
+        Map<Long, Categoria> existentes = productoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Producto::getId, Producto::getCategoria));
+
+        // Un único DELETE ... WHERE id IN (...) para todo el lote
+        productoRepository.deleteAllByIdInBatch(existentes.keySet());
+
+        List<ResultadoItemBulkDTO> resultados = new ArrayList<>(lote.size());
+        for (Pendiente<Long> pendiente : lote) {
+            Long id = pendiente.item();
+            // Un mismo ID repetido en el lote solo se informa como eliminado la primera vez
+            Categoria categoria = existentes.remove(id);
+            if (categoria == null) {
+                resultados.add(fallido(pendiente.indice(), id, EstadoItemBulk.NO_ENCONTRADO,
+                        List.of("Producto no encontrado con ID: " + id)));
+                continue;
+            }
+            eventPublisher.publishEvent(new ProductoCambiadoEvent(TipoCambio.ELIMINADO, id, categoria, null, null, List.of()));
+            resultados.add(exitoso(pendiente.indice(), id, EstadoItemBulk.ELIMINADO));
+        }
+        return resultados;
+    }
+
+    // Métodos auxiliares
+    private List<String> validar(Object item) {
+        if (item == null) {
+            return List.of("El ítem no puede ser nulo");
+        }
+        Set<ConstraintViolation<Object>> violaciones = validator.validate(item);
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void copiarCampos(ProductoDTO dto, Producto producto) {
+        producto.setNombre(dto.getNombre());
+        producto.setDescripcion(dto.getDescripcion());
+        producto.setPrecio(dto.getPrecio());
+        producto.setStock(dto.getStock());
+        producto.setCategoria(dto.getCategoria());
+    }
+
+    private void publicarCambio(TipoCambio tipo, Categoria categoriaAnterior, Producto producto, List<String> campos) {
+        ProductoResponseDTO dto = new ProductoResponseDTO(producto.getId(), producto.getNombre(),
+                producto.getDescripcion(), producto.getPrecio(), producto.getStock(), producto.getCategoria(),
+                producto.getVersion(), producto.getModificadoEn());
+        eventPublisher.publishEvent(new ProductoCambiadoEvent(
+                tipo, producto.getId(), categoriaAnterior, producto.getCategoria(), dto, campos));
+    }
+
+    private static ResultadoItemBulkDTO exitoso(int indice, Long id, EstadoItemBulk estado) {
+        return new ResultadoItemBulkDTO(indice, id, estado, List.of());
+    }
+
+    private static ResultadoItemBulkDTO fallido(int indice, Long id, EstadoItemBulk estado, List<String> errores) {
+        return new ResultadoItemBulkDTO(indice, id, estado, errores);
+    }
+
+    // Ítem válido a la espera de completar su lote, con su posición original en la entrada
+    private record Pendiente<T>(int indice, T item) {
+    }
+}
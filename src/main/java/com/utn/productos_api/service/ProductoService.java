@@ -1,60 +1,194 @@
 package com.utn.productos_api.service;
 
+import com.utn.productos_api.cache.ProductoCache;
+import com.utn.productos_api.cache.VersionCatalogo;
 import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoPaginaDTO;
 import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ProductosPorIdDTO;
+import com.utn.productos_api.dto.VersionColeccionDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.exception.CursorInvalidoException;
+import com.utn.productos_api.exception.LimiteIdsExcedidoException;
 import com.utn.productos_api.exception.ProductoNotFoundException;
 import com.utn.productos_api.model.Categoria;
 import com.utn.productos_api.model.Producto;
 import com.utn.productos_api.repository.ProductoRepository;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ProductoService {
 
+    private static final String PREFIJO_CURSOR = "v1:";
+    // IDs por sentencia en las búsquedas múltiples, para no armar cláusulas IN enormes
+    private static final int IDS_POR_CONSULTA = 500;
+
     private final ProductoRepository productoRepository;
+    private final ProductoCache productoCache;
+    private final VersionCatalogo versionCatalogo;
+    private final AcumuladorStock acumuladorStock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanioPaginaDefault;
+    private final int tamanioPaginaMaximo;
+    private final int maxIdsPorPeticion;
 
-    public ProductoService(ProductoRepository productoRepository) {
+    public ProductoService(ProductoRepository productoRepository,
+                           ProductoCache productoCache,
+                           VersionCatalogo versionCatalogo,
+                           AcumuladorStock acumuladorStock,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${productos.paginacion.tamanio-default:50}") int tamanioPaginaDefault,
+                           @Value("${productos.paginacion.tamanio-maximo:1000}") int tamanioPaginaMaximo,
+                           @Value("${productos.multiget.max-ids:1000}") int maxIdsPorPeticion) {
         this.productoRepository = productoRepository;
+        this.productoCache = productoCache;
+        this.versionCatalogo = versionCatalogo;
+        this.acumuladorStock = acumuladorStock;
+        this.eventPublisher = eventPublisher;
+        this.tamanioPaginaDefault = tamanioPaginaDefault;
+        this.tamanioPaginaMaximo = tamanioPaginaMaximo;
+        this.maxIdsPorPeticion = maxIdsPorPeticion;
     }
 
     // Crear un nuevo producto
     public ProductoResponseDTO crearProducto(ProductoDTO productoDTO) {
         Producto producto = convertirDTOaEntidad(productoDTO);
         Producto productoGuardado = productoRepository.save(producto);
-        return convertirEntidadaResponseDTO(productoGuardado);
+        ProductoResponseDTO respuesta = convertirEntidadaResponseDTO(productoGuardado);
+        publicarCambio(TipoCambio.CREADO, null, respuesta, ProductoCambiadoEvent.TODOS_LOS_CAMPOS);
+        return respuesta;
     }
 
+    // Las lecturas usan transacciones de solo lectura (sin flush ni dirty checking) y proyecciones del
+    // repositorio que construyen ProductoResponseDTO directamente, sin entidades administradas ni copia posterior
+
     // Obtener todos los productos
+    @Transactional(readOnly = true)
     public List<ProductoResponseDTO> obtenerTodos() {
-        return productoRepository.findAll().stream()
-                .map(this::convertirEntidadaResponseDTO)
-                .collect(Collectors.toList());
+        return productoRepository.findAllResponse();
+    }
+
+    // Obtener una página de productos ordenados por ID, a partir de un cursor opaco
+    @Transactional(readOnly = true)
+    public ProductoPaginaDTO obtenerPagina(String cursor, Integer tamanio) {
+        int tamanioEfectivo = tamanio == null
+                ? tamanioPaginaDefault
+                : Math.max(1, Math.min(tamanio, tamanioPaginaMaximo));
+        long ultimoId = decodificarCursor(cursor);
+
+        // Se pide un elemento extra para saber si existe una página siguiente sin hacer un COUNT
+        List<ProductoResponseDTO> productos = productoRepository.findResponsePagina(
+                ultimoId, PageRequest.ofSize(tamanioEfectivo + 1));
+        boolean hayMas = productos.size() > tamanioEfectivo;
+
+        List<ProductoResponseDTO> contenido = hayMas ? productos.subList(0, tamanioEfectivo) : productos;
+        String siguienteCursor = hayMas
+                ? codificarCursor(contenido.get(contenido.size() - 1).getId())
+                : null;
+        return new ProductoPaginaDTO(contenido, tamanioEfectivo, siguienteCursor);
+    }
+
+    // Recorrer todos los productos fila por fila sin materializar la tabla completa en memoria
+    @Transactional(readOnly = true)
+    public void recorrerTodos(Consumer<ProductoResponseDTO> consumidor) {
+        try (Stream<ProductoResponseDTO> productos = productoRepository.streamResponseOrdenadosPorId()) {
+            productos.forEach(consumidor);
+        }
     }
 
-    // Obtener producto por ID
+    // Obtener producto por ID (a través de la caché de lectura, que también recuerda los IDs inexistentes)
+    @Transactional(readOnly = true)
     public ProductoResponseDTO obtenerPorId(Long id) {
-        Producto producto = productoRepository.findById(id)
-                .orElseThrow(() -> new ProductoNotFoundException("Producto no encontrado con ID: " + id));
-        return convertirEntidadaResponseDTO(producto);
+        ProductoResponseDTO producto = productoCache.obtenerPorId(id,
+                clave -> productoRepository.findResponseById(clave).orElse(null));
+        if (producto == null) {
+            throw new ProductoNotFoundException(id);
+        }
+        return producto;
     }
 
-    // Obtener productos por categoría
+    // Obtener varios productos por ID en una sola operación: los que están en la caché de lectura salen de ahí y el
+    // resto se busca con consultas IN. Se respeta el orden pedido (sin repetidos) y los inexistentes se informan aparte
+    @Transactional(readOnly = true)
+    public ProductosPorIdDTO obtenerVariosPorId(List<Long> ids) {
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distintos.size() > maxIdsPorPeticion) {
+            throw new LimiteIdsExcedidoException("Se pidieron " + distintos.size()
+                    + " IDs; el máximo por petición es " + maxIdsPorPeticion);
+        }
+        Map<Long, ProductoResponseDTO> encontrados = distintos.isEmpty()
+                ? Map.of()
+                : productoCache.obtenerVariosPorId(distintos, this::buscarPorIds);
+
+        List<ProductoResponseDTO> productos = new ArrayList<>(encontrados.size());
+        List<Long> noEncontrados = new ArrayList<>();
+        for (Long id : distintos) {
+            ProductoResponseDTO producto = encontrados.get(id);
+            if (producto != null) {
+                productos.add(producto);
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return new ProductosPorIdDTO(productos, noEncontrados);
+    }
+
+    private Map<Long, ProductoResponseDTO> buscarPorIds(Set<Long> ids) {
+        List<Long> pendientes = new ArrayList<>(ids);
+        Map<Long, ProductoResponseDTO> encontrados = new HashMap<>();
+        for (int desde = 0; desde < pendientes.size(); desde += IDS_POR_CONSULTA) {
+            List<Long> lote = pendientes.subList(desde, Math.min(desde + IDS_POR_CONSULTA, pendientes.size()));
+            for (ProductoResponseDTO producto : productoRepository.findResponseByIdIn(lote)) {
+                encontrados.put(producto.getId(), producto);
+            }
+        }
+        return encontrados;
+    }
+
+    // Obtener productos por categoría (a través de la caché de lectura)
+    @Transactional(readOnly = true)
     public List<ProductoResponseDTO> obtenerPorCategoria(Categoria categoria) {
-        return productoRepository.findByCategoria(categoria).stream()
-                .map(this::convertirEntidadaResponseDTO)
-                .collect(Collectors.toList());
+        return productoCache.obtenerPorCategoria(categoria, productoRepository::findResponseByCategoria);
+    }
+
+    // Versión agregada de todo el catálogo (ETag de GET /api/productos)
+    @Transactional(readOnly = true)
+    public VersionColeccionDTO obtenerVersionCatalogo() {
+        return versionCatalogo.obtenerTotal(productoRepository::obtenerVersionTotal);
+    }
+
+    // Versión agregada de una categoría (ETag de GET /api/productos/categoria/{categoria})
+    @Transactional(readOnly = true)
+    public VersionColeccionDTO obtenerVersionCategoria(Categoria categoria) {
+        return versionCatalogo.obtenerPorCategoria(categoria,
+                () -> productoRepository.obtenerVersionPorCategoria(categoria));
     }
 
     // Actualizar producto completo
     public ProductoResponseDTO actualizarProducto(Long id, com.utn.productos_api.dto.@Valid ProductoDTO productoDTO) {
         Producto productoExistente = productoRepository.findById(id)
-                .orElseThrow(() -> new ProductoNotFoundException("Producto no encontrado con ID: " + id));
+                .orElseThrow(() -> new ProductoNotFoundException(id));
+        Categoria categoriaAnterior = productoExistente.getCategoria();
+        List<String> campos = ProductoCambiadoEvent.camposModificados(productoExistente, productoDTO);
 
         productoExistente.setNombre(productoDTO.getNombre());
         productoExistente.setDescripcion(productoDTO.getDescripcion());
@@ -62,30 +196,79 @@ public class ProductoService {
         productoExistente.setStock(productoDTO.getStock());
         productoExistente.setCategoria(productoDTO.getCategoria());
 
-        Producto productoActualizado = productoRepository.save(productoExistente);
-        return convertirEntidadaResponseDTO(productoActualizado);
+        // El flush incrementa la versión y la fecha de modificación antes de armar la respuesta
+        Producto productoActualizado = productoRepository.saveAndFlush(productoExistente);
+        ProductoResponseDTO respuesta = convertirEntidadaResponseDTO(productoActualizado);
+        publicarCambio(TipoCambio.ACTUALIZADO, categoriaAnterior, respuesta, campos);
+        return respuesta;
     }
 
     // Actualizar solo el stock
     public ProductoResponseDTO actualizarStock(Long id, com.utn.productos_api.dto.@Valid ActualizarStockDTO stockDTO) {
-        Producto producto = productoRepository.findById(id)
-                .orElseThrow(() -> new ProductoNotFoundException("Producto no encontrado con ID: " + id));
-
-        producto.setStock(stockDTO.getStock());
-        Producto productoActualizado = productoRepository.save(producto);
-        return convertirEntidadaResponseDTO(productoActualizado);
+        if (acumuladorStock.isHabilitado()) {
+            // Write-behind: se responde con el valor provisional y la escritura sale en el próximo lote. Sin versión
+            // ni fecha de modificación: las que tiene ahora el producto quedan viejas cuando se escribe el lote
+            ProductoResponseDTO actual = obtenerPorId(id);
+            acumuladorStock.aceptar(id, stockDTO.getStock());
+            return new ProductoResponseDTO(actual.getId(), actual.getNombre(), actual.getDescripcion(),
+                    actual.getPrecio(), stockDTO.getStock(), actual.getCategoria(), null, null);
+        }
+        // UPDATE directo en lugar de leer-modificar-guardar, para no pisar escrituras concurrentes
+        if (productoRepository.actualizarStock(id, stockDTO.getStock(), Instant.now()) == 0) {
+            throw new ProductoNotFoundException(id);
+        }
+        Producto productoActualizado = productoRepository.findById(id)
+                .orElseThrow(() -> new ProductoNotFoundException(id));
+        ProductoResponseDTO respuesta = convertirEntidadaResponseDTO(productoActualizado);
+        publicarCambio(TipoCambio.STOCK, respuesta.getCategoria(), respuesta, ProductoCambiadoEvent.SOLO_STOCK);
+        return respuesta;
     }
 
     // Eliminar producto
     public void eliminarProducto(Long id) {
-        if (!productoRepository.existsById(id)) {
-            throw new ProductoNotFoundException("Producto no encontrado con ID: " + id);
+        if (productoCache.esInexistente(id)) {
+            throw new ProductoNotFoundException(id);
+        }
+        // Un único DELETE; la categoría (para invalidar cachés) sale de la caché de lectura si el producto está ahí,
+        // y si no, el evento la deja en null y los interesados invalidan todas las categorías
+        Categoria categoria = productoCache.categoriaEnCache(id);
+        if (productoRepository.eliminarPorId(id) == 0) {
+            throw new ProductoNotFoundException(id);
+        }
+        eventPublisher.publishEvent(new ProductoCambiadoEvent(
+                TipoCambio.ELIMINADO, id, categoria, null, null, List.of()));
+    }
+
+    // Publica el cambio para que la caché y demás interesados reaccionen después del commit
+    private void publicarCambio(TipoCambio tipo, Categoria categoriaAnterior, ProductoResponseDTO producto,
+                                List<String> campos) {
+        eventPublisher.publishEvent(new ProductoCambiadoEvent(
+                tipo, producto.getId(), categoriaAnterior, producto.getCategoria(), producto, campos));
+    }
+
+    // Métodos auxiliares de paginación: el cursor es el último ID entregado, codificado en Base64
+    private static String codificarCursor(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIJO_CURSOR + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIJO_CURSOR)) {
+                throw new CursorInvalidoException("Cursor de paginación inválido: " + cursor);
+            }
+            return Long.parseLong(valor.substring(PREFIJO_CURSOR.length()));
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException("Cursor de paginación inválido: " + cursor, e);
         }
-        productoRepository.deleteById(id);
     }
 
-    // Métodos auxiliares de conversión
-    private Producto convertirDTOaEntidad(ProductoDTO dto) {
+    // Métodos auxiliares de conversión (visibles en el paquete para los benchmarks JMH)
+    Producto convertirDTOaEntidad(ProductoDTO dto) {
         Producto producto = new Producto();
         producto.setNombre(dto.getNombre());
         producto.setDescripcion(dto.getDescripcion());
@@ -95,15 +278,16 @@ public class ProductoService {
         return producto;
     }
 
-    private ProductoResponseDTO convertirEntidadaResponseDTO(Producto producto) {
-        ProductoResponseDTO dto = new ProductoResponseDTO();
-        dto.setId(producto.getId());
-        dto.setNombre(producto.getNombre());
-        dto.setDescripcion(producto.getDescripcion());
-        dto.setPrecio(producto.getPrecio());
-        dto.setStock(producto.getStock());
-        dto.setCategoria(producto.getCategoria());
-        return dto;
+    ProductoResponseDTO convertirEntidadaResponseDTO(Producto producto) {
+        return new ProductoResponseDTO(
+                producto.getId(),
+                producto.getNombre(),
+                producto.getDescripcion(),
+                producto.getPrecio(),
+                producto.getStock(),
+                producto.getCategoria(),
+                producto.getVersion(),
+                producto.getModificadoEn());
     }
 
-}
\ No newline at end of file
+}
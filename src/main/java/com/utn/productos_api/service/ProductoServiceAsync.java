@@ -0,0 +1,166 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ProductosPorIdDTO;
+import com.utn.productos_api.exception.ServicioSaturadoException;
+import com.utn.productos_api.model.Categoria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Variante asíncrona de ProductoService: cada operación corre en un pool propio y devuelve un CompletableFuture,
+// así una consulta lenta no retiene un hilo de Tomcat mientras espera a la base.
+// Lecturas y escrituras usan pools separados, cada uno con una cantidad fija de hilos y una cola acotada (bulkheads):
+// una ráfaga de escrituras no deja sin hilos a las lecturas ni al revés. Con la cola llena la operación se rechaza
+// de inmediato (ServicioSaturadoException) en lugar de esperar.
+// Cada operación tiene un tiempo máximo; si vence (el futuro termina con TimeoutException) o si se cancela el
+// futuro, una tarea que todavía no empezó sale de la cola y ya no se ejecuta. Una que ya empezó termina (no se
+// interrumpe una transacción a la mitad) y su resultado se descarta.
+@Service
+public class ProductoServiceAsync implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoServiceAsync.class);
+
+    private final ProductoService productoService;
+    private final ThreadPoolExecutor lecturas;
+    private final ThreadPoolExecutor escrituras;
+    private final Duration timeoutDefault;
+    private final Duration timeoutMaximo;
+
+    public ProductoServiceAsync(ProductoService productoService,
+                                @Value("${productos.async.lecturas.hilos:6}") int hilosLecturas,
+                                @Value("${productos.async.lecturas.cola:500}") int colaLecturas,
+                                @Value("${productos.async.escrituras.hilos:3}") int hilosEscrituras,
+                                @Value("${productos.async.escrituras.cola:200}") int colaEscrituras,
+                                @Value("${productos.async.timeout:2s}") Duration timeoutDefault,
+                                @Value("${productos.async.timeout-maximo:30s}") Duration timeoutMaximo) {
+        this.productoService = productoService;
+        this.lecturas = crearPool("async-lectura-", hilosLecturas, colaLecturas);
+        this.escrituras = crearPool("async-escritura-", hilosEscrituras, colaEscrituras);
+        this.timeoutDefault = timeoutDefault;
+        this.timeoutMaximo = timeoutMaximo;
+    }
+
+    // Lecturas
+
+    public CompletableFuture<ProductoResponseDTO> obtenerPorId(Long id, Duration timeout) {
+        return ejecutar(lecturas, () -> productoService.obtenerPorId(id), timeout);
+    }
+
+    public CompletableFuture<List<ProductoResponseDTO>> obtenerPorCategoria(Categoria categoria, Duration timeout) {
+        return ejecutar(lecturas, () -> productoService.obtenerPorCategoria(categoria), timeout);
+    }
+
+    public CompletableFuture<ProductosPorIdDTO> obtenerVariosPorId(List<Long> ids, Duration timeout) {
+        return ejecutar(lecturas, () -> productoService.obtenerVariosPorId(ids), timeout);
+    }
+
+    // Escrituras
+
+    public CompletableFuture<ProductoResponseDTO> crearProducto(ProductoDTO productoDTO, Duration timeout) {
+        return ejecutar(escrituras, () -> productoService.crearProducto(productoDTO), timeout);
+    }
+
+    public CompletableFuture<ProductoResponseDTO> actualizarProducto(Long id, ProductoDTO productoDTO,
+                                                                     Duration timeout) {
+        return ejecutar(escrituras, () -> productoService.actualizarProducto(id, productoDTO), timeout);
+    }
+
+    public CompletableFuture<ProductoResponseDTO> actualizarStock(Long id, ActualizarStockDTO stockDTO,
+                                                                  Duration timeout) {
+        return ejecutar(escrituras, () -> productoService.actualizarStock(id, stockDTO), timeout);
+    }
+
+    public CompletableFuture<Void> eliminarProducto(Long id, Duration timeout) {
+        return ejecutar(escrituras, () -> {
+            productoService.eliminarProducto(id);
+            return null;
+        }, timeout);
+    }
+
+    // Tiempo efectivo de una operación: el pedido por el cliente, acotado al máximo configurado
+    public Duration timeoutEfectivo(Long timeoutMs) {
+        if (timeoutMs == null || timeoutMs <= 0) {
+            return timeoutDefault;
+        }
+        Duration pedido = Duration.ofMillis(timeoutMs);
+        return pedido.compareTo(timeoutMaximo) > 0 ? timeoutMaximo : pedido;
+    }
+
+    private <T> CompletableFuture<T> ejecutar(ThreadPoolExecutor pool, Supplier<T> operacion, Duration timeout) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> tarea;
+        try {
+            tarea = pool.submit(() -> {
+                // Vencida o cancelada mientras esperaba en la cola: no se ejecuta
+                if (resultado.isDone()) {
+                    return;
+                }
+                try {
+                    resultado.complete(operacion.get());
+                } catch (Throwable e) {
+                    resultado.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resultado.completeExceptionally(new ServicioSaturadoException(
+                    "No hay capacidad para atender la operación; reintente más tarde", e));
+            return resultado;
+        }
+        // orTimeout completa este mismo futuro con TimeoutException (y libera su temporizador si termina antes)
+        resultado.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        resultado.whenComplete((valor, error) -> {
+            if (error != null) {
+                // Vencida o cancelada: si todavía no había empezado se saca de la cola, así no sigue ocupando un
+                // lugar y provocando rechazos justo cuando el pool está saturado
+                tarea.cancel(false);
+                pool.remove((Runnable) tarea);
+            }
+        });
+        return resultado;
+    }
+
+    private static ThreadPoolExecutor crearPool(String prefijo, int hilos, int cola) {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(cola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, prefijo + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public int getEnColaLecturas() {
+        return lecturas.getQueue().size();
+    }
+
+    public int getEnColaEscrituras() {
+        return escrituras.getQueue().size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        lecturas.shutdown();
+        escrituras.shutdown();
+        // Las escrituras ya aceptadas se completan antes de cerrar el contexto
+        if (!escrituras.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Quedaron {} escrituras asíncronas sin ejecutar al apagar", escrituras.getQueue().size());
+        }
+    }
+}
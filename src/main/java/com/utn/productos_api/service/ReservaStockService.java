@@ -0,0 +1,131 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ReservaItemDTO;
+import com.utn.productos_api.dto.ReservaResponseDTO;
+import com.utn.productos_api.event.ProductoCambiadoEvent;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.exception.ProductoNotFoundException;
+import com.utn.productos_api.exception.ReservaEstadoInvalidoException;
+import com.utn.productos_api.exception.ReservaNotFoundException;
+import com.utn.productos_api.exception.StockInsuficienteException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.EstadoReserva;
+import com.utn.productos_api.model.ReservaStock;
+import com.utn.productos_api.repository.ProductoRepository;
+import com.utn.productos_api.repository.ReservaStockRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ReservaStockService {
+
+    private final ProductoRepository productoRepository;
+    private final ReservaStockRepository reservaStockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReservaStockService(ProductoRepository productoRepository,
+                               ReservaStockRepository reservaStockRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.productoRepository = productoRepository;
+        this.reservaStockRepository = reservaStockRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Reservar stock de un producto: el descuento es un único UPDATE condicional (stock >= cantidad),
+    // por lo que dos reservas concurrentes nunca pueden dejar el stock en negativo
+    public ReservaResponseDTO reservar(Long productoId, Integer cantidad) {
+        descontar(productoId, cantidad);
+        ReservaStock reserva = new ReservaStock(null, productoId, cantidad,
+                EstadoReserva.PENDIENTE, LocalDateTime.now());
+        return convertirEntidadaResponseDTO(reservaStockRepository.save(reserva));
+    }
+
+    // Reservar varios productos: todo o nada. Si algún ítem falla, la transacción revierte los descuentos
+    public List<ReservaResponseDTO> reservarLote(List<ReservaItemDTO> items) {
+        // Se descuenta en orden de ID para que dos lotes concurrentes tomen las filas en el mismo orden
+        List<ReservaItemDTO> ordenados = items.stream()
+                .sorted(Comparator.comparing(ReservaItemDTO::getProductoId))
+                .collect(Collectors.toList());
+        for (ReservaItemDTO item : ordenados) {
+            descontar(item.getProductoId(), item.getCantidad());
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        List<ReservaStock> reservas = items.stream()
+                .map(item -> new ReservaStock(null, item.getProductoId(), item.getCantidad(),
+                        EstadoReserva.PENDIENTE, ahora))
+                .collect(Collectors.toList());
+        return reservaStockRepository.saveAll(reservas).stream()
+                .map(this::convertirEntidadaResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Confirmar una reserva: el stock ya fue descontado al reservar, solo cambia el estado
+    public ReservaResponseDTO confirmar(UUID reservaId) {
+        ReservaStock reserva = buscarReserva(reservaId);
+        cambiarEstado(reserva, EstadoReserva.CONFIRMADA);
+        reserva.setEstado(EstadoReserva.CONFIRMADA);
+        return convertirEntidadaResponseDTO(reserva);
+    }
+
+    // Liberar una reserva pendiente y devolver las unidades al stock del producto
+    public ReservaResponseDTO liberar(UUID reservaId) {
+        ReservaStock reserva = buscarReserva(reservaId);
+        // El cambio de estado condicional garantiza que una reserva se devuelve al stock una sola vez
+        cambiarEstado(reserva, EstadoReserva.LIBERADA);
+        if (productoRepository.reponerStock(reserva.getProductoId(), reserva.getCantidad(), Instant.now()) > 0) {
+            publicarCambioDeStock(reserva.getProductoId());
+        }
+        reserva.setEstado(EstadoReserva.LIBERADA);
+        return convertirEntidadaResponseDTO(reserva);
+    }
+
+    // Métodos auxiliares
+    private void descontar(Long productoId, Integer cantidad) {
+        if (productoRepository.descontarStock(productoId, cantidad, Instant.now()) == 0) {
+            if (!productoRepository.existsById(productoId)) {
+                throw new ProductoNotFoundException(productoId);
+            }
+            throw new StockInsuficienteException(
+                    "Stock insuficiente para reservar " + cantidad + " unidades del producto con ID: " + productoId);
+        }
+        publicarCambioDeStock(productoId);
+    }
+
+    private void publicarCambioDeStock(Long productoId) {
+        Categoria categoria = productoRepository.findCategoriaById(productoId).orElse(null);
+        eventPublisher.publishEvent(new ProductoCambiadoEvent(
+                TipoCambio.STOCK, productoId, categoria, categoria, null, ProductoCambiadoEvent.SOLO_STOCK));
+    }
+
+    private ReservaStock buscarReserva(UUID reservaId) {
+        return reservaStockRepository.findById(reservaId)
+                .orElseThrow(() -> new ReservaNotFoundException("Reserva no encontrada con ID: " + reservaId));
+    }
+
+    private void cambiarEstado(ReservaStock reserva, EstadoReserva nuevo) {
+        if (reservaStockRepository.cambiarEstado(reserva.getId(), EstadoReserva.PENDIENTE, nuevo) == 0) {
+            throw new ReservaEstadoInvalidoException(
+                    "La reserva " + reserva.getId() + " ya no está pendiente");
+        }
+    }
+
+    private ReservaResponseDTO convertirEntidadaResponseDTO(ReservaStock reserva) {
+        ReservaResponseDTO dto = new ReservaResponseDTO();
+        dto.setId(reserva.getId());
+        dto.setProductoId(reserva.getProductoId());
+        dto.setCantidad(reserva.getCantidad());
+        dto.setEstado(reserva.getEstado());
+        dto.setCreadaEn(reserva.getCreadaEn());
+        return dto;
+    }
+}
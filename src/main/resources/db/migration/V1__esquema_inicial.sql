@@ -0,0 +1,31 @@
+-- Esquema inicial para los perfiles persistentes (h2file y postgres). SQL compatible con H2 y PostgreSQL.
+
+-- Secuencia con incremento 50: coincide con allocationSize de Producto para que Hibernate reserve IDs en bloque
+CREATE SEQUENCE productos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE productos (
+    id            BIGINT                   NOT NULL,
+    nombre        VARCHAR(100)             NOT NULL,
+    descripcion   VARCHAR(500),
+    precio        DOUBLE PRECISION         NOT NULL,
+    stock         INTEGER                  NOT NULL,
+    categoria     VARCHAR(20),
+    version       BIGINT                   NOT NULL,
+    modificado_en TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_productos PRIMARY KEY (id)
+);
+
+-- (categoria, precio) también resuelve los filtros solo por categoría, por ser su prefijo
+CREATE INDEX idx_productos_categoria_precio ON productos (categoria, precio);
+CREATE INDEX idx_productos_nombre ON productos (nombre);
+
+CREATE TABLE reservas_stock (
+    id          UUID         NOT NULL,
+    producto_id BIGINT       NOT NULL,
+    cantidad    INTEGER      NOT NULL,
+    estado      VARCHAR(20)  NOT NULL,
+    creada_en   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_reservas_stock PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_reservas_producto_estado ON reservas_stock (producto_id, estado);
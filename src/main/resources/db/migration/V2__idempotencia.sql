@@ -0,0 +1,14 @@
+-- Idempotency-Key de las escrituras (productos.idempotencia.almacen=jdbc). Una fila sin estado_http es una
+-- ejecución en curso; vence_en es el fin del bloqueo mientras se ejecuta y el del TTL una vez guardada la respuesta.
+CREATE TABLE idempotencia (
+    clave          VARCHAR(400)             NOT NULL,
+    huella         VARCHAR(64)              NOT NULL,
+    estado_http    INTEGER,
+    tipo_contenido VARCHAR(200),
+    etag           VARCHAR(200),
+    cuerpo         BYTEA,
+    vence_en       TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotencia PRIMARY KEY (clave)
+);
+
+CREATE INDEX idx_idempotencia_vence_en ON idempotencia (vence_en);
@@ -0,0 +1,10 @@
+-- Avance de cada importación de archivo (ImportacionService). Se escribe en la misma transacción que el lote de
+-- productos que confirma y se borra al terminar la importación.
+CREATE TABLE checkpoints_importacion (
+    archivo        VARCHAR(255) NOT NULL,
+    desplazamiento BIGINT       NOT NULL,
+    linea          BIGINT       NOT NULL,
+    importadas     BIGINT       NOT NULL,
+    rechazadas     BIGINT       NOT NULL,
+    CONSTRAINT pk_checkpoints_importacion PRIMARY KEY (archivo)
+);
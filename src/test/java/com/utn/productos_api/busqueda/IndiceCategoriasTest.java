@@ -0,0 +1,107 @@
+package com.utn.productos_api.busqueda;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.repository.ProductoRepository;
+import com.utn.productos_api.service.ProductoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El índice en memoria tiene que responder lo mismo que la consulta de respaldo a la base, con altas, cambios de
+// precio y de categoría y bajas de por medio. Base propia: el test llena una categoría entera
+@SpringBootTest
+class IndiceCategoriasTest {
+
+    private static final Categoria CATEGORIA = Categoria.DEPORTES;
+    private static final int LIMITE_MAXIMO = 1000;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        String url = "jdbc:h2:mem:indice-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Autowired
+    private IndiceCategorias indiceCategorias;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void respondeLoMismoQueLaBase() {
+        assertTrue(indiceCategorias.isListo());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // Precios, stocks y nombres repetidos para que el desempate por id cuente
+            ProductoDTO producto = new ProductoDTO("Producto " + random.nextInt(100), null,
+                    1 + random.nextInt(50) * 2.5, random.nextInt(20), CATEGORIA);
+            ids.add(productoService.crearProducto(producto).getId());
+        }
+        comparar();
+
+        for (int i = 0; i < 60; i++) {
+            Long id = ids.get(random.nextInt(ids.size()));
+            ProductoResponseDTO actual = productoService.obtenerPorId(id);
+            Categoria categoria = i % 4 == 0 ? Categoria.HOGAR : CATEGORIA;
+            productoService.actualizarProducto(id, new ProductoDTO(actual.getNombre() + " v2", null,
+                    1 + random.nextInt(50) * 2.5, random.nextInt(20), categoria));
+        }
+        for (int i = 0; i < 40; i++) {
+            productoService.eliminarProducto(ids.remove(random.nextInt(ids.size())));
+        }
+        comparar();
+    }
+
+    // Métodos auxiliares
+    private void comparar() {
+        List<Double[]> rangos = List.of(
+                new Double[]{null, null},
+                new Double[]{null, 20.0},
+                new Double[]{30.0, null},
+                new Double[]{10.0, 12.5},
+                new Double[]{40.0, 90.0},
+                new Double[]{500.0, 600.0});
+        for (Categoria categoria : List.of(CATEGORIA, Categoria.HOGAR)) {
+            for (OrdenCategoria orden : OrdenCategoria.values()) {
+                for (Double[] rango : rangos) {
+                    for (int limite : new int[]{1, 5, 50, LIMITE_MAXIMO}) {
+                        String caso = categoria + " " + orden + " [" + rango[0] + ", " + rango[1] + "] " + limite;
+                        assertEquals(deLaBase(categoria, rango[0], rango[1], orden, limite),
+                                ids(indiceCategorias.consultar(categoria, rango[0], rango[1], orden, limite)), caso);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Long> deLaBase(Categoria categoria, Double precioMin, Double precioMax, OrdenCategoria orden,
+                                int limite) {
+        Sort sort = Sort.by(orden.getCampo()).and(Sort.by("id"));
+        return ids(productoRepository.findResponseByCategoriaYPrecio(categoria,
+                precioMin != null ? precioMin : 0.0, precioMax != null ? precioMax : Double.MAX_VALUE,
+                PageRequest.of(0, limite, sort)));
+    }
+
+    private static List<Long> ids(List<ProductoResponseDTO> productos) {
+        return productos.stream().map(ProductoResponseDTO::getId).toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.utn.productos_api.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Se compara contra un TreeSet con el mismo orden; miles de entradas para que los bloques se partan y se vacíen
+class ListaOrdenadaTest {
+
+    private static final Comparator<Entrada> ORDEN = Comparator.comparingDouble(Entrada::clave)
+            .thenComparing(Entrada::nombre, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingLong(Entrada::id);
+
+    private final Random random = new Random(42);
+
+    @Test
+    void altasYBajasConservanElOrden() {
+        ListaOrdenada lista = ListaOrdenada.vacia(false);
+        TreeSet<Entrada> esperado = new TreeSet<>(ORDEN);
+        for (long id = 1; id <= 5000; id++) {
+            // Pocas claves distintas: muchos empates que desempata el id
+            Entrada entrada = new Entrada(random.nextInt(200), null, id);
+            lista.insertar(entrada.clave(), null, entrada.clave(), id);
+            esperado.add(entrada);
+        }
+        verificar(lista, esperado);
+
+        List<Entrada> todas = new ArrayList<>(esperado);
+        for (int i = 0; i < 4000; i++) {
+            Entrada entrada = todas.remove(random.nextInt(todas.size()));
+            assertTrue(lista.quitar(entrada.clave(), null, entrada.id()));
+            esperado.remove(entrada);
+        }
+        verificar(lista, esperado);
+    }
+
+    @Test
+    void construirEnBloqueYSeguirInsertando() {
+        int cantidad = 3000;
+        double[] claves = new double[cantidad];
+        long[] ids = new long[cantidad];
+        TreeSet<Entrada> esperado = new TreeSet<>(ORDEN);
+        for (int i = 0; i < cantidad; i++) {
+            claves[i] = random.nextInt(1000) / 10.0;
+            ids[i] = cantidad - i;
+            esperado.add(new Entrada(claves[i], null, ids[i]));
+        }
+        ListaOrdenada lista = ListaOrdenada.construir(false, claves, null, claves, ids, cantidad);
+        verificar(lista, esperado);
+
+        for (long id = cantidad + 1; id <= cantidad + 2000; id++) {
+            Entrada entrada = new Entrada(random.nextInt(1000) / 10.0, null, id);
+            lista.insertar(entrada.clave(), null, entrada.clave(), id);
+            esperado.add(entrada);
+        }
+        verificar(lista, esperado);
+    }
+
+    @Test
+    void porNombreOrdenaPorNombreEId() {
+        ListaOrdenada lista = ListaOrdenada.vacia(true);
+        TreeSet<Entrada> esperado = new TreeSet<>(ORDEN);
+        for (long id = 1; id <= 2000; id++) {
+            String nombre = id % 100 == 0 ? null : "producto-" + random.nextInt(300);
+            lista.insertar(0, nombre, id, id);
+            esperado.add(new Entrada(0, nombre, id));
+        }
+        assertEquals(ids(esperado), recorrer(lista));
+
+        Entrada primera = esperado.pollFirst();
+        assertTrue(lista.quitar(0, primera.nombre(), primera.id()));
+        // Mismo id con otro nombre: no es la misma entrada
+        Entrada otra = esperado.first();
+        assertFalse(lista.quitar(0, otra.nombre() + "x", otra.id()));
+        assertEquals(ids(esperado), recorrer(lista));
+    }
+
+    @Test
+    void quitarUnaEntradaInexistenteNoCambiaNada() {
+        ListaOrdenada lista = ListaOrdenada.vacia(false);
+        assertFalse(lista.quitar(1, null, 1));
+        lista.insertar(1, null, 1, 1);
+
+        assertFalse(lista.quitar(1, null, 2));
+        assertFalse(lista.quitar(2, null, 1));
+        assertEquals(1, lista.tamanio());
+
+        assertTrue(lista.quitar(1, null, 1));
+        assertEquals(0, lista.tamanio());
+        assertEquals(0, lista.contarEntre(0, 10));
+        assertEquals(List.of(), recorrer(lista));
+    }
+
+    @Test
+    void rangosEnLosBordes() {
+        ListaOrdenada lista = ListaOrdenada.vacia(false);
+        for (long id = 1; id <= 10; id++) {
+            lista.insertar(id * 10, null, id * 10, id);
+        }
+
+        assertEquals(10, lista.contarEntre(10, 100));
+        assertEquals(1, lista.contarEntre(50, 50));
+        assertEquals(0, lista.contarEntre(51, 59));
+        assertEquals(0, lista.contarEntre(101, 200));
+        assertEquals(0, lista.contarEntre(60, 50));
+        assertEquals(List.of(10L), recorrerDesde(lista, 95));
+        assertEquals(List.of(), recorrerDesde(lista, 101));
+    }
+
+    // Métodos auxiliares
+    private void verificar(ListaOrdenada lista, TreeSet<Entrada> esperado) {
+        assertEquals(esperado.size(), lista.tamanio());
+        assertEquals(ids(esperado), recorrer(lista));
+        for (int i = 0; i < 50; i++) {
+            double minimo = random.nextInt(220) - 10;
+            double maximo = minimo + random.nextInt(60);
+            assertEquals(cantidadEntre(esperado, minimo, maximo), lista.contarEntre(minimo, maximo),
+                    "[" + minimo + ", " + maximo + "]");
+            assertEquals(ids(esperado.tailSet(new Entrada(minimo, null, Long.MIN_VALUE))),
+                    recorrerDesde(lista, minimo), "desde " + minimo);
+        }
+    }
+
+    private static long cantidadEntre(TreeSet<Entrada> entradas, double minimo, double maximo) {
+        return entradas.stream().filter(e -> e.clave() >= minimo && e.clave() <= maximo).count();
+    }
+
+    private static List<Long> ids(Iterable<Entrada> entradas) {
+        List<Long> ids = new ArrayList<>();
+        entradas.forEach(e -> ids.add(e.id()));
+        return ids;
+    }
+
+    private static List<Long> recorrer(ListaOrdenada lista) {
+        List<Long> ids = new ArrayList<>();
+        lista.recorrer((id, precio) -> ids.add(id));
+        return ids;
+    }
+
+    private static List<Long> recorrerDesde(ListaOrdenada lista, double clave) {
+        List<Long> ids = new ArrayList<>();
+        lista.recorrerDesde(clave, (id, precio) -> ids.add(id));
+        return ids;
+    }
+
+    private record Entrada(double clave, String nombre, long id) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.utn.productos_api.cambios;
+
+import com.utn.productos_api.dto.CambioProductoDTO;
+import com.utn.productos_api.event.TipoCambio;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BufferCambiosTest {
+
+    private final BufferCambios buffer = new BufferCambios(4);
+
+    @Test
+    void lasSecuenciasEmpiezanEnUno() {
+        assertEquals(0, buffer.ultimaSecuencia());
+        assertEquals(List.of(), buffer.leerDesde(0, 10));
+
+        assertEquals(1, agregar().getSecuencia());
+        assertEquals(2, agregar().getSecuencia());
+        assertEquals(2, buffer.ultimaSecuencia());
+        assertEquals(1, buffer.primeraDisponible());
+    }
+
+    @Test
+    void leeDesdeUnaSecuenciaHastaElMaximo() {
+        for (int i = 0; i < 3; i++) {
+            agregar();
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), secuencias(buffer.leerDesde(0, 10)));
+        assertEquals(List.of(2L, 3L), secuencias(buffer.leerDesde(1, 10)));
+        assertEquals(List.of(2L), secuencias(buffer.leerDesde(1, 1)));
+        assertEquals(List.of(), buffer.leerDesde(3, 10));
+    }
+
+    @Test
+    void unaPosicionPisadaSeInformaComoNull() {
+        for (int i = 0; i < 6; i++) {
+            agregar();
+        }
+
+        // Quedan las secuencias 3 a 6
+        assertEquals(3, buffer.primeraDisponible());
+        assertEquals(List.of(3L, 4L, 5L, 6L), secuencias(buffer.leerDesde(2, 10)));
+        assertNull(buffer.leerDesde(1, 10));
+        assertNull(buffer.leerDesde(0, 1));
+    }
+
+    // Métodos auxiliares
+    private CambioProductoDTO agregar() {
+        return buffer.agregar(secuencia -> new CambioProductoDTO(secuencia, TipoCambio.STOCK, secuencia,
+                List.of("stock"), 1L, null, Instant.now()));
+    }
+
+    private static List<Long> secuencias(List<CambioProductoDTO> cambios) {
+        return cambios.stream().map(CambioProductoDTO::getSecuencia).toList();
+    }
+}
@@ -0,0 +1,209 @@
+package com.utn.productos_api.cambios;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.ProductoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Feed de cambios por HTTP real: el buffer guarda solo 5 cambios para poder pedir posiciones que ya no están
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "productos.cambios.capacidad=5",
+        "productos.limites.habilitado=false"
+})
+class FeedCambiosTest {
+
+    private static final long ESPERA_SEGUNDOS = 10;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        String url = "jdbc:h2:mem:cambios-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ProductoService productoService;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @Test
+    void cadaSuscriptorRecibeCadaCambio() throws Exception {
+        try (Feed primero = suscribir(null, null); Feed segundo = suscribir(null, null)) {
+            Long id = crear();
+            productoService.eliminarProducto(id);
+
+            for (Feed feed : List.of(primero, segundo)) {
+                Evento creado = feed.siguiente();
+                Evento eliminado = feed.siguiente();
+                assertEquals("CREADO", creado.nombre());
+                assertTrue(creado.datos().contains("\"productoId\":" + id), creado.datos());
+                assertEquals("ELIMINADO", eliminado.nombre());
+                assertEquals(creado.secuencia() + 1, eliminado.secuencia());
+            }
+        }
+    }
+
+    @Test
+    void desdeRetomaLosCambiosPerdidos() throws Exception {
+        long ultima;
+        try (Feed feed = suscribir(null, null)) {
+            crear();
+            ultima = feed.siguiente().secuencia();
+        }
+        // Cambios mientras el cliente estaba desconectado
+        crear();
+        crear();
+
+        try (Feed feed = suscribir(ultima, null)) {
+            assertEquals(ultima + 1, feed.siguiente().secuencia());
+            assertEquals(ultima + 2, feed.siguiente().secuencia());
+        }
+        try (Feed feed = suscribir(null, ultima + 1)) {
+            assertEquals(ultima + 2, feed.siguiente().secuencia());
+        }
+    }
+
+    @Test
+    void posicionFueraDelBufferRecibeReinicio() throws Exception {
+        // Más cambios que la capacidad: la secuencia 1 ya no está
+        for (int i = 0; i < 6; i++) {
+            crear();
+        }
+
+        try (Feed feed = suscribir(0L, null)) {
+            Evento reinicio = feed.siguiente();
+            assertEquals("reinicio", reinicio.nombre());
+            // Después del reinicio llegan los cambios que el buffer todavía tiene
+            assertEquals(reinicio.secuencia() + 1, feed.siguiente().secuencia());
+        }
+
+        // Una posición posterior a la última es de antes de un reinicio del servidor
+        long ultima;
+        try (Feed feed = suscribir(null, null)) {
+            crear();
+            ultima = feed.siguiente().secuencia();
+        }
+        try (Feed feed = suscribir(ultima + 1000, null)) {
+            Evento reinicio = feed.siguiente();
+            assertEquals("reinicio", reinicio.nombre());
+            assertEquals(ultima, reinicio.secuencia());
+            crear();
+            assertEquals(ultima + 1, feed.siguiente().secuencia());
+        }
+    }
+
+    // Métodos auxiliares
+    private Long crear() {
+        return productoService.crearProducto(new ProductoDTO("Producto feed", null, 10.0, 1, Categoria.ROPA))
+                .getId();
+    }
+
+    // Devuelve el feed ya registrado: cuando llega el comentario inicial el suscriptor ya recibe los cambios
+    private Feed suscribir(Long desde, Long ultimoEventoId) throws Exception {
+        String url = "http://localhost:" + puerto + "/api/productos/cambios" + (desde != null ? "?desde=" + desde : "");
+        HttpRequest.Builder pedido = HttpRequest.newBuilder(URI.create(url)).header("Accept", "text/event-stream");
+        if (ultimoEventoId != null) {
+            pedido.header("Last-Event-ID", String.valueOf(ultimoEventoId));
+        }
+        HttpResponse<InputStream> respuesta = cliente.send(pedido.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, respuesta.statusCode());
+        Feed feed = new Feed(respuesta.body());
+        Evento conectado = feed.eventos.poll(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+        assertNotNull(conectado, "sin comentario inicial");
+        assertTrue(conectado.comentarios().contains("conectado"));
+        return feed;
+    }
+
+    // Lee el stream en un hilo aparte y separa los eventos por la línea en blanco
+    private static final class Feed implements AutoCloseable {
+
+        private final InputStream cuerpo;
+        private final BlockingQueue<Evento> eventos = new LinkedBlockingQueue<>();
+
+        Feed(InputStream cuerpo) {
+            this.cuerpo = cuerpo;
+            Thread lector = new Thread(this::leer, "feed-cambios-test");
+            lector.setDaemon(true);
+            lector.start();
+        }
+
+        // Próximo evento con datos; los latidos se saltean
+        Evento siguiente() throws InterruptedException {
+            while (true) {
+                Evento evento = eventos.poll(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+                assertNotNull(evento, "no llegó ningún evento");
+                if (evento.datos() != null) {
+                    return evento;
+                }
+            }
+        }
+
+        private void leer() {
+            try (BufferedReader lineas = new BufferedReader(new InputStreamReader(cuerpo, StandardCharsets.UTF_8))) {
+                String id = null;
+                String nombre = null;
+                String datos = null;
+                List<String> comentarios = new ArrayList<>();
+                String linea;
+                while ((linea = lineas.readLine()) != null) {
+                    if (linea.isEmpty()) {
+                        eventos.add(new Evento(id, nombre, datos, comentarios));
+                        id = null;
+                        nombre = null;
+                        datos = null;
+                        comentarios = new ArrayList<>();
+                    } else if (linea.startsWith(":")) {
+                        comentarios.add(linea.substring(1));
+                    } else if (linea.startsWith("id:")) {
+                        id = linea.substring(3);
+                    } else if (linea.startsWith("event:")) {
+                        nombre = linea.substring(6);
+                    } else if (linea.startsWith("data:")) {
+                        datos = linea.substring(5);
+                    }
+                }
+            } catch (IOException e) {
+                // Conexión cerrada por el test
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            cuerpo.close();
+        }
+    }
+
+    private record Evento(String id, String nombre, String datos, List<String> comentarios) {
+
+        long secuencia() {
+            return Long.parseLong(id);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.utn.productos_api.cluster;
+
+import com.utn.productos_api.ApiRestSpringApplication;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.event.TipoCambio;
+import com.utn.productos_api.exception.ProductoNotFoundException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.Producto;
+import com.utn.productos_api.repository.ProductoRepository;
+import com.utn.productos_api.service.ProductoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.DatagramSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Varios nodos en la misma JVM sobre una misma base H2: lo que se escribe en un nodo tiene que dejar de verse viejo
+// en las cachés de los demás dentro de MAX_DESACTUALIZACION
+class InvalidacionClusterTest {
+
+    private static final Duration MAX_DESACTUALIZACION = Duration.ofSeconds(2);
+    private static final Duration LATIDO = Duration.ofMillis(200);
+
+    private final List<ConfigurableApplicationContext> nodos = new ArrayList<>();
+
+    @AfterEach
+    void detenerNodos() {
+        // El primero creó el esquema y lo borra al cerrar: se cierra último
+        for (int i = nodos.size() - 1; i >= 0; i--) {
+            nodos.get(i).close();
+        }
+        nodos.clear();
+    }
+
+    @Test
+    void cambiosSeVenEnTodosLosNodosConTransporteLocal() {
+        String base = "cluster-" + UUID.randomUUID();
+        String canal = UUID.randomUUID().toString();
+        for (int i = 0; i < 3; i++) {
+            iniciarNodo(base, i == 0, Map.of(
+                    "productos.cluster.transporte", "local",
+                    "productos.cluster.canal", canal));
+        }
+
+        verificarPropagacion();
+    }
+
+    @Test
+    void cambiosSeVenEnTodosLosNodosConTransporteUdp() throws Exception {
+        String base = "cluster-" + UUID.randomUUID();
+        int puertoA = puertoLibre();
+        int puertoB = puertoLibre();
+        iniciarNodo(base, true, Map.of(
+                "productos.cluster.transporte", "udp",
+                "productos.cluster.udp.puerto", puertoA,
+                "productos.cluster.udp.nodos", "127.0.0.1:" + puertoB));
+        iniciarNodo(base, false, Map.of(
+                "productos.cluster.transporte", "udp",
+                "productos.cluster.udp.puerto", puertoB,
+                "productos.cluster.udp.nodos", "127.0.0.1:" + puertoA));
+
+        verificarPropagacion();
+    }
+
+    @Test
+    void invalidacionPerdidaSeDetectaConElLatido() {
+        String base = "cluster-" + UUID.randomUUID();
+        String canal = UUID.randomUUID().toString();
+        ConfigurableApplicationContext a = iniciarNodo(base, true, Map.of(
+                "productos.cluster.transporte", "local",
+                "productos.cluster.canal", canal));
+        ConfigurableApplicationContext b = iniciarNodo(base, false, Map.of(
+                "productos.cluster.transporte", "local",
+                "productos.cluster.canal", canal));
+        ProductoService servicioA = a.getBean(ProductoService.class);
+        ProductoService servicioB = b.getBean(ProductoService.class);
+        Long id = servicioA.crearProducto(producto("Mate de calabaza", Categoria.HOGAR)).getId();
+        assertEquals("Mate de calabaza", servicioB.obtenerPorId(id).getNombre());
+
+        // Un cambio que B nunca recibe: se escribe en A sin pasar por el servicio y A anuncia una secuencia más
+        ProductoRepository repositorioA = a.getBean(ProductoRepository.class);
+        Producto entidad = repositorioA.findById(id).orElseThrow();
+        entidad.setNombre("Mate de madera");
+        repositorioA.save(entidad);
+        BusInvalidaciones busA = a.getBean(BusInvalidaciones.class);
+        BusInvalidaciones busB = b.getBean(BusInvalidaciones.class);
+        long huecosAntes = busB.getHuecos();
+        busB.recibir(MensajeInvalidacion.latido(busA.getNodo(), busA.getEpoca(), busA.getEnviados() + 1));
+
+        assertTrue(busB.getHuecos() > huecosAntes);
+        assertEquals("Mate de madera", servicioB.obtenerPorId(id).getNombre());
+    }
+
+    @Test
+    void nodoReiniciadoConElMismoNombreVaciaLasCaches() {
+        ConfigurableApplicationContext contexto = iniciarNodo("cluster-" + UUID.randomUUID(), true, Map.of(
+                "productos.cluster.transporte", "local",
+                "productos.cluster.canal", UUID.randomUUID().toString()));
+        ProductoService servicio = contexto.getBean(ProductoService.class);
+        ProductoRepository repositorio = contexto.getBean(ProductoRepository.class);
+        BusInvalidaciones bus = contexto.getBean(BusInvalidaciones.class);
+        Long id = servicio.crearProducto(producto("Yerba 1kg", Categoria.ALIMENTOS)).getId();
+
+        // El nodo "a" ya envió 50 mensajes en su primera época
+        bus.recibir(MensajeInvalidacion.latido("a", 1, 50));
+        assertEquals("Yerba 1kg", servicio.obtenerPorId(id).getNombre());
+
+        // Vuelve a arrancar y su primer cambio no llega: solo el latido de la época nueva, muy por debajo de 50
+        cambiarSinInvalidar(repositorio, id, "Yerba 500g");
+        long huecosAntes = bus.getHuecos();
+        bus.recibir(MensajeInvalidacion.latido("a", 2, 1));
+        assertEquals(huecosAntes + 1, bus.getHuecos());
+        assertEquals("Yerba 500g", servicio.obtenerPorId(id).getNombre());
+
+        // La secuencia sigue desde la época nueva: el siguiente latido en orden no es un hueco
+        bus.recibir(MensajeInvalidacion.latido("a", 2, 1));
+        assertEquals(huecosAntes + 1, bus.getHuecos());
+
+        // Una secuencia que retrocede dentro de la misma época también vacía las cachés
+        cambiarSinInvalidar(repositorio, id, "Yerba 250g");
+        bus.recibir(MensajeInvalidacion.latido("a", 2, 0));
+        assertEquals(huecosAntes + 2, bus.getHuecos());
+        assertEquals("Yerba 250g", servicio.obtenerPorId(id).getNombre());
+    }
+
+    @Test
+    void mensajeSeCodificaYDecodificaConSuEpoca() {
+        MensajeInvalidacion mensaje = new MensajeInvalidacion("nodo-a", -42L, 7, TipoCambio.ACTUALIZADO, 3L,
+                Categoria.HOGAR, Categoria.DEPORTES, List.of("nombre", "categoria"));
+        byte[] datos = mensaje.codificar();
+
+        assertEquals(mensaje, MensajeInvalidacion.decodificar(datos, datos.length));
+    }
+
+    // Escribe directo con el repositorio, sin publicar el evento que difunde la invalidación
+    private static void cambiarSinInvalidar(ProductoRepository repositorio, Long id, String nombre) {
+        Producto entidad = repositorio.findById(id).orElseThrow();
+        entidad.setNombre(nombre);
+        repositorio.save(entidad);
+    }
+
+    // Cada nodo cachea el producto y su categoría; se actualiza y luego se elimina desde el primero
+    private void verificarPropagacion() {
+        ProductoService escritor = nodos.get(0).getBean(ProductoService.class);
+        Long id = escritor.crearProducto(producto("Termo de acero", Categoria.HOGAR)).getId();
+        for (ConfigurableApplicationContext nodo : nodos) {
+            ProductoService servicio = nodo.getBean(ProductoService.class);
+            esperar(() -> servicio.obtenerPorId(id) != null);
+            servicio.obtenerPorCategoria(Categoria.HOGAR);
+        }
+
+        escritor.actualizarProducto(id, producto("Termo de acero 1L", Categoria.DEPORTES));
+        for (ConfigurableApplicationContext nodo : nodos) {
+            ProductoService servicio = nodo.getBean(ProductoService.class);
+            esperar(() -> "Termo de acero 1L".equals(servicio.obtenerPorId(id).getNombre())
+                    && servicio.obtenerPorCategoria(Categoria.HOGAR).stream().noneMatch(p -> p.getId().equals(id))
+                    && servicio.obtenerPorCategoria(Categoria.DEPORTES).stream().anyMatch(p -> p.getId().equals(id)));
+        }
+
+        escritor.eliminarProducto(id);
+        for (ConfigurableApplicationContext nodo : nodos) {
+            ProductoService servicio = nodo.getBean(ProductoService.class);
+            esperar(() -> {
+                try {
+                    servicio.obtenerPorId(id);
+                    return false;
+                } catch (ProductoNotFoundException e) {
+                    return true;
+                }
+            });
+            assertThrows(ProductoNotFoundException.class, () -> servicio.obtenerPorId(id));
+        }
+    }
+
+    private ConfigurableApplicationContext iniciarNodo(String base, boolean creaEsquema, Map<String, Object> cluster) {
+        Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("spring.datasource.url", "jdbc:h2:mem:" + base + ";DB_CLOSE_DELAY=-1");
+        propiedades.put("spring.jpa.hibernate.ddl-auto", creaEsquema ? "create-drop" : "none");
+        propiedades.put("spring.jpa.show-sql", "false");
+        propiedades.put("spring.main.banner-mode", "off");
+        propiedades.put("productos.precalentamiento.habilitado", "false");
+        propiedades.put("productos.cluster.nodo", "nodo-" + nodos.size());
+        propiedades.put("productos.cluster.latido", LATIDO.toMillis() + "ms");
+        propiedades.putAll(cluster);
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ApiRestSpringApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos(propiedades));
+        nodos.add(contexto);
+        return contexto;
+    }
+
+    // Como argumentos de línea de comandos, para que tengan prioridad sobre application.properties (las de
+    // SpringApplicationBuilder.properties() son valores por defecto y pierden contra el archivo)
+    private static String[] argumentos(Map<String, Object> propiedades) {
+        return propiedades.entrySet().stream()
+                .map(propiedad -> "--" + propiedad.getKey() + "=" + propiedad.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static void esperar(BooleanSupplier condicion) {
+        long limite = System.nanoTime() + MAX_DESACTUALIZACION.toNanos();
+        while (!condicion.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                fail("Un nodo siguió viendo datos viejos después de " + MAX_DESACTUALIZACION);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrumpido esperando la invalidación");
+            }
+        }
+    }
+
+    private static int puertoLibre() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static ProductoDTO producto(String nombre, Categoria categoria) {
+        return new ProductoDTO(nombre, "Producto de prueba del cluster", 25.0, 10, categoria);
+    }
+}
@@ -0,0 +1,116 @@
+package com.utn.productos_api.controller;
+
+import com.utn.productos_api.config.ColumnarHttpMessageConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Formato elegido por Accept, ETag por formato y Vary en los GET de productos (datos de ejemplo del DataLoader)
+@SpringBootTest
+class NegociacionContenidoTest {
+
+    private static final List<String> URLS = List.of(
+            "/api/productos", "/api/productos/categoria/ELECTRONICA", "/api/productos/1");
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String COLUMNAR = ColumnarHttpMessageConverter.APPLICATION_COLUMNAR_JSON_VALUE;
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void preparar() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(contexto).build();
+    }
+
+    @Test
+    void sinAcceptOConComodinRespondeJson() throws Exception {
+        for (String url : URLS) {
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, pedir(url, null).getContentType(), url);
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, pedir(url, "*/*").getContentType(), url);
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, pedir(url, "application/*").getContentType(), url);
+        }
+    }
+
+    @Test
+    void cadaFormatoExplicitoSeRespeta() throws Exception {
+        for (String url : URLS) {
+            for (String tipo : List.of(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, SMILE)) {
+                assertEquals(tipo, pedir(url, tipo).getContentType(), url);
+            }
+        }
+        for (String url : List.of("/api/productos", "/api/productos/categoria/ELECTRONICA")) {
+            MockHttpServletResponse respuesta = pedir(url, COLUMNAR);
+            assertEquals(COLUMNAR, respuesta.getContentType(), url);
+            assertTrue(respuesta.getContentAsString().startsWith(url.contains("categoria")
+                    ? "{\"cantidad\":" : "{\"contenido\":{\"cantidad\":"), url);
+        }
+    }
+
+    @Test
+    void laCalidadDecideEntreFormatos() throws Exception {
+        MockHttpServletResponse respuesta = pedir("/api/productos", "application/json;q=0.5, application/cbor");
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, respuesta.getContentType());
+        assertTrue(respuesta.getHeader(HttpHeaders.ETAG).endsWith("-cbor\""));
+    }
+
+    @Test
+    void cadaFormatoTieneSuPropioEtagYVary() throws Exception {
+        for (String url : URLS) {
+            Set<String> etags = new HashSet<>();
+            for (String tipo : List.of(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, SMILE,
+                    COLUMNAR)) {
+                MockHttpServletResponse respuesta = pedir(url, tipo);
+                etags.add(respuesta.getHeader(HttpHeaders.ETAG));
+                assertEquals("Accept, Accept-Encoding", String.join(", ", respuesta.getHeaders(HttpHeaders.VARY)), url);
+            }
+            assertEquals(4, etags.size(), url);
+            // Un comodín y JSON explícito son la misma representación
+            assertEquals(pedir(url, "*/*").getHeader(HttpHeaders.ETAG),
+                    pedir(url, MediaType.APPLICATION_JSON_VALUE).getHeader(HttpHeaders.ETAG), url);
+        }
+    }
+
+    @Test
+    void elGetCondicionalSoloCoincideConElMismoFormato() throws Exception {
+        String etagJson = pedir("/api/productos/1", MediaType.APPLICATION_JSON_VALUE).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse mismoFormato = mockMvc.perform(get("/api/productos/1")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, etagJson)).andReturn().getResponse();
+        MockHttpServletResponse otroFormato = mockMvc.perform(get("/api/productos/1")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, etagJson)).andReturn().getResponse();
+
+        assertEquals(304, mismoFormato.getStatus());
+        assertEquals(200, otroFormato.getStatus());
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, otroFormato.getContentType());
+    }
+
+    private MockHttpServletResponse pedir(String url, String accept) throws Exception {
+        MockHttpServletRequestBuilder peticion = get(url);
+        if (accept != null) {
+            peticion.header(HttpHeaders.ACCEPT, accept);
+        }
+        MockHttpServletResponse respuesta = mockMvc.perform(peticion).andReturn().getResponse();
+        assertEquals(200, respuesta.getStatus(), url + " " + accept);
+        return respuesta;
+    }
+}
@@ -0,0 +1,73 @@
+package com.utn.productos_api.idempotencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// La tabla de la migración V2 sobre una H2 en memoria
+class AlmacenIdempotenciaJdbcTest {
+
+    private DriverManagerDataSource dataSource;
+    private AlmacenIdempotenciaJdbc almacen;
+
+    @BeforeEach
+    void crearTabla() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:idempotencia-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V2__idempotencia.sql")).execute(dataSource);
+        almacen = new AlmacenIdempotenciaJdbc(new JdbcTemplate(dataSource), Duration.ofHours(1), Duration.ofSeconds(30),
+                Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void cerrar() {
+        almacen.close();
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+    }
+
+    @Test
+    void segundaReservaVeLaEjecucionEnCursoYLuegoLaRespuesta() {
+        assertNull(almacen.reservar("cliente k1", "huella"));
+        assertTrue(almacen.reservar("cliente k1", "huella").enCurso());
+
+        almacen.completar("cliente k1", "huella",
+                new RespuestaGuardada(201, "application/json", "\"3\"", "{\"id\":1}".getBytes()));
+        RegistroIdempotencia registro = almacen.reservar("cliente k1", "otra-huella");
+
+        assertEquals("huella", registro.huella());
+        assertEquals(201, registro.respuesta().estado());
+        assertEquals("\"3\"", registro.respuesta().etag());
+        assertEquals("{\"id\":1}", new String(registro.respuesta().cuerpo()));
+    }
+
+    @Test
+    void reservaLiberadaSePuedeVolverAReservar() {
+        assertNull(almacen.reservar("cliente k2", "huella"));
+        almacen.liberar("cliente k2");
+
+        assertNull(almacen.reservar("cliente k2", "huella"));
+    }
+
+    @Test
+    void registroVencidoSeReemplaza() {
+        AlmacenIdempotenciaJdbc sinBloqueo = new AlmacenIdempotenciaJdbc(new JdbcTemplate(dataSource),
+                Duration.ZERO, Duration.ZERO, Duration.ofMinutes(5));
+        try {
+            assertNull(sinBloqueo.reservar("cliente k3", "huella"));
+            assertNull(sinBloqueo.reservar("cliente k3", "huella"));
+        } finally {
+            sinBloqueo.close();
+        }
+    }
+}
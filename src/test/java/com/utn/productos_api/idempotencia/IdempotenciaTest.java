@@ -0,0 +1,130 @@
+package com.utn.productos_api.idempotencia;
+
+import com.utn.productos_api.repository.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Reintentos de escrituras con Idempotency-Key contra el almacén en memoria
+@SpringBootTest
+class IdempotenciaTest {
+
+    private static final String PRODUCTO = """
+            {"nombre":"Mate imperial","descripcion":"Calabaza","precio":45.5,"stock":7,"categoria":"HOGAR"}""";
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    @Autowired
+    private IdempotenciaFilter filtro;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void preparar() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(contexto).addFilters(filtro).build();
+    }
+
+    @Test
+    void reintentoRepiteLaRespuestaSinVolverAEscribir() throws Exception {
+        String clave = UUID.randomUUID().toString();
+        long antes = productoRepository.count();
+
+        MockHttpServletResponse primera = crear(clave, PRODUCTO);
+        MockHttpServletResponse reintento = crear(clave, PRODUCTO);
+
+        assertEquals(201, primera.getStatus());
+        assertNull(primera.getHeader(IdempotenciaFilter.CABECERA_REPETIDA));
+        assertEquals(201, reintento.getStatus());
+        assertEquals("true", reintento.getHeader(IdempotenciaFilter.CABECERA_REPETIDA));
+        assertEquals(primera.getContentAsString(), reintento.getContentAsString());
+        assertEquals(antes + 1, productoRepository.count());
+    }
+
+    @Test
+    void mismaClaveConOtraPeticionSeRechaza() throws Exception {
+        String clave = UUID.randomUUID().toString();
+        assertEquals(201, crear(clave, PRODUCTO).getStatus());
+
+        MockHttpServletResponse otra = crear(clave, PRODUCTO.replace("45.5", "50.0"));
+
+        assertEquals(422, otra.getStatus());
+    }
+
+    @Test
+    void patchDeStockRepetidoNoSeVuelveAEjecutar() throws Exception {
+        String clave = UUID.randomUUID().toString();
+        MockHttpServletResponse primera = mockMvc.perform(patch("/api/productos/1/stock")
+                .header(IdempotenciaFilter.CABECERA_CLAVE, clave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"stock\":33}")).andReturn().getResponse();
+        MockHttpServletResponse reintento = mockMvc.perform(patch("/api/productos/1/stock")
+                .header(IdempotenciaFilter.CABECERA_CLAVE, clave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"stock\":33}")).andReturn().getResponse();
+
+        assertEquals(200, primera.getStatus());
+        assertEquals("true", reintento.getHeader(IdempotenciaFilter.CABECERA_REPETIDA));
+        assertEquals(primera.getContentAsString(), reintento.getContentAsString());
+    }
+
+    @Test
+    void duplicadosConcurrentesEsperanLaPrimeraEjecucion() throws Exception {
+        String clave = UUID.randomUUID().toString();
+        long antes = productoRepository.count();
+        int hilos = 8;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<MockHttpServletResponse>> respuestas = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                respuestas.add(pool.submit(() -> {
+                    largada.await();
+                    return crear(clave, PRODUCTO);
+                }));
+            }
+            largada.countDown();
+
+            Set<String> cuerpos = new HashSet<>();
+            for (Future<MockHttpServletResponse> respuesta : respuestas) {
+                assertEquals(201, respuesta.get().getStatus());
+                cuerpos.add(respuesta.get().getContentAsString());
+            }
+            assertEquals(1, cuerpos.size());
+            assertEquals(antes + 1, productoRepository.count());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse crear(String clave, String cuerpo) throws Exception {
+        return mockMvc.perform(post("/api/productos")
+                .header(IdempotenciaFilter.CABECERA_CLAVE, clave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(cuerpo)).andReturn().getResponse();
+    }
+}
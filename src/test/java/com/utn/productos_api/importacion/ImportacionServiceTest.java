@@ -0,0 +1,195 @@
+package com.utn.productos_api.importacion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utn.productos_api.dto.RechazoImportacionDTO;
+import com.utn.productos_api.dto.ResultadoImportacionDTO;
+import com.utn.productos_api.model.CheckpointImportacion;
+import com.utn.productos_api.repository.CheckpointImportacionRepository;
+import com.utn.productos_api.service.ProductoBulkService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+
+// Lotes de 3 filas y un solo validador, con una base propia para no compartir la secuencia de ids con otros contextos.
+// Cada test marca sus productos con un prefijo porque la base se comparte entre los tests de la clase
+@SpringBootTest(properties = {
+        "productos.importacion.tamanio-lote=3",
+        "productos.importacion.hilos=1"
+})
+class ImportacionServiceTest {
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("productos.importacion.directorio", () -> directorio.toString());
+        String url = "jdbc:h2:mem:importacion-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private CheckpointImportacionRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private ProductoBulkService productoBulkService;
+
+    @Test
+    void filasInvalidasSeInformanConSuNumeroDeLinea() throws IOException {
+        String prefijo = prefijo();
+        String archivo = escribir("rechazos.csv",
+                "nombre,precio,stock,categoria\r\n" +
+                prefijo + "Mate,10,1,HOGAR\r\n" +
+                prefijo + "Termo,diez,1,HOGAR\r\n" +
+                "\r\n" +
+                prefijo + "Bombilla,5,-1,HOGAR\r\n" +
+                ",5,1,HOGAR\r\n" +
+                prefijo + "Yerba,3,2,ALIMENTOS");
+
+        ResultadoImportacionDTO resultado = importacionService.importar(archivo, false);
+
+        assertTrue(resultado.isCompleta(), resultado.getError());
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(3, resultado.getRechazadas());
+        assertEquals(List.of(3L, 5L, 6L), resultado.getPrimerosRechazos().stream()
+                .map(RechazoImportacionDTO::getLinea).toList());
+        assertEquals(List.of("precio: no es un número (diez)"), resultado.getPrimerosRechazos().get(0).getErrores());
+        assertEquals(List.of("stock: El stock no puede ser negativo"),
+                resultado.getPrimerosRechazos().get(1).getErrores());
+
+        List<String> registrados = Files.readAllLines(directorio.resolve(resultado.getArchivoRechazos()));
+        assertEquals(3, registrados.size());
+        RechazoImportacionDTO primero = objectMapper.readValue(registrados.get(0), RechazoImportacionDTO.class);
+        assertEquals(3, primero.getLinea());
+        assertEquals(prefijo + "Termo,diez,1,HOGAR", primero.getContenido());
+
+        assertEquals(List.of(prefijo + "Mate", prefijo + "Yerba"), nombres(prefijo));
+        assertFalse(checkpointRepository.existsById(archivo));
+    }
+
+    @Test
+    void reanudarDespuesDeUnLoteFallidoNoRepiteNiSalteaProductos() throws IOException {
+        String prefijo = prefijo();
+        StringBuilder contenido = new StringBuilder("nombre,precio,stock,categoria\n");
+        List<String> esperados = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            String nombre = prefijo + String.format("%02d", i);
+            contenido.append(nombre).append(",1.5,").append(i).append(",ROPA\n");
+            esperados.add(nombre);
+        }
+        String archivo = escribir("reanudar.csv", contenido.toString());
+        // El primer lote entra, el segundo falla al guardarse
+        doCallRealMethod()
+                .doThrow(new IllegalStateException("Base caída"))
+                .doCallRealMethod()
+                .when(productoBulkService).crearValidados(anyList());
+
+        ResultadoImportacionDTO cortada = importacionService.importar(archivo, false);
+
+        assertFalse(cortada.isCompleta());
+        assertEquals("Base caída", cortada.getError());
+        assertEquals(3, cortada.getImportadas());
+        assertEquals(esperados.subList(0, 3), nombres(prefijo));
+        // El checkpoint del lote fallido se deshizo junto con él
+        CheckpointImportacion checkpoint = checkpointRepository.findById(archivo).orElseThrow();
+        assertEquals(4, checkpoint.getLinea());
+        assertEquals(3, checkpoint.getImportadas());
+
+        ResultadoImportacionDTO reanudada = importacionService.importar(archivo, true);
+
+        assertTrue(reanudada.isCompleta(), reanudada.getError());
+        assertEquals(4, reanudada.getReanudadaDesdeLinea());
+        assertEquals(10, reanudada.getImportadas());
+        assertEquals(esperados, nombres(prefijo));
+        assertFalse(checkpointRepository.existsById(archivo));
+    }
+
+    @Test
+    void exportarCsvYVolverAImportarConservaLosProductos() throws IOException {
+        exportarYVolverAImportar("catalogo.csv");
+    }
+
+    @Test
+    void exportarNdjsonYVolverAImportarConservaLosProductos() throws IOException {
+        exportarYVolverAImportar("catalogo.ndjson");
+    }
+
+    // Métodos auxiliares
+    private void exportarYVolverAImportar(String archivo) throws IOException {
+        String prefijo = prefijo();
+        String origen = escribir(prefijo + ".ndjson",
+                "{\"nombre\":\"" + prefijo + "Mate, grande\",\"descripcion\":\"Dice \\\"hola\\\"\"," +
+                        "\"precio\":12.5,\"stock\":3,\"categoria\":\"HOGAR\"}\n" +
+                "{\"nombre\":\"" + prefijo + "Pelota\",\"precio\":99.99,\"stock\":0,\"categoria\":\"DEPORTES\"}\n");
+        assertTrue(importacionService.importar(origen, false).isCompleta());
+        List<String> originales = filas(prefijo);
+        assertEquals(2, originales.size());
+
+        long exportados = importacionService.exportar(archivo).getProductos();
+        assertEquals(contarProductos(), exportados);
+
+        ResultadoImportacionDTO resultado = importacionService.importar(archivo, false);
+
+        assertTrue(resultado.isCompleta(), resultado.getError());
+        assertEquals(exportados, resultado.getImportadas());
+        assertEquals(0, resultado.getRechazadas());
+        // Cada producto quedó dos veces, con los mismos datos
+        List<String> duplicadas = new ArrayList<>();
+        originales.forEach(fila -> duplicadas.addAll(List.of(fila, fila)));
+        assertEquals(duplicadas, filas(prefijo));
+    }
+
+    private static String prefijo() {
+        return UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+
+    private static String escribir(String archivo, String contenido) throws IOException {
+        Files.writeString(directorio.resolve(archivo), contenido, StandardCharsets.UTF_8);
+        return archivo;
+    }
+
+    private List<String> nombres(String prefijo) {
+        return jdbcTemplate.queryForList("SELECT nombre FROM productos WHERE nombre LIKE ? ORDER BY nombre",
+                String.class, prefijo + "%");
+    }
+
+    private List<String> filas(String prefijo) {
+        return jdbcTemplate.query("SELECT nombre, descripcion, precio, stock, categoria FROM productos " +
+                        "WHERE nombre LIKE ? ORDER BY nombre, id",
+                (fila, n) -> fila.getString(1) + "|" + fila.getString(2) + "|" + fila.getDouble(3) + "|" +
+                        fila.getInt(4) + "|" + fila.getString(5),
+                prefijo + "%");
+    }
+
+    private long contarProductos() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM productos", Long.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.utn.productos_api.importacion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LectorMapeadoTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void aceptaCrlfYUnaUltimaLineaSinSalto() throws IOException {
+        Path archivo = escribir("uno\r\ndos\nñandú\r\n\r\ncuatro");
+
+        List<LectorMapeado.Linea> lineas = leerTodo(archivo, 0, 0);
+
+        assertEquals(List.of("uno", "dos", "ñandú", "", "cuatro"),
+                lineas.stream().map(LectorMapeado.Linea::texto).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), lineas.stream().map(LectorMapeado.Linea::numero).toList());
+        assertEquals(Files.size(archivo), lineas.get(lineas.size() - 1).fin());
+    }
+
+    @Test
+    void reanudaDesdeElFinDeUnaLinea() throws IOException {
+        Path archivo = escribir("uno\r\ndos\r\ntres\r\n");
+        List<LectorMapeado.Linea> todas = leerTodo(archivo, 0, 0);
+        LectorMapeado.Linea segunda = todas.get(1);
+
+        List<LectorMapeado.Linea> resto = leerTodo(archivo, segunda.fin(), segunda.numero());
+
+        assertEquals(1, resto.size());
+        assertEquals("tres", resto.get(0).texto());
+        assertEquals(3, resto.get(0).numero());
+    }
+
+    @Test
+    void archivoVacioNoTieneLineas() throws IOException {
+        try (LectorMapeado lector = new LectorMapeado(escribir(""), 0, 0)) {
+            assertNull(lector.siguiente());
+        }
+    }
+
+    private Path escribir(String contenido) throws IOException {
+        return Files.write(directorio.resolve("archivo.csv"), contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<LectorMapeado.Linea> leerTodo(Path archivo, long desde, long linea) throws IOException {
+        List<LectorMapeado.Linea> lineas = new ArrayList<>();
+        try (LectorMapeado lector = new LectorMapeado(archivo, desde, linea)) {
+            LectorMapeado.Linea actual;
+            while ((actual = lector.siguiente()) != null) {
+                lineas.add(actual);
+            }
+        }
+        return lineas;
+    }
+}
@@ -0,0 +1,84 @@
+package com.utn.productos_api.importacion;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.model.Categoria;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParserCsvTest {
+
+    private final ParserCsv parser = new ParserCsv(ParserCsv.ENCABEZADO);
+
+    @Test
+    void camposEntreComillasConComasYComillasEscapadas() {
+        ProductoDTO producto = parser.convertir("7,\"Mate, grande\",\"Dice \"\"hola\"\"\",10.5,3,hogar");
+
+        assertEquals("Mate, grande", producto.getNombre());
+        assertEquals("Dice \"hola\"", producto.getDescripcion());
+        assertEquals(10.5, producto.getPrecio());
+        assertEquals(3, producto.getStock());
+        assertEquals(Categoria.HOGAR, producto.getCategoria());
+    }
+
+    @Test
+    void lasColumnasSeUbicanPorElEncabezado() {
+        ParserCsv desordenado = new ParserCsv("﻿Categoria, stock ,precio,nombre,extra");
+
+        ProductoDTO producto = desordenado.convertir("DEPORTES,4,99.9,Pelota,ignorado");
+
+        assertEquals("Pelota", producto.getNombre());
+        assertNull(producto.getDescripcion());
+        assertEquals(99.9, producto.getPrecio());
+        assertEquals(4, producto.getStock());
+        assertEquals(Categoria.DEPORTES, producto.getCategoria());
+    }
+
+    @Test
+    void camposVaciosCuentanComoAusentes() {
+        ProductoDTO producto = parser.convertir("1,,,,,");
+
+        assertNull(producto.getNombre());
+        assertNull(producto.getPrecio());
+        assertNull(producto.getStock());
+        assertNull(producto.getCategoria());
+    }
+
+    @Test
+    void valoresQueNoSeConviertenInformanElCampo() {
+        IllegalArgumentException precio = assertThrows(IllegalArgumentException.class,
+                () -> parser.convertir("1,Mate,,diez,3,HOGAR"));
+        IllegalArgumentException stock = assertThrows(IllegalArgumentException.class,
+                () -> parser.convertir("1,Mate,,10,3.5,HOGAR"));
+        IllegalArgumentException categoria = assertThrows(IllegalArgumentException.class,
+                () -> parser.convertir("1,Mate,,10,3,JUGUETES"));
+
+        assertTrue(precio.getMessage().startsWith("precio"));
+        assertTrue(stock.getMessage().startsWith("stock"));
+        assertTrue(categoria.getMessage().startsWith("categoria"));
+    }
+
+    @Test
+    void encabezadoSinColumnaObligatoriaSeRechaza() {
+        assertThrows(IllegalArgumentException.class, () -> new ParserCsv("nombre,precio,stock"));
+    }
+
+    @Test
+    void escaparYSepararSonInversos() {
+        List<String> valores = List.of("simple", "con, coma", "con \"comillas\"", "\"", "", "a,\"b\",c");
+        String linea = String.join(",", valores.stream().map(ParserCsv::escapar).toList());
+
+        assertEquals(valores, ParserCsv.separar(linea));
+    }
+
+    @Test
+    void escaparReemplazaLosSaltosDeLinea() {
+        assertEquals("\"linea 1  linea 2\"", ParserCsv.escapar("linea 1\r\nlinea 2"));
+        assertEquals("", ParserCsv.escapar(null));
+    }
+}
@@ -0,0 +1,90 @@
+package com.utn.productos_api.limites;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitadorConcurrenciaTest {
+
+    private static final long RAPIDA = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long LENTA = TimeUnit.SECONDS.toNanos(1);
+
+    // Concurrencia entre 2 y 5, latencia objetivo de 20 ms
+    private ParametrosLimites parametros = new ParametrosLimites(100, 100, 100, 100, 2, 5, 20);
+
+    private final LimitadorConcurrencia limitador = new LimitadorConcurrencia(() -> parametros, 3);
+
+    @Test
+    void noAdmiteMasQueElLimite() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limitador.adquirir());
+        }
+        assertFalse(limitador.adquirir());
+        limitador.liberar(RAPIDA);
+        assertTrue(limitador.adquirir());
+    }
+
+    @Test
+    void subeConPeticionesRapidasHastaElMaximo() {
+        for (int ronda = 0; ronda < 50; ronda++) {
+            llenarYVaciar(RAPIDA);
+        }
+        assertEquals(5, limitador.getLimite());
+    }
+
+    @Test
+    void noSubeSiElLimiteNoSeUsa() {
+        for (int i = 0; i < 50; i++) {
+            limitador.adquirir();
+            limitador.liberar(RAPIDA);
+        }
+        assertEquals(3, limitador.getLimite());
+    }
+
+    @Test
+    void bajaConPeticionesLentasHastaElMinimo() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            // Una reducción como mucho por latencia objetivo
+            TimeUnit.MILLISECONDS.sleep(25);
+            limitador.adquirir();
+            limitador.liberar(LENTA);
+        }
+        assertEquals(2, limitador.getLimite());
+    }
+
+    @Test
+    void unaTandaDeLentasReduceUnaSolaVez() throws InterruptedException {
+        llenarYVaciar(RAPIDA);
+        llenarYVaciar(RAPIDA);
+        assertEquals(4, limitador.getLimite());
+
+        TimeUnit.MILLISECONDS.sleep(25);
+        llenarYVaciar(LENTA);
+        assertEquals(3, limitador.getLimite());
+    }
+
+    @Test
+    void acotarLlevaElLimiteAlNuevoRango() {
+        parametros = new ParametrosLimites(100, 100, 100, 100, 1, 2, 20);
+        limitador.acotar(parametros);
+        assertEquals(2, limitador.getLimite());
+
+        parametros = new ParametrosLimites(100, 100, 100, 100, 4, 8, 20);
+        limitador.acotar(parametros);
+        assertEquals(4, limitador.getLimite());
+    }
+
+    private void llenarYVaciar(long nanos) {
+        int adquiridas = 0;
+        while (limitador.adquirir()) {
+            adquiridas++;
+        }
+        for (int i = 0; i < adquiridas; i++) {
+            limitador.liberar(nanos);
+        }
+    }
+}
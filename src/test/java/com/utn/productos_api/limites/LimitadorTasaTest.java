@@ -0,0 +1,63 @@
+package com.utn.productos_api.limites;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 10 peticiones/s: una celda cada 100 ms, margen de sobra para que el test no dependa de la velocidad de la máquina
+class LimitadorTasaTest {
+
+    private static final double POR_SEGUNDO = 10;
+    private static final int RAFAGA = 5;
+    private static final long INTERVALO = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LimitadorTasa limitador = new LimitadorTasa(1000, Duration.ofMinutes(1));
+
+    @Test
+    void admiteLaRafagaYRechazaLaSiguiente() {
+        for (int i = 0; i < RAFAGA; i++) {
+            assertEquals(0, limitador.intentar("a", POR_SEGUNDO, RAFAGA), "petición " + i);
+        }
+        long espera = limitador.intentar("a", POR_SEGUNDO, RAFAGA);
+        assertTrue(espera > 0 && espera <= INTERVALO, "espera " + espera);
+    }
+
+    @Test
+    void recargaUnaCeldaPorIntervalo() throws InterruptedException {
+        for (int i = 0; i < RAFAGA; i++) {
+            limitador.intentar("a", POR_SEGUNDO, RAFAGA);
+        }
+        long espera = limitador.intentar("a", POR_SEGUNDO, RAFAGA);
+        assertTrue(espera > 0);
+
+        TimeUnit.NANOSECONDS.sleep(espera + TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(0, limitador.intentar("a", POR_SEGUNDO, RAFAGA));
+        assertTrue(limitador.intentar("a", POR_SEGUNDO, RAFAGA) > 0);
+    }
+
+    @Test
+    void laInactividadNoAcumulaMasQueLaRafaga() throws InterruptedException {
+        limitador.intentar("a", POR_SEGUNDO, RAFAGA);
+        // Diez intervalos sin peticiones
+        TimeUnit.NANOSECONDS.sleep(INTERVALO * 10);
+
+        int admitidas = 0;
+        while (limitador.intentar("a", POR_SEGUNDO, RAFAGA) == 0) {
+            admitidas++;
+        }
+        assertEquals(RAFAGA, admitidas);
+    }
+
+    @Test
+    void cadaClaveTieneSuPropioCupo() {
+        for (int i = 0; i < RAFAGA; i++) {
+            limitador.intentar("a", POR_SEGUNDO, RAFAGA);
+        }
+        assertTrue(limitador.intentar("a", POR_SEGUNDO, RAFAGA) > 0);
+        assertEquals(0, limitador.intentar("b", POR_SEGUNDO, RAFAGA));
+    }
+}
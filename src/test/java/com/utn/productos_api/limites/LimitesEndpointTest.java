@@ -0,0 +1,39 @@
+package com.utn.productos_api.limites;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LimitesEndpointTest {
+
+    private final ControlCarga controlCarga =
+            new ControlCarga(200, 400, 50, 100, 20, 4, 200, Duration.ofMillis(250), 1000);
+    private final LimitesEndpoint endpoint = new LimitesEndpoint(controlCarga);
+
+    @Test
+    void ajustaSoloLosCamposRecibidos() {
+        endpoint.ajustar(500.0, null, null, null, null, 64, null);
+
+        ParametrosLimites vigentes = controlCarga.getParametros();
+        assertEquals(500.0, vigentes.lecturasPorSegundo());
+        assertEquals(64, vigentes.concurrenciaMaxima());
+        assertEquals(50.0, vigentes.escriturasPorSegundo());
+    }
+
+    @Test
+    void rechazaValoresInvalidosSinCambiarNada() {
+        ParametrosLimites antes = controlCarga.getParametros();
+
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.ajustar(0.0, null, null, null, null, null, null));
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.ajustar(null, null, Double.POSITIVE_INFINITY, null, null, null, null));
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.ajustar(null, null, null, null, 50, 10, null));
+        assertEquals(antes, controlCarga.getParametros());
+    }
+}
@@ -0,0 +1,30 @@
+package com.utn.productos_api.metricas;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Con las métricas apagadas no queda ninguna pieza de la instrumentación propia, tampoco el listener de Hibernate
+@SpringBootTest(properties = "productos.metricas.habilitadas=false")
+class MetricasDeshabilitadasTest {
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void noSeRegistraNingunaInstrumentacion() {
+        assertTrue(contexto.getBeansOfType(MetricasAspect.class).isEmpty());
+        assertTrue(contexto.getBeansOfType(MetricasSqlFilter.class).isEmpty());
+        assertTrue(contexto.getBeansOfType(SqlMetricasHibernateCustomizer.class).isEmpty());
+        assertFalse(entityManagerFactory.getProperties().containsKey(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER));
+    }
+}
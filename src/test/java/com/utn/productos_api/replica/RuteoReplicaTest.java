@@ -0,0 +1,178 @@
+package com.utn.productos_api.replica;
+
+import com.utn.productos_api.ApiRestSpringApplication;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.exception.ProductoNotFoundException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.service.ProductoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dos bases H2 en memoria hacen de primaria y réplica. No hay replicación entre ellas: la réplica es una réplica
+// infinitamente atrasada, así que lo que devuelve una lectura muestra de qué base salió.
+class RuteoReplicaTest {
+
+    private static final long ID_SOLO_REPLICA = 100_000L;
+
+    private ConfigurableApplicationContext contexto;
+
+    @AfterEach
+    void detener() {
+        RequestContextHolder.resetRequestAttributes();
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    @Test
+    void lecturasVanALaReplicaYEscriturasALaPrimaria() {
+        iniciar("replica", false);
+        ProductoService servicio = contexto.getBean(ProductoService.class);
+        JdbcTemplate primaria = jdbc("dataSourcePrimaria");
+        JdbcTemplate replica = jdbc("dataSourceReplica");
+        long enPrimaria = contar(primaria);
+
+        assertEquals("Solo en la réplica", servicio.obtenerPorId(ID_SOLO_REPLICA).getNombre());
+        assertEquals(1, servicio.obtenerTodos().size());
+
+        Long id = servicio.crearProducto(producto("Yerba mate")).getId();
+        assertEquals(enPrimaria + 1, contar(primaria));
+        assertEquals(1, contar(replica));
+        assertThrows(ProductoNotFoundException.class, () -> servicio.obtenerPorId(id));
+    }
+
+    @Test
+    void clienteQueEscribioLeeDeLaPrimariaDuranteLaVentana() {
+        iniciar("escrituras-propias", false);
+        ProductoService servicio = contexto.getBean(ProductoService.class);
+
+        Long id = comoCliente("cliente-a", () -> servicio.crearProducto(producto("Bombilla")).getId());
+
+        assertEquals("Bombilla", comoCliente("cliente-a", () -> servicio.obtenerPorId(id).getNombre()));
+        assertTrue(comoCliente("cliente-a", servicio::obtenerTodos).stream().anyMatch(p -> p.getId().equals(id)));
+        // Los demás clientes siguen leyendo de la réplica
+        assertThrows(ProductoNotFoundException.class,
+                () -> comoCliente("cliente-b", () -> servicio.obtenerPorId(id)));
+        assertEquals("Solo en la réplica",
+                comoCliente("cliente-b", () -> servicio.obtenerPorId(ID_SOLO_REPLICA).getNombre()));
+    }
+
+    @Test
+    void politicaPrimariaNoUsaLaReplica() {
+        iniciar("primaria", false);
+        ProductoService servicio = contexto.getBean(ProductoService.class);
+
+        Long id = servicio.crearProducto(producto("Termo")).getId();
+
+        assertEquals("Termo", servicio.obtenerPorId(id).getNombre());
+        assertThrows(ProductoNotFoundException.class, () -> servicio.obtenerPorId(ID_SOLO_REPLICA));
+    }
+
+    @Test
+    void cacheSeCargaDesdeLaPrimaria() {
+        iniciar("replica", true);
+        ProductoService servicio = contexto.getBean(ProductoService.class);
+
+        Long id = servicio.crearProducto(producto("Mate")).getId();
+
+        // Por ID y por categoría pasan por la caché; el listado completo no
+        assertEquals("Mate", servicio.obtenerPorId(id).getNombre());
+        assertTrue(servicio.obtenerPorCategoria(Categoria.HOGAR).stream().anyMatch(p -> p.getId().equals(id)));
+        assertTrue(servicio.obtenerTodos().stream().noneMatch(p -> p.getId().equals(id)));
+    }
+
+    private void iniciar(String politica, boolean cache) {
+        String replicaUrl = "jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        crearReplica(replicaUrl);
+
+        Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("spring.datasource.url", "jdbc:h2:mem:primaria-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        propiedades.put("spring.jpa.show-sql", "false");
+        propiedades.put("spring.main.banner-mode", "off");
+        propiedades.put("productos.precalentamiento.habilitado", "false");
+        propiedades.put("productos.cache.habilitada", cache);
+        propiedades.put("productos.replica.habilitada", "true");
+        propiedades.put("productos.replica.politica", politica);
+        propiedades.put("productos.replica.ventana", "1m");
+        propiedades.put("productos.clientes.api-keys", "cliente-a,cliente-b");
+        propiedades.put("productos.replica.datasource.url", replicaUrl);
+        propiedades.put("productos.replica.datasource.username", "sa");
+        propiedades.put("productos.replica.datasource.password", "");
+        propiedades.put("productos.replica.datasource.hikari.maximum-pool-size", "4");
+        contexto = new SpringApplicationBuilder(ApiRestSpringApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos(propiedades));
+    }
+
+    // Como argumentos de línea de comandos, para que tengan prioridad sobre application.properties (las de
+    // SpringApplicationBuilder.properties() son valores por defecto y pierden contra el archivo)
+    private static String[] argumentos(Map<String, Object> propiedades) {
+        return propiedades.entrySet().stream()
+                .map(propiedad -> "--" + propiedad.getKey() + "=" + propiedad.getValue())
+                .toArray(String[]::new);
+    }
+
+    // La réplica recibe el esquema de las migraciones y un único producto que la primaria no tiene
+    private static void crearReplica(String url) {
+        try (Connection conexion = DriverManager.getConnection(url, "sa", "")) {
+            ScriptUtils.executeSqlScript(conexion, new ClassPathResource("db/migration/V1__esquema_inicial.sql"));
+            try (var insert = conexion.prepareStatement("INSERT INTO productos "
+                    + "(id, nombre, descripcion, precio, stock, categoria, version, modificado_en) "
+                    + "VALUES (?, 'Solo en la réplica', 'Fila cargada directamente en la réplica', 10.0, 5, "
+                    + "'HOGAR', 0, ?)")) {
+                insert.setLong(1, ID_SOLO_REPLICA);
+                insert.setTimestamp(2, Timestamp.from(Instant.now()));
+                insert.executeUpdate();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo preparar la réplica", e);
+        }
+    }
+
+    private JdbcTemplate jdbc(String nombreBean) {
+        return new JdbcTemplate(contexto.getBean(nombreBean, DataSource.class));
+    }
+
+    private static long contar(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM productos", Long.class);
+    }
+
+    // Ejecuta la operación como si viniera en una petición con esa X-API-Key
+    private static <T> T comoCliente(String apiKey, Supplier<T> operacion) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-API-Key", apiKey);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return operacion.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static ProductoDTO producto(String nombre) {
+        return new ProductoDTO(nombre, "Producto de prueba de la réplica", 25.0, 10, Categoria.HOGAR);
+    }
+}
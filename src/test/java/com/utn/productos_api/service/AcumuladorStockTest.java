@@ -0,0 +1,140 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// El intervalo es largo para que los vaciados solo ocurran cuando el test los pide
+@SpringBootTest(properties = {
+        "productos.stock.write-behind.habilitado=true",
+        "productos.stock.write-behind.intervalo=1h",
+        "productos.stock.write-behind.max-pendientes=1000000"
+})
+class AcumuladorStockTest {
+
+    private static final int ESCANERES = 8;
+    private static final int LECTURAS_POR_ESCANER = 500;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private AcumuladorStock acumuladorStock;
+
+    @Autowired
+    private ReservaStockService reservaStockService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Test
+    void rafagaDeEscaneosSeEscribeComoUnaFilaPorProducto() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ESCANERES; i++) {
+            ids.add(crearProducto(0));
+        }
+        long recibidasAntes = acumuladorStock.getActualizacionesRecibidas();
+        long filasAntes = acumuladorStock.getFilasEscritas();
+
+        // Cada escáner manda valores crecientes de su propio SKU; la respuesta trae el valor provisional
+        ExecutorService executor = Executors.newFixedThreadPool(ESCANERES);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (Long id : ids) {
+                tareas.add(executor.submit(() -> {
+                    for (int stock = 1; stock <= LECTURAS_POR_ESCANER; stock++) {
+                        ProductoResponseDTO respuesta = productoService.actualizarStock(id, new ActualizarStockDTO(stock));
+                        assertEquals(stock, respuesta.getStock());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Nada llegó todavía a la base
+        for (Long id : ids) {
+            assertEquals(0, productoRepository.findById(id).orElseThrow().getStock());
+        }
+
+        acumuladorStock.vaciar();
+
+        for (Long id : ids) {
+            assertEquals(LECTURAS_POR_ESCANER, productoRepository.findById(id).orElseThrow().getStock());
+            assertEquals(LECTURAS_POR_ESCANER, productoService.obtenerPorId(id).getStock());
+        }
+        assertEquals(ESCANERES * LECTURAS_POR_ESCANER, acumuladorStock.getActualizacionesRecibidas() - recibidasAntes);
+        assertEquals(ESCANERES, acumuladorStock.getFilasEscritas() - filasAntes);
+    }
+
+    @Test
+    void unaReservaPosteriorDescartaElValorPendiente() {
+        Long id = crearProducto(10);
+        long descartadasAntes = acumuladorStock.getDescartadas();
+
+        productoService.actualizarStock(id, new ActualizarStockDTO(50));
+        // La reserva se valida y se descuenta sobre el stock escrito en la base
+        reservaStockService.reservar(id, 3);
+        acumuladorStock.vaciar();
+
+        assertEquals(7, productoRepository.findById(id).orElseThrow().getStock());
+        assertEquals(1, acumuladorStock.getDescartadas() - descartadasAntes);
+    }
+
+    @Test
+    void unPutPosteriorDescartaElValorPendiente() {
+        Long id = crearProducto(10);
+
+        productoService.actualizarStock(id, new ActualizarStockDTO(50));
+        // Mismo stock que la base: el PUT igual reemplaza el producto completo
+        productoService.actualizarProducto(id, new ProductoDTO("Producto renombrado", "Producto para write-behind",
+                10.0, 10, Categoria.HOGAR));
+        acumuladorStock.vaciar();
+
+        assertEquals(10, productoRepository.findById(id).orElseThrow().getStock());
+    }
+
+    @Test
+    void unPatchPosteriorALaReservaSeEscribe() {
+        Long id = crearProducto(10);
+
+        reservaStockService.reservar(id, 3);
+        productoService.actualizarStock(id, new ActualizarStockDTO(50));
+        acumuladorStock.vaciar();
+
+        assertEquals(50, productoRepository.findById(id).orElseThrow().getStock());
+    }
+
+    @Test
+    void alApagarSeEscribenLosPendientes() throws Exception {
+        Long id = crearProducto(10);
+        productoService.actualizarStock(id, new ActualizarStockDTO(77));
+        assertEquals(10, productoRepository.findById(id).orElseThrow().getStock());
+
+        acumuladorStock.destroy();
+
+        assertEquals(77, productoRepository.findById(id).orElseThrow().getStock());
+    }
+
+    private Long crearProducto(int stock) {
+        return productoService.crearProducto(new ProductoDTO("Producto escaneado", "Producto para write-behind",
+                10.0, stock, Categoria.HOGAR)).getId();
+    }
+}
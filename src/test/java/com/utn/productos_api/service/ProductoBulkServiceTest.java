@@ -0,0 +1,195 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.EstadoItemBulk;
+import com.utn.productos_api.dto.ProductoBulkUpdateDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ResultadoBulkDTO;
+import com.utn.productos_api.dto.ResultadoItemBulkDTO;
+import com.utn.productos_api.exception.EntradaBulkInvalidaException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.Producto;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class ProductoBulkServiceTest {
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        String url = "jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Autowired
+    private ProductoBulkService productoBulkService;
+
+    @SpyBean
+    private ProductoRepository productoRepository;
+
+    @Test
+    void losItemsInvalidosSeInformanSinCortarLaOperacion() {
+        List<ProductoDTO> items = Arrays.asList(
+                producto("Válido uno", 10.0),
+                producto("Precio negativo", -1.0),
+                null,
+                producto("Válido dos", 20.0),
+                producto("", 5.0));
+
+        ResultadoBulkDTO resultado = productoBulkService.crear(items.iterator(), 2);
+
+        assertEquals(5, resultado.getProcesados());
+        assertEquals(2, resultado.getExitosos());
+        assertEquals(3, resultado.getFallidos());
+        assertEquals(List.of(EstadoItemBulk.CREADO, EstadoItemBulk.INVALIDO, EstadoItemBulk.INVALIDO,
+                EstadoItemBulk.CREADO, EstadoItemBulk.INVALIDO), estados(resultado));
+        assertEquals(List.of("El ítem no puede ser nulo"), porIndice(resultado, 2).getErrores());
+        assertTrue(porIndice(resultado, 1).getErrores().get(0).startsWith("precio: "));
+        assertEquals("Válido dos", productoRepository.findById(porIndice(resultado, 3).getId())
+                .orElseThrow().getNombre());
+    }
+
+    @Test
+    void unItemQueNoSePuedeLeerSeInformaConSuIndice() {
+        Iterator<ProductoDTO> entrada = new Iterator<>() {
+            private int siguiente;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente < 3;
+            }
+
+            @Override
+            public ProductoDTO next() {
+                if (siguiente++ == 1) {
+                    throw new EntradaBulkInvalidaException("JSON inválido en la línea 2");
+                }
+                return producto("Leído " + siguiente, 1.0);
+            }
+        };
+
+        ResultadoBulkDTO resultado = productoBulkService.crear(entrada, 10);
+
+        assertEquals(List.of(EstadoItemBulk.CREADO, EstadoItemBulk.INVALIDO, EstadoItemBulk.CREADO),
+                estados(resultado));
+        assertEquals(List.of("JSON inválido en la línea 2"), porIndice(resultado, 1).getErrores());
+    }
+
+    @Test
+    void unLoteQueFallaNoAfectaALosDemas() {
+        List<Long> ids = crear(5);
+        List<ProductoBulkUpdateDTO> cambios = new ArrayList<>();
+        for (Long id : ids) {
+            cambios.add(cambio(id, 99.0));
+        }
+        // Lotes [0, 1], [2, 3] y [4]: el segundo falla
+        doThrow(new QueryTimeoutException("Tiempo agotado"))
+                .when(productoRepository).findAllById(List.of(ids.get(2), ids.get(3)));
+
+        ResultadoBulkDTO resultado = productoBulkService.actualizar(cambios.iterator(), 2);
+
+        assertEquals(List.of(EstadoItemBulk.ACTUALIZADO, EstadoItemBulk.ACTUALIZADO, EstadoItemBulk.ERROR,
+                EstadoItemBulk.ERROR, EstadoItemBulk.ACTUALIZADO), estados(resultado));
+        assertEquals(3, resultado.getExitosos());
+        assertTrue(porIndice(resultado, 2).getErrores().get(0).startsWith("Error al guardar el lote: "));
+        assertEquals(List.of(99.0, 99.0, 1.0, 1.0, 99.0), precios(ids));
+    }
+
+    @Test
+    void losLotesRespetanElTamanioPedido() {
+        List<Long> ids = crear(5);
+        List<ProductoBulkUpdateDTO> cambios = new ArrayList<>();
+        for (Long id : ids) {
+            cambios.add(cambio(id, 50.0));
+        }
+        // Un ID inexistente en el medio se informa sin afectar a su lote
+        cambios.add(2, cambio(1_000_000_000L, 50.0));
+
+        ResultadoBulkDTO resultado = productoBulkService.actualizar(cambios.iterator(), 3);
+
+        assertEquals(List.of(EstadoItemBulk.ACTUALIZADO, EstadoItemBulk.ACTUALIZADO, EstadoItemBulk.NO_ENCONTRADO,
+                EstadoItemBulk.ACTUALIZADO, EstadoItemBulk.ACTUALIZADO, EstadoItemBulk.ACTUALIZADO),
+                estados(resultado));
+        assertEquals(List.of(50.0, 50.0, 50.0, 50.0, 50.0), precios(ids));
+        // Seis ítems en lotes de 3: dos búsquedas de existentes
+        verify(productoRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    void eliminarInformaLosInexistentesYLosRepetidos() {
+        List<Long> ids = crear(2);
+        List<Long> bajas = List.of(ids.get(0), 1_000_000_000L, ids.get(0), ids.get(1));
+
+        ResultadoBulkDTO resultado = productoBulkService.eliminar(bajas.iterator(), 500);
+
+        assertEquals(List.of(EstadoItemBulk.ELIMINADO, EstadoItemBulk.NO_ENCONTRADO, EstadoItemBulk.NO_ENCONTRADO,
+                EstadoItemBulk.ELIMINADO), estados(resultado));
+        assertFalse(productoRepository.existsById(ids.get(0)));
+        assertFalse(productoRepository.existsById(ids.get(1)));
+    }
+
+    // Métodos auxiliares
+    private List<Long> crear(int cantidad) {
+        List<ProductoDTO> items = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            items.add(producto("Producto " + i, 1.0));
+        }
+        ResultadoBulkDTO resultado = productoBulkService.crear(items.iterator(), null);
+        assertEquals(cantidad, resultado.getExitosos());
+        clearInvocations(productoRepository);
+        return resultado.getResultados().stream().map(ResultadoItemBulkDTO::getId).toList();
+    }
+
+    private List<Double> precios(List<Long> ids) {
+        return ids.stream()
+                .map(id -> productoRepository.findById(id).map(Producto::getPrecio).orElseThrow())
+                .toList();
+    }
+
+    private static ProductoDTO producto(String nombre, Double precio) {
+        return new ProductoDTO(nombre, null, precio, 1, Categoria.ALIMENTOS);
+    }
+
+    private static ProductoBulkUpdateDTO cambio(Long id, Double precio) {
+        ProductoBulkUpdateDTO cambio = new ProductoBulkUpdateDTO();
+        cambio.setId(id);
+        cambio.setNombre("Actualizado " + id);
+        cambio.setPrecio(precio);
+        cambio.setStock(1);
+        cambio.setCategoria(Categoria.ALIMENTOS);
+        return cambio;
+    }
+
+    // Los inválidos se informan al leerlos y los demás al confirmar su lote: se ordena por índice de entrada
+    private static List<EstadoItemBulk> estados(ResultadoBulkDTO resultado) {
+        return resultado.getResultados().stream()
+                .sorted(Comparator.comparingInt(ResultadoItemBulkDTO::getIndice))
+                .map(ResultadoItemBulkDTO::getEstado)
+                .toList();
+    }
+
+    private static ResultadoItemBulkDTO porIndice(ResultadoBulkDTO resultado, int indice) {
+        return resultado.getResultados().stream().filter(r -> r.getIndice() == indice).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.exception.ServicioSaturadoException;
+import com.utn.productos_api.model.Categoria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Pool de lecturas de un hilo y cola de un lugar: el producto 1 ocupa el hilo hasta que el test lo libera
+class ProductoServiceAsyncTest {
+
+    private static final Duration LARGO = Duration.ofSeconds(10);
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch empezo = new CountDownLatch(1);
+    private ProductoService productoService;
+    private ProductoServiceAsync servicio;
+
+    @BeforeEach
+    void preparar() {
+        productoService = mock(ProductoService.class);
+        when(productoService.obtenerPorId(anyLong())).thenAnswer(invocacion -> {
+            Long id = invocacion.getArgument(0);
+            if (id == 1L) {
+                empezo.countDown();
+                liberar.await();
+            }
+            return producto(id);
+        });
+        servicio = new ProductoServiceAsync(productoService, 1, 1, 1, 1, Duration.ofSeconds(2), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void cerrar() throws InterruptedException {
+        liberar.countDown();
+        servicio.destroy();
+    }
+
+    @Test
+    void operacionQueNoTerminaATiempoFallaConTimeout() {
+        CompletableFuture<ProductoResponseDTO> lenta = servicio.obtenerPorId(1L, Duration.ofMillis(100));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> lenta.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+    }
+
+    @Test
+    void conHiloYColaOcupadosSeRechazaDeInmediato() throws Exception {
+        servicio.obtenerPorId(1L, LARGO);
+        assertTrue(empezo.await(5, TimeUnit.SECONDS));
+        servicio.obtenerPorId(2L, LARGO);
+
+        CompletableFuture<ProductoResponseDTO> rechazada = servicio.obtenerPorId(3L, LARGO);
+
+        ExecutionException error = assertThrows(ExecutionException.class, rechazada::get);
+        assertInstanceOf(ServicioSaturadoException.class, error.getCause());
+    }
+
+    @Test
+    void tareaEnColaQueVenceLiberaSuLugarYNoSeEjecuta() throws Exception {
+        CompletableFuture<ProductoResponseDTO> ocupada = servicio.obtenerPorId(1L, LARGO);
+        assertTrue(empezo.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProductoResponseDTO> enCola = servicio.obtenerPorId(2L, Duration.ofMillis(100));
+        assertEquals(1, servicio.getEnColaLecturas());
+
+        assertThrows(ExecutionException.class, () -> enCola.get(5, TimeUnit.SECONDS));
+        assertEquals(0, servicio.getEnColaLecturas());
+
+        // El lugar que dejó queda disponible aunque el hilo siga ocupado
+        CompletableFuture<ProductoResponseDTO> siguiente = servicio.obtenerPorId(3L, LARGO);
+        liberar.countDown();
+        assertEquals(3L, siguiente.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1L, ocupada.get(5, TimeUnit.SECONDS).getId());
+        verify(productoService, never()).obtenerPorId(2L);
+    }
+
+    @Test
+    void tareaEnColaCanceladaPorElClienteLiberaSuLugar() throws Exception {
+        servicio.obtenerPorId(1L, LARGO);
+        assertTrue(empezo.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProductoResponseDTO> enCola = servicio.obtenerPorId(2L, LARGO);
+
+        enCola.cancel(false);
+
+        assertEquals(0, servicio.getEnColaLecturas());
+        liberar.countDown();
+        assertEquals(3L, servicio.obtenerPorId(3L, LARGO).get(5, TimeUnit.SECONDS).getId());
+        verify(productoService, never()).obtenerPorId(2L);
+    }
+
+    private static ProductoResponseDTO producto(Long id) {
+        return new ProductoResponseDTO(id, "Producto " + id, "Descripción", 10.0, 1, Categoria.HOGAR, 0L, null);
+    }
+}
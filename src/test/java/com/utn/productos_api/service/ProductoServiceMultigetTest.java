@@ -0,0 +1,136 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.dto.ProductosPorIdDTO;
+import com.utn.productos_api.exception.LimiteIdsExcedidoException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Los IDs que no existen se toman muy por encima de los que genera la secuencia
+@SpringBootTest(properties = "productos.multiget.max-ids=600")
+class ProductoServiceMultigetTest {
+
+    private static final long INEXISTENTE = 1_000_000_000L;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        String url = "jdbc:h2:mem:multiget-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Autowired
+    private ProductoService productoService;
+
+    @SpyBean
+    private ProductoRepository productoRepository;
+
+    @Test
+    void mezclaDeCacheadosNoCacheadosEInexistentes() {
+        Long a = crear("A");
+        Long b = crear("B");
+        Long c = crear("C");
+        // Solo 'a' queda en la caché
+        productoService.obtenerPorId(a);
+        clearInvocations(productoRepository);
+
+        ProductosPorIdDTO resultado = productoService.obtenerVariosPorId(
+                Arrays.asList(c, INEXISTENTE, a, b, a, null, INEXISTENTE));
+
+        assertEquals(List.of(c, a, b), ids(resultado.getProductos()));
+        assertEquals(List.of(INEXISTENTE), resultado.getNoEncontrados());
+        assertEquals(Set.of(c, INEXISTENTE, b), new HashSet<>(consultados(1).get(0)));
+
+        // Ahora los tres están en la caché
+        clearInvocations(productoRepository);
+        assertEquals(List.of(b, c, a), ids(productoService.obtenerVariosPorId(List.of(b, c, a)).getProductos()));
+        verify(productoRepository, never()).findResponseByIdIn(anyCollection());
+    }
+
+    @Test
+    void unProductoEliminadoSeInformaComoNoEncontrado() {
+        Long a = crear("A");
+        Long b = crear("B");
+        productoService.obtenerVariosPorId(List.of(a, b));
+
+        productoService.eliminarProducto(a);
+        ProductosPorIdDTO resultado = productoService.obtenerVariosPorId(List.of(a, b));
+
+        assertEquals(List.of(b), ids(resultado.getProductos()));
+        assertEquals(List.of(a), resultado.getNoEncontrados());
+    }
+
+    @Test
+    void elLimiteCuentaIdsDistintos() {
+        Long a = crear("A");
+        // 600 IDs distintos, cada uno dos veces
+        List<Long> pedidos = new ArrayList<>();
+        pedidos.add(a);
+        LongStream.range(1, 600).forEach(i -> pedidos.add(INEXISTENTE + i));
+        pedidos.addAll(List.copyOf(pedidos));
+        clearInvocations(productoRepository);
+
+        ProductosPorIdDTO resultado = productoService.obtenerVariosPorId(pedidos);
+
+        assertEquals(List.of(a), ids(resultado.getProductos()));
+        assertEquals(599, resultado.getNoEncontrados().size());
+        // Los faltantes se buscan en consultas IN de hasta 500
+        assertEquals(List.of(500, 100), consultados(2).stream().map(Collection::size).toList());
+
+        pedidos.add(INEXISTENTE + 600);
+        assertThrows(LimiteIdsExcedidoException.class, () -> productoService.obtenerVariosPorId(pedidos));
+    }
+
+    @Test
+    void sinIdsNoConsultaLaBase() {
+        clearInvocations(productoRepository);
+
+        ProductosPorIdDTO resultado = productoService.obtenerVariosPorId(Arrays.asList(null, null));
+
+        assertEquals(List.of(), resultado.getProductos());
+        assertEquals(List.of(), resultado.getNoEncontrados());
+        verify(productoRepository, never()).findResponseByIdIn(anyCollection());
+    }
+
+    // Métodos auxiliares
+    private Long crear(String nombre) {
+        return productoService.crearProducto(new ProductoDTO("Producto " + nombre, null, 10.0, 1, Categoria.HOGAR))
+                .getId();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<Long>> consultados(int consultas) {
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(productoRepository, times(consultas)).findResponseByIdIn(captor.capture());
+        // Copias: la lista que recibe el repositorio es una vista de otra
+        return captor.getAllValues().stream().<Collection<Long>>map(List::copyOf).toList();
+    }
+
+    private static List<Long> ids(List<ProductoResponseDTO> productos) {
+        return productos.stream().map(ProductoResponseDTO::getId).toList();
+    }
+}
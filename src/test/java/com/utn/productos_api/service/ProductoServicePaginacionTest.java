@@ -0,0 +1,132 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ProductoPaginaDTO;
+import com.utn.productos_api.dto.ProductoResponseDTO;
+import com.utn.productos_api.exception.CursorInvalidoException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Base propia: los tests comparan el recorrido con la tabla entera
+@SpringBootTest(properties = "productos.paginacion.tamanio-maximo=10")
+class ProductoServicePaginacionTest {
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        String url = "jdbc:h2:mem:paginacion-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Test
+    void recorrerTodasLasPaginasNoSalteaNiRepite() {
+        List<Long> creados = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            creados.add(crear());
+        }
+        // Huecos en la secuencia de IDs
+        productoService.eliminarProducto(creados.get(3));
+        productoService.eliminarProducto(creados.get(7));
+
+        assertEquals(idsDeLaTabla(), recorrer(7, null));
+    }
+
+    @Test
+    void cambiosDuranteElRecorridoNoCorrenLasPaginas() {
+        for (int i = 0; i < 15; i++) {
+            crear();
+        }
+        List<Long> antes = idsDeLaTabla();
+        ProductoPaginaDTO primera = productoService.obtenerPagina(null, 5);
+        List<Long> vistos = new ArrayList<>(ids(primera.getContenido()));
+
+        // Se borra uno ya visto y uno pendiente, y se agrega otro: con offset se saltearía o repetiría una fila
+        productoService.eliminarProducto(vistos.get(0));
+        Long pendiente = antes.get(antes.size() - 1);
+        productoService.eliminarProducto(pendiente);
+        Long nuevo = crear();
+        vistos.addAll(recorrer(5, primera.getSiguienteCursor()));
+
+        List<Long> esperados = new ArrayList<>(antes);
+        esperados.remove(pendiente);
+        esperados.add(nuevo);
+        assertEquals(esperados, vistos);
+    }
+
+    @Test
+    void elTamanioSeAcotaAlMaximo() {
+        for (int i = 0; i < 12; i++) {
+            crear();
+        }
+
+        assertEquals(10, productoService.obtenerPagina(null, 500).getContenido().size());
+        assertEquals(1, productoService.obtenerPagina(null, 0).getContenido().size());
+    }
+
+    @Test
+    void laUltimaPaginaNoTieneCursor() {
+        List<Long> todos = idsDeLaTabla();
+        String cursor = null;
+        ProductoPaginaDTO pagina;
+        do {
+            pagina = productoService.obtenerPagina(cursor, 10);
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        List<Long> ultimos = ids(pagina.getContenido());
+        assertEquals(todos.get(todos.size() - 1), ultimos.get(ultimos.size() - 1));
+        assertNull(pagina.getSiguienteCursor());
+    }
+
+    @Test
+    void cursorAjenoSeRechaza() {
+        String otroPrefijo = Base64.getUrlEncoder().encodeToString("otro:5".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(CursorInvalidoException.class, () -> productoService.obtenerPagina("%%%", 5));
+        assertThrows(CursorInvalidoException.class, () -> productoService.obtenerPagina(otroPrefijo, 5));
+    }
+
+    // Métodos auxiliares
+    private List<Long> recorrer(int tamanio, String cursor) {
+        List<Long> ids = new ArrayList<>();
+        do {
+            ProductoPaginaDTO pagina = productoService.obtenerPagina(cursor, tamanio);
+            ids.addAll(ids(pagina.getContenido()));
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Long crear() {
+        return productoService.crearProducto(new ProductoDTO("Producto paginado", null, 10.0, 1, Categoria.ROPA))
+                .getId();
+    }
+
+    private List<Long> idsDeLaTabla() {
+        return ids(productoRepository.findAllResponse());
+    }
+
+    private static List<Long> ids(List<ProductoResponseDTO> productos) {
+        return productos.stream().map(ProductoResponseDTO::getId).toList();
+    }
+}
@@ -0,0 +1,143 @@
+package com.utn.productos_api.service;
+
+import com.utn.productos_api.dto.ActualizarStockDTO;
+import com.utn.productos_api.dto.ProductoDTO;
+import com.utn.productos_api.dto.ReservaResponseDTO;
+import com.utn.productos_api.exception.ReservaEstadoInvalidoException;
+import com.utn.productos_api.exception.StockInsuficienteException;
+import com.utn.productos_api.model.Categoria;
+import com.utn.productos_api.model.EstadoReserva;
+import com.utn.productos_api.repository.ReservaStockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ReservaStockServiceConcurrenciaTest {
+
+    private static final int HILOS = 16;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ReservaStockService reservaStockService;
+
+    @Autowired
+    private ReservaStockRepository reservaStockRepository;
+
+    @Test
+    void reservasConcurrentesNoSobrevendenNiPierdenActualizaciones() throws Exception {
+        int stockInicial = 500;
+        Long productoId = crearProducto(stockInicial);
+
+        AtomicInteger exitosas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        // Se intentan más reservas que unidades disponibles
+        ejecutarEnParalelo(HILOS * 50, () -> {
+            try {
+                reservaStockService.reservar(productoId, 1);
+                exitosas.incrementAndGet();
+            } catch (StockInsuficienteException e) {
+                rechazadas.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(stockInicial, exitosas.get());
+        assertEquals(HILOS * 50 - stockInicial, rechazadas.get());
+        assertEquals(0, productoService.obtenerPorId(productoId).getStock());
+        assertEquals(stockInicial,
+                reservaStockRepository.countByProductoIdAndEstado(productoId, EstadoReserva.PENDIENTE));
+    }
+
+    @Test
+    void liberacionesConcurrentesDevuelvenElStockUnaSolaVez() throws Exception {
+        int stockInicial = 300;
+        Long productoId = crearProducto(stockInicial);
+
+        List<ReservaResponseDTO> reservas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            reservas.add(reservaStockService.reservar(productoId, 2));
+        }
+        assertEquals(stockInicial - 200, productoService.obtenerPorId(productoId).getStock());
+
+        // Cada reserva se intenta liberar dos veces en paralelo: solo una de las dos debe devolver stock
+        AtomicInteger repetidas = new AtomicInteger();
+        AtomicInteger indice = new AtomicInteger();
+        ejecutarEnParalelo(reservas.size() * 2, () -> {
+            ReservaResponseDTO reserva = reservas.get(indice.getAndIncrement() % reservas.size());
+            try {
+                reservaStockService.liberar(reserva.getId());
+            } catch (ReservaEstadoInvalidoException e) {
+                repetidas.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(reservas.size(), repetidas.get());
+        assertEquals(stockInicial, productoService.obtenerPorId(productoId).getStock());
+    }
+
+    @Test
+    void descuentosYReposicionesConcurrentesConservanElTotal() throws Exception {
+        int stockInicial = 1000;
+        Long productoId = crearProducto(stockInicial);
+
+        // Mitad de las tareas reserva y libera, la otra mitad reserva y confirma
+        AtomicInteger confirmadas = new AtomicInteger();
+        AtomicInteger contador = new AtomicInteger();
+        ejecutarEnParalelo(HILOS * 25, () -> {
+            ReservaResponseDTO reserva = reservaStockService.reservar(productoId, 1);
+            if (contador.incrementAndGet() % 2 == 0) {
+                reservaStockService.confirmar(reserva.getId());
+                confirmadas.incrementAndGet();
+            } else {
+                reservaStockService.liberar(reserva.getId());
+            }
+            return null;
+        });
+
+        assertEquals(stockInicial - confirmadas.get(), productoService.obtenerPorId(productoId).getStock());
+    }
+
+    // Métodos auxiliares
+    private Long crearProducto(int stock) {
+        ProductoDTO dto = new ProductoDTO("Producto concurrencia", "Producto para pruebas de concurrencia",
+                10.0, 0, Categoria.HOGAR);
+        Long id = productoService.crearProducto(dto).getId();
+        productoService.actualizarStock(id, new ActualizarStockDTO(stock));
+        return id;
+    }
+
+    private void ejecutarEnParalelo(int tareas, Callable<Void> tarea) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (int i = 0; i < tareas; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return tarea.call();
+                }));
+            }
+            largada.countDown();
+            for (Future<Void> resultado : resultados) {
+                resultado.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}